@@ -0,0 +1,54 @@
+package com.example.whereabouts;
+
+import org.flywaydb.core.Flyway;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * A PostgreSQL database in a Testcontainers container, migrated with the Flyway migrations of the application, for
+ * benchmarks that need a real database. Statements are executed in auto-commit mode on a single connection. Needs
+ * Docker.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> container;
+    private final Connection connection;
+    private final DSLContext dsl;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> container, Connection connection) {
+        this.container = container;
+        this.connection = connection;
+        this.dsl = DSL.using(connection, SQLDialect.POSTGRES);
+    }
+
+    public static BenchmarkDatabase start() throws SQLException {
+        var container = new PostgreSQLContainer<>("postgres:17-alpine");
+        container.start();
+        Flyway.configure()
+                .dataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword())
+                .load()
+                .migrate();
+        var connection = DriverManager.getConnection(container.getJdbcUrl(), container.getUsername(),
+                container.getPassword());
+        return new BenchmarkDatabase(container, connection);
+    }
+
+    public DSLContext dsl() {
+        return dsl;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            connection.close();
+        } finally {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.whereabouts.common;
+
+import com.example.whereabouts.common.address.CanadianPostalCode;
+import com.example.whereabouts.common.address.FinnishPostalCode;
+import com.example.whereabouts.common.address.USZipCode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the value object validators, which run on every form keystroke, every jOOQ converter read and every
+ * imported row. Every benchmark validates an entire corpus of either valid or invalid input, so the scores are
+ * corpora per microsecond. Run with {@code -prof gc} (the default of the {@code benchmark} profile) to also get the
+ * allocation rate per operation.
+ * <p>
+ * The scores depend on the machine, so no results are kept in the repository. To compare the validators before and
+ * after a change, run {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ValueObjectValidation -prof gc"} on
+ * both commits on the same machine, and compare the scores and the {@code gc.alloc.rate.norm} values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueObjectValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String corpus;
+
+    private String[] emailAddresses;
+    private String[] phoneNumbers;
+    private String[] domainNames;
+    private String[] ipv4Addresses;
+    private String[] ipv6Addresses;
+    private String[] usZipCodes;
+    private String[] canadianPostalCodes;
+    private String[] finnishPostalCodes;
+
+    @Setup
+    public void setUp() {
+        var valid = corpus.equals("valid");
+        emailAddresses = valid ? new String[]{
+                "joe.cool@example.com",
+                "first.last+tag@sub.domain.example.org",
+                "x@example.fi",
+                "o'hara@example.ie",
+                "user_name-01@mail.example-company.com",
+                "admin@[192.168.0.1]",
+                "admin@[IPv6:2001:db8::1]",
+                "very.long.local.part.with.many.dots.and.letters@an.even.longer.domain.name.example.com"
+        } : new String[]{
+                "",
+                "joe.cool",
+                "joe.cool@",
+                "@example.com",
+                "joe..cool@example.com",
+                ".joe@example.com",
+                "joe@example..com",
+                "joe@exa mple.com",
+                "joe@@example.com",
+                "joe@-example.com",
+                "joe@[192.168.0.256]",
+                "joe@[IPv6:2001:db8::1::2]"
+        };
+        phoneNumbers = valid ? new String[]{
+                "+358401234567",
+                "0401234567",
+                "+14155552671",
+                "+4915123456789",
+                "112"
+        } : new String[]{
+                "",
+                "+",
+                "040-123 4567",
+                "+358 40 123 4567",
+                "phone",
+                "+12345678901234567"
+        };
+        domainNames = valid ? new String[]{
+                "example.com",
+                "vaadin.com",
+                "sub.domain.example.org",
+                "my-company.example.fi",
+                "a.b.c.d.e.f.example.net",
+                "localhost"
+        } : new String[]{
+                "",
+                "example..com",
+                ".example.com",
+                "example.com.",
+                "-example.com",
+                "example-.com",
+                "exa_mple.com",
+                "exämple.com"
+        };
+        ipv4Addresses = valid ? new String[]{
+                "0.0.0.0",
+                "127.0.0.1",
+                "192.168.0.1",
+                "10.20.30.40",
+                "255.255.255.255"
+        } : new String[]{
+                "",
+                "1.2.3",
+                "1.2.3.4.5",
+                "256.0.0.1",
+                "192.168.0.x",
+                "192.168.-1.1"
+        };
+        ipv6Addresses = valid ? new String[]{
+                "::",
+                "::1",
+                "2001:db8::1",
+                "fe80::1ff:fe23:4567:890a",
+                "2001:0db8:85a3:0000:0000:8a2e:0370:7334"
+        } : new String[]{
+                "",
+                ":",
+                "1:2",
+                "2001:db8::1::2",
+                "2001:db8:85a3:0:0:8a2e:370",
+                "2001:db8:85a3:00000:0:8a2e:370:7334",
+                "gggg::1"
+        };
+        usZipCodes = valid ? new String[]{
+                "12345",
+                "90210",
+                "12345-6789",
+                "00501"
+        } : new String[]{
+                "",
+                "1234",
+                "123456",
+                "12345-",
+                "12345-67",
+                "ABCDE"
+        };
+        canadianPostalCodes = valid ? new String[]{
+                "K1A 0B1",
+                "M5V 3L9",
+                "H2X 1Y4",
+                "V6B 4Y8"
+        } : new String[]{
+                "",
+                "K1A0B1",
+                "k1a 0b1",
+                "D1A 0B1",
+                "K1A-0B1",
+                "123 456"
+        };
+        finnishPostalCodes = valid ? new String[]{
+                "00100",
+                "20100",
+                "33100",
+                "90570"
+        } : new String[]{
+                "",
+                "0010",
+                "001000",
+                "00-10",
+                "ABCDE"
+        };
+    }
+
+    @Benchmark
+    public void emailAddress(Blackhole blackhole) {
+        for (var value : emailAddresses) {
+            blackhole.consume(EmailAddress.isValid(value));
+        }
+    }
+
+    @Benchmark
+    public void phoneNumber(Blackhole blackhole) {
+        for (var value : phoneNumbers) {
+            blackhole.consume(PhoneNumber.isValid(value));
+        }
+    }
+
+    @Benchmark
+    public void phoneNumberSanitize(Blackhole blackhole) {
+        for (var value : phoneNumbers) {
+            blackhole.consume(PhoneNumber.sanitize(value));
+        }
+    }
+
+    @Benchmark
+    public void domainName(Blackhole blackhole) {
+        for (var value : domainNames) {
+            blackhole.consume(DomainName.isValid(value));
+        }
+    }
+
+    @Benchmark
+    public void ipv4Address(Blackhole blackhole) {
+        for (var value : ipv4Addresses) {
+            blackhole.consume(IpAddress.Ipv4.isValidIpv4(value));
+        }
+    }
+
+    @Benchmark
+    public void ipv6Address(Blackhole blackhole) {
+        for (var value : ipv6Addresses) {
+            blackhole.consume(IpAddress.Ipv6.isValidIpv6(value));
+        }
+    }
+
+    @Benchmark
+    public void usZipCode(Blackhole blackhole) {
+        for (var value : usZipCodes) {
+            blackhole.consume(USZipCode.isValid(value));
+        }
+    }
+
+    @Benchmark
+    public void canadianPostalCode(Blackhole blackhole) {
+        for (var value : canadianPostalCodes) {
+            blackhole.consume(CanadianPostalCode.isValid(value));
+        }
+    }
+
+    @Benchmark
+    public void finnishPostalCode(Blackhole blackhole) {
+        for (var value : finnishPostalCodes) {
+            blackhole.consume(FinnishPostalCode.isValid(value));
+        }
+    }
+}
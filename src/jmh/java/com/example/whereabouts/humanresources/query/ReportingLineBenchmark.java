@@ -0,0 +1,187 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.humanresources.EmployeeId;
+import org.flywaydb.core.Flyway;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code employee_hierarchy} closure table, as queried by {@link JooqReportingLineQuery}, with recursive
+ * queries over {@code employment_details.manager_employee_id}. The organization has 50,000 employees in 12 levels,
+ * every manager having two or three direct reports. The reports are looked up for a manager at the given level, where
+ * level 0 is the top of the organization, and the chain of command for an employee at the bottom.
+ * <p>
+ * Needs Docker, as the database runs in a Testcontainers PostgreSQL container.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportingLineBenchmark {
+
+    private static final int EMPLOYEES = 50_000;
+    // Every manager has 2.7 direct reports on average, which makes the organization 12 levels deep
+    private static final double BRANCHING_FACTOR = 2.7;
+    private static final int PAGE_SIZE = 50;
+
+    private static final String COUNT_REPORTS_RECURSIVELY = """
+            with recursive reports (employee_id) as (select employee_id
+                                                     from employment_details
+                                                     where manager_employee_id = ?
+                                                     union all
+                                                     select d.employee_id
+                                                     from reports r
+                                                              join employment_details d on d.manager_employee_id = r.employee_id)
+            select count(*)
+            from reports
+            """;
+    private static final String FIND_REPORTS_RECURSIVELY = """
+            with recursive reports (employee_id, depth) as (select employee_id, 1
+                                                            from employment_details
+                                                            where manager_employee_id = ?
+                                                            union all
+                                                            select d.employee_id, r.depth + 1
+                                                            from reports r
+                                                                     join employment_details d on d.manager_employee_id = r.employee_id)
+            select e.employee_id, e.first_name, e.middle_name, e.last_name, e.country, d.job_title, r.depth
+            from reports r
+                     join employee e on e.employee_id = r.employee_id
+                     left join employment_details d on d.employee_id = e.employee_id
+            order by r.depth, e.last_name, e.first_name, e.employee_id
+            limit ?
+            """;
+    private static final String FIND_CHAIN_OF_COMMAND_RECURSIVELY = """
+            with recursive chain (employee_id, depth) as (select manager_employee_id, 1
+                                                          from employment_details
+                                                          where employee_id = ?
+                                                            and manager_employee_id is not null
+                                                          union all
+                                                          select d.manager_employee_id, c.depth + 1
+                                                          from chain c
+                                                                   join employment_details d on d.employee_id = c.employee_id
+                                                          where d.manager_employee_id is not null)
+            select e.employee_id, e.first_name, e.middle_name, e.last_name, e.country, d.job_title, c.depth
+            from chain c
+                     join employee e on e.employee_id = c.employee_id
+                     left join employment_details d on d.employee_id = e.employee_id
+            order by c.depth
+            """;
+
+    @Param({"0", "3", "6", "9"})
+    public int managerLevel;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private DSLContext dsl;
+    private JooqReportingLineQuery query;
+    private EmployeeId manager;
+    private EmployeeId bottomEmployee;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        dsl = DSL.using(connection, SQLDialect.POSTGRES);
+        createOrganization();
+        query = new JooqReportingLineQuery(dsl);
+
+        bottomEmployee = new EmployeeId(EMPLOYEES);
+        // The chain of command of the bottom employee has one manager on every level, the top one last
+        var chain = query.findChainOfCommand(bottomEmployee);
+        manager = chain.get(chain.size() - 1 - managerLevel).employee().id();
+    }
+
+    private void createOrganization() {
+        dsl.execute("""
+                insert into location (location_id, version, name, location_type, time_zone, country, postal_address,
+                                      about, established)
+                values (1, 1, 'Headquarters', 'GLOBAL_HQ', 'Europe/Helsinki', 'FI',
+                        '{"streetAddress":"Street","city":"City","postalCode":"00100","country":"FI"}', 'About',
+                        date '2000-01-01')
+                """);
+        dsl.execute("""
+                insert into employee (employee_id, version, first_name, last_name, preferred_name, birth_date, gender,
+                                      country, time_zone, work_email)
+                select n, 1, 'First' || n, 'Last' || md5(n::text), 'First' || n, date '1990-01-01', 'OTHER', 'FI',
+                       'Europe/Helsinki', 'employee' || n || '@benchmark.test'
+                from generate_series(1, ?) n
+                """, EMPLOYEES);
+        // Heap numbering: the direct reports of a manager have consecutive IDs, and managers have smaller IDs
+        dsl.execute("""
+                insert into employment_details (employee_id, version, job_title, employment_type, employment_status,
+                                                work_arrangement, location_id, manager_employee_id, hire_date)
+                select n, 1, 'Title', 'FULL_TIME', 'ACTIVE', 'ONSITE', 1,
+                       case when n = 1 then null else floor((n - 2) / ?)::bigint + 1 end, date '2020-01-01'
+                from generate_series(1, ?) n
+                """, BRANCHING_FACTOR, EMPLOYEES);
+        // Walk up the reporting line of every employee, in the same way as the migration that added the closure table
+        dsl.execute("""
+                insert into employee_hierarchy (ancestor_employee_id, descendant_employee_id, depth)
+                with recursive chain (descendant_employee_id, ancestor_employee_id, depth) as
+                                   (select employee_id, manager_employee_id, 1
+                                    from employment_details
+                                    where manager_employee_id is not null
+                                    union all
+                                    select c.descendant_employee_id, d.manager_employee_id, c.depth + 1
+                                    from chain c
+                                             join employment_details d on d.employee_id = c.ancestor_employee_id
+                                    where d.manager_employee_id is not null)
+                select ancestor_employee_id, descendant_employee_id, depth
+                from chain
+                """);
+        dsl.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int spanOfControlClosureTable() {
+        return query.countAllReports(manager);
+    }
+
+    @Benchmark
+    public Object spanOfControlRecursive() {
+        return dsl.fetchValue(COUNT_REPORTS_RECURSIVELY, manager.value());
+    }
+
+    @Benchmark
+    public void firstPageOfReportsClosureTable(Blackhole blackhole) {
+        blackhole.consume(query.findAllReports(manager, PageRequest.ofSize(PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public void firstPageOfReportsRecursive(Blackhole blackhole) {
+        blackhole.consume(dsl.fetch(FIND_REPORTS_RECURSIVELY, manager.value(), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public void chainOfCommandClosureTable(Blackhole blackhole) {
+        blackhole.consume(query.findChainOfCommand(bottomEmployee));
+    }
+
+    @Benchmark
+    public void chainOfCommandRecursive(Blackhole blackhole) {
+        blackhole.consume(dsl.fetch(FIND_CHAIN_OF_COMMAND_RECURSIVELY, bottomEmployee.value()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.whereabouts.projects.query;
+
+import com.example.whereabouts.BenchmarkDatabase;
+import com.example.whereabouts.projects.ProjectListItem;
+import com.example.whereabouts.projects.ProjectSortableProperty;
+import com.vaadin.flow.data.provider.SortDirection;
+import com.vaadin.flow.data.provider.SortOrder;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.whereabouts.jooq.Tables.*;
+
+/**
+ * Compares counting the tasks and assignees of every listed project with reading them from the precomputed project
+ * statistics, as {@link JooqProjectQuery} does. There are 20 projects with 10,000 tasks each, and three employees
+ * assigned to every task.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectListBenchmark {
+
+    private static final int PROJECTS = 20;
+    private static final int TASKS_PER_PROJECT = 10_000;
+    private static final int EMPLOYEES = 50;
+    private static final int PAGE_SIZE = 50;
+    private static final SortOrder<ProjectSortableProperty> SORT_ORDER = new SortOrder<>(ProjectSortableProperty.NAME, SortDirection.ASCENDING);
+
+    private BenchmarkDatabase database;
+    private DSLContext dsl;
+    private JooqProjectQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = BenchmarkDatabase.start();
+        dsl = database.dsl();
+        dsl.execute("""
+                insert into employee (employee_id, version, first_name, last_name, preferred_name, birth_date, gender,
+                                      country, time_zone, work_email)
+                select n, 1, 'First' || n, 'Last' || n, 'First' || n, date '1990-01-01', 'OTHER', 'FI',
+                       'Europe/Helsinki', 'employee' || n || '@benchmark.test'
+                from generate_series(1, ?) n
+                """, EMPLOYEES);
+        dsl.execute("""
+                insert into project (project_id, version, name)
+                select n, 1, 'Project ' || n
+                from generate_series(1, ?) n
+                """, PROJECTS);
+        dsl.execute("""
+                insert into task (task_id, version, project_id, description, due_date, due_time, time_zone, due_date_time, task_status, task_priority)
+                select nextval('task_id_seq'), 1, p, 'Task ' || i, null, null, 'UTC', null,
+                       (enum_range(null::task_status))[1 + i % 5],
+                       (enum_range(null::task_priority))[1 + i % 4]
+                from generate_series(1, ?) p,
+                     generate_series(1, ?) i
+                """, PROJECTS, TASKS_PER_PROJECT);
+        // Assign three employees to every task
+        dsl.execute("""
+                insert into task_assignee (task_id, employee_id)
+                select t.task_id, 1 + (t.task_id + n) % ?
+                from task t,
+                     generate_series(0, 2) n
+                """, EMPLOYEES);
+        // Compute the statistics in the same way as the migrations that added them
+        dsl.execute("""
+                insert into project_assignee (project_id, employee_id, tasks)
+                select t.project_id, ta.employee_id, count(*)
+                from task_assignee ta
+                         join task t on t.task_id = ta.task_id
+                group by t.project_id, ta.employee_id
+                """);
+        dsl.execute("""
+                insert into project_stats (project_id, tasks, assignees, pending_tasks, planned_tasks, in_progress_tasks,
+                                           paused_tasks, done_tasks)
+                select t.project_id,
+                       count(*),
+                       (select count(*) from project_assignee pa where pa.project_id = t.project_id),
+                       count(*) filter (where t.task_status = 'PENDING'),
+                       count(*) filter (where t.task_status = 'PLANNED'),
+                       count(*) filter (where t.task_status = 'IN_PROGRESS'),
+                       count(*) filter (where t.task_status = 'PAUSED'),
+                       count(*) filter (where t.task_status = 'DONE')
+                from task t
+                group by t.project_id
+                """);
+        dsl.execute("analyze");
+        query = new JooqProjectQuery(dsl);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    /**
+     * The query that was used before the statistics were precomputed.
+     */
+    @Benchmark
+    public List<?> counting() {
+        return dsl.select(
+                        PROJECT.PROJECT_ID,
+                        PROJECT.NAME,
+                        PROJECT.DESCRIPTION,
+                        DSL.countDistinct(TASK),
+                        DSL.countDistinct(TASK_ASSIGNEE)
+                ).from(PROJECT)
+                .leftJoin(TASK).on(TASK.PROJECT_ID.eq(PROJECT.PROJECT_ID))
+                .leftJoin(TASK_ASSIGNEE).on(TASK_ASSIGNEE.TASK_ID.eq(TASK.TASK_ID))
+                .groupBy(PROJECT.PROJECT_ID, PROJECT.NAME)
+                .orderBy(PROJECT.NAME.asc())
+                .limit(PAGE_SIZE)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<ProjectListItem> precomputed() {
+        return query.findProjectListItemsBySearchTerm(null, PAGE_SIZE, 0, SORT_ORDER).toList();
+    }
+}
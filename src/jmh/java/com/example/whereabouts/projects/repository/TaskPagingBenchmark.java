@@ -0,0 +1,91 @@
+package com.example.whereabouts.projects.repository;
+
+import com.example.whereabouts.BenchmarkDatabase;
+import com.example.whereabouts.projects.ProjectId;
+import com.example.whereabouts.projects.Task;
+import com.example.whereabouts.projects.TaskFilter;
+import com.example.whereabouts.projects.TaskSortableProperty;
+import com.vaadin.flow.data.provider.SortDirection;
+import com.vaadin.flow.data.provider.SortOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares offset pagination with keyset pagination of the task grid, on a project with one million tasks. Every
+ * benchmark fetches one page of tasks deep into the project, for every supported kind of sort order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskPagingBenchmark {
+
+    private static final int TASKS = 1_000_000;
+    private static final int PAGE_SIZE = 50;
+    private static final ProjectId PROJECT = new ProjectId(1);
+
+    /**
+     * The number of the fetched page, starting from 1. Keyset pagination always continues from the previous page, so
+     * there is no first page.
+     */
+    @Param({"2", "10", "100", "1000", "10000"})
+    public int page;
+
+    @Param({"none", "dueDate", "statusDesc"})
+    public String sortOrder;
+
+    private BenchmarkDatabase database;
+    private JooqTaskRepository repository;
+    private List<SortOrder<TaskSortableProperty>> sortOrders;
+    private int offset;
+    private Task lastOfPreviousPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = BenchmarkDatabase.start();
+        var dsl = database.dsl();
+        dsl.execute("insert into project (project_id, version, name) values (?, 1, 'Benchmark')", PROJECT.value());
+        dsl.execute("""
+                insert into task (task_id, version, project_id, description, due_date, due_time, time_zone, due_date_time, task_status, task_priority)
+                select nextval('task_id_seq'), 1, ?, 'Task ' || i, null, null, 'UTC',
+                       case when i % 10 = 0 then null else timestamp with time zone '2025-01-01 00:00:00+00' + (i % 1000) * interval '1 hour' end,
+                       (enum_range(null::task_status))[1 + i % 5],
+                       (enum_range(null::task_priority))[1 + i % 4]
+                from generate_series(1, ?) i
+                """, PROJECT.value(), TASKS);
+        dsl.execute("analyze task");
+
+        repository = new JooqTaskRepository(dsl);
+        sortOrders = switch (sortOrder) {
+            case "none" -> List.of();
+            case "dueDate" -> List.of(new SortOrder<>(TaskSortableProperty.DUE_DATE, SortDirection.ASCENDING));
+            case "statusDesc" -> List.of(new SortOrder<>(TaskSortableProperty.STATUS, SortDirection.DESCENDING));
+            default -> throw new IllegalArgumentException("Unknown sort order: " + sortOrder);
+        };
+        offset = (page - 1) * PAGE_SIZE;
+        lastOfPreviousPage = repository.findByFilter(PROJECT, TaskFilter.empty(), 1, offset - 1, sortOrders)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Task> offsetPagination() {
+        return repository.findByFilter(PROJECT, TaskFilter.empty(), PAGE_SIZE, offset, sortOrders).toList();
+    }
+
+    @Benchmark
+    public List<Task> keysetPagination() {
+        return repository.findByFilterAfter(PROJECT, TaskFilter.empty(), lastOfPreviousPage, PAGE_SIZE, offset,
+                sortOrders).toList();
+    }
+}
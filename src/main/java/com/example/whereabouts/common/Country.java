@@ -5,33 +5,50 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.io.Serial;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Value object representing a country.
+ * <p>
+ * There is a single, canonical instance of every country. The instances of all ISO countries are created when the
+ * class is initialized, and other valid country codes get their canonical instance the first time they are looked
+ * up. This makes {@link #ofIsoCode(String)} a plain map lookup, which matters because it is called for every row that
+ * contains a country. The flag and the display names are computed once per instance (and display locale).
  */
 @NullMarked
 public final class Country implements ValueObject {
 
+    private static final Map<String, Country> INSTANCES = new ConcurrentHashMap<>();
     private static final List<Country> ISO_COUNTRIES;
 
     static {
-        ISO_COUNTRIES = Locale.getISOCountries(Locale.IsoCountryCode.PART1_ALPHA2)
+        for (var isoCode : Locale.getISOCountries(Locale.IsoCountryCode.PART1_ALPHA2)) {
+            var locale = Locale.of("", isoCode);
+            if (isValid(locale)) {
+                INSTANCES.put(isoCode, new Country(locale));
+            }
+        }
+        ISO_COUNTRIES = INSTANCES.values()
                 .stream()
-                .map(Country::ofIsoCode)
                 .sorted(Comparator.comparing(Country::displayName))
                 .toList();
     }
 
     private final Locale locale;
+    private final String flagUnicode;
+    private final transient Map<Locale, String> displayNames = new ConcurrentHashMap<>();
 
     private Country(Locale locale) {
         this.locale = requireNonNull(locale);
+        this.flagUnicode = createFlagUnicode(locale.getCountry());
     }
 
     /**
@@ -69,11 +86,22 @@ public final class Country implements ValueObject {
      * @return the display name of the country
      */
     public String displayName(@Nullable Locale displayIn) {
-        return locale.getDisplayCountry(displayIn == null ? Locale.getDefault() : displayIn);
+        if (displayIn == null) {
+            displayIn = Locale.getDefault();
+        }
+        var displayName = displayNames.get(displayIn);
+        if (displayName == null) {
+            displayName = locale.getDisplayCountry(displayIn);
+            displayNames.putIfAbsent(displayIn, displayName);
+        }
+        return displayName;
     }
 
     public String flagUnicode() {
-        var countryCode = locale.getCountry();
+        return flagUnicode;
+    }
+
+    private static String createFlagUnicode(String countryCode) {
         if (countryCode.length() != 2) {
             return "";
         }
@@ -88,6 +116,13 @@ public final class Country implements ValueObject {
                 new String(Character.toChars(secondFlag));
     }
 
+    @Serial
+    private Object readResolve() {
+        // Keep the instances canonical across serialization, and restore the transient display name cache
+        var canonical = INSTANCES.get(locale.getCountry());
+        return canonical != null && canonical.locale.equals(locale) ? canonical : new Country(locale);
+    }
+
     @Override
     public String toString() {
         return locale.getCountry();
@@ -125,6 +160,10 @@ public final class Country implements ValueObject {
      * @throws IllegalArgumentException if the given locale does not represent a valid country
      */
     public static Country ofLocale(Locale locale) {
+        var canonical = INSTANCES.get(locale.getCountry());
+        if (canonical != null && canonical.locale.equals(locale)) {
+            return canonical;
+        }
         if (!isValid(locale)) {
             throw new IllegalArgumentException("Locale does not represent a country");
         }
@@ -140,7 +179,17 @@ public final class Country implements ValueObject {
      */
     @JsonCreator
     public static Country ofIsoCode(String isoCode) {
-        return ofLocale(Locale.of("", isoCode));
+        var country = INSTANCES.get(isoCode);
+        if (country == null) {
+            // Not an ISO country, or not in canonical form (such as a lower case code). Fall back to validating the
+            // locale, and remember the result if it turns out to be valid.
+            country = ofLocale(Locale.of("", isoCode));
+            var existing = INSTANCES.putIfAbsent(country.isoCode(), country);
+            if (existing != null) {
+                country = existing;
+            }
+        }
+        return country;
     }
 
     /**
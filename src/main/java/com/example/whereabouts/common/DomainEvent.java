@@ -0,0 +1,12 @@
+package com.example.whereabouts.common;
+
+/**
+ * Marker interface for domain events in Domain-Driven Design. Domain events are published by the application
+ * services through Spring's {@link org.springframework.context.ApplicationEventPublisher}, from within the
+ * transaction that made the change. Listeners should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener} to only react to committed changes.
+ *
+ * @see "Design decision: DD002-20251023-ddd-marker-interfaces.md"
+ */
+public interface DomainEvent {
+}
@@ -17,6 +17,14 @@ public final class DomainName implements ValueObject {
 
     public static final int MAX_LENGTH = 253;
 
+    private static final boolean[] LABEL_CHARS = new boolean[128];
+
+    static {
+        for (var c : "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789-".toCharArray()) {
+            LABEL_CHARS[c] = true;
+        }
+    }
+
     private final String value;
 
     private DomainName(String value) {
@@ -48,30 +56,46 @@ public final class DomainName implements ValueObject {
      * @return {@code true} if the string is a valid domain name, {@code false} otherwise
      */
     public static boolean isValid(String value) {
+        return isValid(value, 0, value.length());
+    }
+
+    /**
+     * Checks if the given range of the given string is a valid domain name, without creating a substring.
+     */
+    static boolean isValid(String value, int from, int to) {
         // Check length
-        if (value.isEmpty() || value.length() > MAX_LENGTH) {
+        var length = to - from;
+        if (length == 0 || length > MAX_LENGTH) {
             return false;
         }
-        var labels = value.split("\\.", -1);
-        for (var label : labels) {
-            // Check label length
-            if (label.isEmpty() || label.length() > 63) {
-                return false;
-            }
-            // Check label characters (only ASCII letters, digits, and - are allowed)
-            for (var c : label.toCharArray()) {
-                if (!Character.isDigit(c) && (c < 'a' || c > 'z') && (c < 'A' || c > 'Z') && c != '-') {
+        var labelStart = from;
+        for (int i = from; i <= to; ++i) {
+            if (i == to || value.charAt(i) == '.') {
+                // Check label length
+                var labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > 63) {
                     return false;
                 }
-            }
-            // Check that label does not start or end with a -
-            if (label.charAt(0) == '-' || label.charAt(label.length() - 1) == '-') {
+                // Check that label does not start or end with a -
+                if (value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isLabelChar(value.charAt(i))) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Only ASCII letters, digits, and - are allowed. For backwards compatibility, non-ASCII characters are checked
+     * with {@link Character#isDigit(char)}, which also accepts digits from other scripts.
+     */
+    private static boolean isLabelChar(char c) {
+        return c < LABEL_CHARS.length ? LABEL_CHARS[c] : Character.isDigit(c);
+    }
+
     /**
      * Creates a new {@code DomainName} from the given string.
      *
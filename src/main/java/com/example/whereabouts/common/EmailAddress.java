@@ -19,6 +19,14 @@ public final class EmailAddress implements ValueObject {
 
     public static final int MAX_LENGTH = 320; // local name 64 bytes, @ 1 byte, domain name 255 bytes
 
+    private static final boolean[] LOCAL_PART_CHARS = new boolean[128];
+
+    static {
+        for (var c : "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789.!#$%&'*+/=?^_`{|}~-".toCharArray()) {
+            LOCAL_PART_CHARS[c] = true;
+        }
+    }
+
     private final String value;
 
     private EmailAddress(String value) {
@@ -55,52 +63,70 @@ public final class EmailAddress implements ValueObject {
         if (value.isEmpty() || value.length() > MAX_LENGTH) {
             return false;
         }
-        var parts = value.split("@");
+        // Trailing @ characters are ignored. This is a quirk of the original String.split based implementation that
+        // has been kept for backwards compatibility.
+        var end = value.length();
+        while (end > 0 && value.charAt(end - 1) == '@') {
+            end--;
+        }
         // Check number of parts
-        if (parts.length != 2) {
+        var at = value.indexOf('@');
+        if (at < 0 || at >= end) {
+            return false;
+        }
+        var nextAt = value.indexOf('@', at + 1);
+        if (nextAt != -1 && nextAt < end) {
             return false;
         }
         // Validate parts
-        return isValidLocalPart(parts[0]) && isValidDomainName(parts[1]);
+        return isValidLocalPart(value, 0, at) && isValidDomainName(value, at + 1, end);
     }
 
     /**
      * Note! Comments and quoted local parts are not supported (yet).
      */
-    private static boolean isValidLocalPart(String localPart) {
+    private static boolean isValidLocalPart(String value, int from, int to) {
         // Check length
-        if (localPart.isEmpty() || localPart.length() > 64) {
+        var length = to - from;
+        if (length == 0 || length > 64) {
             return false;
         }
-        // Check for invalid characters
-        if (!localPart.matches("[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~-]+")) {
+        // Check for leading or trailing dots
+        if (value.charAt(from) == '.' || value.charAt(to - 1) == '.') {
             return false;
         }
-        // Check for double dots
-        if (localPart.contains("..")) {
-            return false;
+        for (int i = from; i < to; ++i) {
+            var c = value.charAt(i);
+            // Check for invalid characters
+            if (c >= LOCAL_PART_CHARS.length || !LOCAL_PART_CHARS[c]) {
+                return false;
+            }
+            // Check for double dots
+            if (c == '.' && value.charAt(i - 1) == '.') {
+                return false;
+            }
         }
-        // Check for leading or trailing dots
-        return !localPart.startsWith(".") && !localPart.endsWith(".");
+        return true;
     }
 
-    private static boolean isValidDomainName(String domainName) {
+    private static boolean isValidDomainName(String value, int from, int to) {
         // Check length
-        if (domainName.isEmpty() || domainName.length() > 255) {
+        var length = to - from;
+        if (length == 0 || length > 255) {
             return false;
         }
         // Is it an IP address?
-        if (domainName.startsWith("[")) {
-            if (!domainName.endsWith("]")) {
+        if (value.charAt(from) == '[') {
+            if (value.charAt(to - 1) != ']') {
                 return false;
             }
-            if (domainName.startsWith("[IPv6:")) {
-                return IpAddress.Ipv6.isValidIpv6(domainName.substring(6, domainName.length() - 1));
+            if (value.startsWith("[IPv6:", from)) {
+                return IpAddress.Ipv6.isValidIpv6(value, from + 6, to - 1);
             } else {
-                return IpAddress.Ipv4.isValidIpv4(domainName.substring(1, domainName.length() - 1));
+                return IpAddress.Ipv4.isValidIpv4(value, from + 1, to - 1);
             }
         } else {
-            return DomainName.isValid(domainName);
+            return DomainName.isValid(value, from, to);
         }
     }
 
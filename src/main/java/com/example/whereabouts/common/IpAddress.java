@@ -59,27 +59,65 @@ public sealed abstract class IpAddress implements ValueObject {
          * @return {@code true} if the string is a valid IPv4 address, {@code false} otherwise
          */
         public static boolean isValidIpv4(String value) {
+            return isValidIpv4(value, 0, value.length());
+        }
+
+        /**
+         * Checks if the given range of the given string is a valid IPv4 address, without creating a substring.
+         */
+        static boolean isValidIpv4(String value, int from, int to) {
             // Check length
-            if (value.length() < MIN_LENGTH || value.length() > MAX_LENGTH) {
+            var length = to - from;
+            if (length < MIN_LENGTH || length > MAX_LENGTH) {
                 return false;
             }
-            // Check number of octets
-            var octets = value.split("\\.");
-            if (octets.length != 4) {
-                return false;
+            // Trailing dots are ignored. This is a quirk of the original String.split based implementation that has
+            // been kept for backwards compatibility.
+            var end = to;
+            while (end > from && value.charAt(end - 1) == '.') {
+                end--;
             }
-            // Check that each octet is a number between 0 and 255
-            for (var octet : octets) {
-                try {
-                    var number = Integer.parseInt(octet);
-                    if (number < 0 || number > 255) {
+            // Check number of octets, and that each octet is a number between 0 and 255
+            var octets = 0;
+            var octetStart = from;
+            for (int i = from; i <= end; ++i) {
+                if (i == end || value.charAt(i) == '.') {
+                    if (++octets > 4 || !isValidOctet(value, octetStart, i)) {
                         return false;
                     }
-                } catch (NumberFormatException ex) {
+                    octetStart = i + 1;
+                }
+            }
+            return octets == 4;
+        }
+
+        /**
+         * Accepts exactly what {@link Integer#parseInt(String)} accepts, followed by a range check. This includes
+         * a leading sign ({@code +1}, {@code -0}), leading zeros and digits from other scripts.
+         */
+        private static boolean isValidOctet(String value, int from, int to) {
+            if (from == to) {
+                return false;
+            }
+            var i = from;
+            var negative = false;
+            var first = value.charAt(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                if (++i == to) {
                     return false;
                 }
             }
-            return true;
+            var number = 0;
+            for (; i < to; ++i) {
+                var digit = Character.digit(value.charAt(i), 10);
+                if (digit < 0) {
+                    return false;
+                }
+                // Anything above 255 is invalid, so there is no need to keep counting (or to worry about overflow)
+                number = Math.min(number * 10 + digit, 256);
+            }
+            return negative ? number == 0 : number <= 255;
         }
     }
 
@@ -91,6 +129,14 @@ public sealed abstract class IpAddress implements ValueObject {
         public static final int MIN_LENGTH = 2; // ::
         public static final int MAX_LENGTH = 39; // 2001:0db8:85a3:0000:0000:8a2e:0370:7334
 
+        private static final boolean[] HEX_DIGITS = new boolean[128];
+
+        static {
+            for (var c : "0123456789abcdefABCDEF".toCharArray()) {
+                HEX_DIGITS[c] = true;
+            }
+        }
+
         private Ipv6(String value) {
             super(value);
         }
@@ -102,49 +148,65 @@ public sealed abstract class IpAddress implements ValueObject {
          * @return {@code true} if the string is a valid IPv6 address, {@code false} otherwise
          */
         public static boolean isValidIpv6(String value) {
+            return isValidIpv6(value, 0, value.length());
+        }
+
+        /**
+         * Checks if the given range of the given string is a valid IPv6 address, without creating a substring.
+         */
+        static boolean isValidIpv6(String value, int from, int to) {
             // Check length
-            if (value.length() < MIN_LENGTH || value.length() > MAX_LENGTH) {
+            var length = to - from;
+            if (length < MIN_LENGTH || length > MAX_LENGTH) {
                 return false;
             }
-            // Check number of quibbles
-            var quibbles = value.split(":", -1);
-            if (quibbles.length < 3 || quibbles.length > 8) {
-                return false;
-            }
-            // Check that each quibble is either empty or a valid hexadecimal number
-            for (var quibble : quibbles) {
-                if (quibble.isEmpty()) {
-                    continue;
-                }
-                if (quibble.length() > 4) {
-                    return false;
-                }
-                for (var c : quibble.toCharArray()) {
-                    if (!Character.isDigit(c) && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) {
-                        return false;
+            var quibbles = 1;
+            var quibbleLength = 0;
+            var doubleColon = -1; // Relative to from
+            for (int i = from; i < to; ++i) {
+                var c = value.charAt(i);
+                if (c == ':') {
+                    quibbles++;
+                    quibbleLength = 0;
+                    if (i > from && value.charAt(i - 1) == ':') {
+                        // Check that if there is a double colon, it occurs at most once
+                        if (doubleColon != -1) {
+                            return false;
+                        }
+                        doubleColon = i - 1 - from;
                     }
+                } else if (++quibbleLength > 4 || !isHexDigit(c)) {
+                    // Check that each quibble is either empty or a valid hexadecimal number
+                    return false;
                 }
             }
-            var doubleColon = value.indexOf("::");
-            // Check that if there is no double colon, there are exactly 8 quibbles
-            if (doubleColon == -1 && quibbles.length != 8) {
+            // Check number of quibbles
+            if (quibbles < 3 || quibbles > 8) {
                 return false;
             }
-            // Check that if there is a double colon, it occurs at most once
-            if (doubleColon > -1 && value.indexOf("::", doubleColon + 1) != -1) {
+            // Check that if there is no double colon, there are exactly 8 quibbles
+            if (doubleColon == -1 && quibbles != 8) {
                 return false;
             }
             // Check that if there is a double colon, and it is not at the beginning of the string, the first quibble must not be empty
-            if (doubleColon > 0 && quibbles[0].isEmpty()) {
+            if (doubleColon > 0 && value.charAt(from) == ':') {
                 return false;
             }
             // Check that if there is a double colon, and it is not at the end of the string, the last quibble must not be empty
-            if (doubleColon < value.length() - 2 && quibbles[quibbles.length - 1].isEmpty()) {
+            if (doubleColon < length - 2 && value.charAt(to - 1) == ':') {
                 return false;
             }
 
             return true;
         }
+
+        /**
+         * For backwards compatibility, non-ASCII characters are checked with {@link Character#isDigit(char)}, which
+         * also accepts digits from other scripts.
+         */
+        private static boolean isHexDigit(char c) {
+            return c < HEX_DIGITS.length ? HEX_DIGITS[c] : Character.isDigit(c);
+        }
     }
 
     /**
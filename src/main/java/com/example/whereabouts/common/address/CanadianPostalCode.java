@@ -7,7 +7,6 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 import static java.util.Objects.requireNonNull;
 
@@ -18,7 +17,8 @@ import static java.util.Objects.requireNonNull;
 public final class CanadianPostalCode implements ValueObject {
 
     public static final int LENGTH = 7;
-    private static final Pattern REGEX = Pattern.compile("^[A-CEG-HJ-NPR-TVXY][0-9][A-CEG-HJ-NPR-TVXY] [0-9][A-CEG-HJ-NPR-TVW-Z][0-9]$");
+    private static final String FIRST_LETTERS = "ABCEGHJKLMNPRSTVXY"; // D, F, I, O, Q, U, W and Z are not used
+    private static final String OTHER_LETTERS = "ABCEGHJKLMNPRSTVWXYZ"; // D, F, I, O, Q and U are not used
 
     private final String value;
 
@@ -50,11 +50,22 @@ public final class CanadianPostalCode implements ValueObject {
         if (value.length() != LENGTH) {
             return false;
         }
-        // All characters should be ASCII letters, ASCII digits or a space
-        if (!value.chars().allMatch(ch -> (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || (ch == ' '))) {
-            return false;
-        }
-        return REGEX.matcher(value).matches();
+        // Check format: A1A 1A1
+        return isLetter(value.charAt(0), FIRST_LETTERS)
+               && isDigit(value.charAt(1))
+               && isLetter(value.charAt(2), FIRST_LETTERS)
+               && value.charAt(3) == ' '
+               && isDigit(value.charAt(4))
+               && isLetter(value.charAt(5), OTHER_LETTERS)
+               && isDigit(value.charAt(6));
+    }
+
+    private static boolean isLetter(char ch, String allowedLetters) {
+        return ch >= 'A' && ch <= 'Z' && allowedLetters.indexOf(ch) >= 0;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
     }
 
     @JsonCreator
@@ -48,7 +48,13 @@ public final class GermanPostalCode implements ValueObject {
             return false;
         }
         // All characters should be ASCII digits
-        return value.chars().allMatch(ch -> (ch >= '0' && ch <= '9'));
+        for (int i = 0; i < LENGTH; ++i) {
+            var ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     @JsonCreator
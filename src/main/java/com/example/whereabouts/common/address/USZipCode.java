@@ -7,7 +7,6 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 import static java.util.Objects.requireNonNull;
 
@@ -19,7 +18,6 @@ public final class USZipCode implements ValueObject {
 
     public static final int MAX_LENGTH = 10;
     public static final int MIN_LENGTH = 5;
-    private static final Pattern REGEX = Pattern.compile("^[0-9]{5}(-[0-9]{4})?$");
 
     private final String value;
 
@@ -47,15 +45,19 @@ public final class USZipCode implements ValueObject {
     }
 
     public static boolean isValid(String value) {
-        // Check length
-        if (value.length() < MIN_LENGTH || value.length() > MAX_LENGTH) {
+        // Check length, the only valid lengths are those of 12345 and 12345-6789
+        var length = value.length();
+        if (length != MIN_LENGTH && length != MAX_LENGTH) {
             return false;
         }
-        // All characters should be ASCII digits or a '-'
-        if (!value.chars().allMatch(ch -> (ch >= '0' && ch <= '9') || (ch == '-'))) {
-            return false;
+        // All characters should be ASCII digits, except for the '-' of the ZIP+4 code
+        for (int i = 0; i < length; ++i) {
+            var ch = value.charAt(i);
+            if (i == MIN_LENGTH ? ch != '-' : (ch < '0' || ch > '9')) {
+                return false;
+            }
         }
-        return REGEX.matcher(value).matches();
+        return true;
     }
 
     @JsonCreator
@@ -0,0 +1,137 @@
+package com.example.whereabouts.common.cache;
+
+import com.example.whereabouts.common.Entity;
+import com.example.whereabouts.common.Identifier;
+import com.example.whereabouts.common.datasource.ReadRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded cache of entities that carry an optimistic locking version, intended to be used by caching repository
+ * decorators. Entries are evicted when the cache grows too large, and when they have been in the cache for too long.
+ * <p>
+ * The cache never replaces an entry with an older version of the same entity. This prevents a slow reader from
+ * putting back a version that it loaded just before a concurrent update was committed. Updated entities are
+ * invalidated immediately, and put into the cache when the updating transaction commits.
+ * <p>
+ * Changes made by other application nodes are not seen by the cache until it is told about them through
+ * {@link #invalidate(Identifier, long)} or {@link #invalidateAll()}. A load that overlaps such an invalidation is not
+ * put into the cache, as it may have read the data from before the change. For the same reason, entities are loaded
+ * from the primary database, and entities read from a read replica that may not have caught up with the change are not
+ * put into the cache (see {@link ReadRouting}).
+ * <p>
+ * Lookups made by read-write transactions always go to the database, as they may need to see their own changes, and
+ * must not put uncommitted data into the cache.
+ *
+ * @param <ID> the type of the entity identifier.
+ * @param <E>  the type of the entity.
+ * @see EntityCacheFactory
+ */
+@NullMarked
+public final class EntityCache<ID extends Identifier, E extends Entity<ID>> {
+
+    private final Cache<ID, E> cache;
+    private final ToLongFunction<E> versionOf;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param name          the name of the cache, used as the {@code cache} tag of the cache metrics.
+     * @param versionOf     a function that returns the optimistic locking version of an entity.
+     * @param maximumSize   the maximum number of entities to keep in the cache.
+     * @param timeToLive    for how long an entity is kept in the cache after it was put there.
+     * @param meterRegistry the registry to publish the cache metrics to.
+     */
+    public EntityCache(String name, ToLongFunction<E> versionOf, long maximumSize, Duration timeToLive,
+                       MeterRegistry meterRegistry) {
+        this.versionOf = versionOf;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    /**
+     * Returns the entity with the given ID from the cache, or loads it using the given loader if it is not cached.
+     * Entities that do not exist are not cached.
+     */
+    public Optional<E> get(ID id, Function<ID, Optional<E>> loader) {
+        if (!isCacheable()) {
+            return loader.apply(id);
+        }
+        var cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var invalidationsBeforeLoad = invalidations.get();
+        var loaded = ReadRouting.onPrimary(() -> loader.apply(id));
+        if (invalidations.get() == invalidationsBeforeLoad && !ReadRouting.isOnReplica()) {
+            loaded.ifPresent(this::put);
+        }
+        return loaded;
+    }
+
+    /**
+     * Tells the cache that the given entity has been successfully updated by the current transaction.
+     */
+    public void updated(E entity) {
+        cache.invalidate(entity.id());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        put(entity);
+                    }
+                }
+            });
+        } else {
+            put(entity);
+        }
+    }
+
+    /**
+     * Removes the entity with the given ID from the cache, unless the cached version is at least the given version.
+     */
+    public void invalidate(ID id, long version) {
+        invalidations.incrementAndGet();
+        cache.asMap().computeIfPresent(id, (key, cached) -> versionOf.applyAsLong(cached) < version ? null : cached);
+    }
+
+    /**
+     * Removes all entities from the cache.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the cached entity with the given ID, without loading it.
+     */
+    Optional<E> getIfPresent(ID id) {
+        return Optional.ofNullable(cache.asMap().get(id));
+    }
+
+    private void put(E entity) {
+        cache.asMap().merge(entity.id(), entity, (cached, candidate) ->
+                versionOf.applyAsLong(candidate) >= versionOf.applyAsLong(cached) ? candidate : cached);
+    }
+
+    private static boolean isCacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+               || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
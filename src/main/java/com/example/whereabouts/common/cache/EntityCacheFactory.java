@@ -0,0 +1,36 @@
+package com.example.whereabouts.common.cache;
+
+import com.example.whereabouts.common.Entity;
+import com.example.whereabouts.common.Identifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+
+/**
+ * Creates {@link EntityCache}s that share the same size and time-to-live settings, and publish their metrics to the
+ * application's meter registry.
+ */
+@Component
+@NullMarked
+public class EntityCacheFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final long maximumSize;
+    private final Duration timeToLive;
+
+    EntityCacheFactory(MeterRegistry meterRegistry,
+                       @Value("${whereabouts.entity-cache.maximum-size:10000}") long maximumSize,
+                       @Value("${whereabouts.entity-cache.time-to-live:10m}") Duration timeToLive) {
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+
+    public <ID extends Identifier, E extends Entity<ID>> EntityCache<ID, E> create(String name, ToLongFunction<E> versionOf) {
+        return new EntityCache<>(name, versionOf, maximumSize, timeToLive, meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.whereabouts.common.datasource;
+
+import org.jspecify.annotations.NullMarked;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets caches stay consistent with the change feed when read-only transactions are sent to a read replica.
+ * <p>
+ * Changes are announced as soon as the primary commits them, possibly before the replica has replayed them. A cache
+ * that reloaded an invalidated entry from the replica could put the old data back, and keep serving it until the next
+ * change. Caches should therefore load their data {@linkplain #onPrimary(Supplier) from the primary}, and not keep what
+ * they loaded if the transaction had already started reading {@linkplain #isOnReplica() from the replica}, as a
+ * transaction cannot switch connections halfway.
+ * <p>
+ * Without a replica, everything is read from the primary anyway, and this class has no effect.
+ *
+ * @see ReplicaRoutingConfiguration
+ */
+@NullMarked
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> primaryRequired = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final Object REPLICA_CONNECTION_KEY = new Object();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Runs the given action so that, if the current transaction has not used a connection yet, it reads from the
+     * primary. The rest of the transaction then reads from the primary as well.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (primaryRequired.get()) {
+            return action.get();
+        }
+        primaryRequired.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            primaryRequired.remove();
+        }
+    }
+
+    /**
+     * Returns whether the current transaction reads from the replica.
+     */
+    public static boolean isOnReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_CONNECTION_KEY);
+    }
+
+    static boolean isPrimaryRequired() {
+        return primaryRequired.get();
+    }
+
+    /**
+     * Called whenever a connection to the replica is obtained, to remember it until the current transaction completes.
+     */
+    static void onReplicaConnection() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || isOnReplica()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_CONNECTION_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_CONNECTION_KEY);
+            }
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.whereabouts.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Decides whether read-only transactions may use the read replica, and keeps track of the replica lag.
+ * <p>
+ * Users who have recently committed a write read from the primary for a while, so that they always see their own
+ * changes even if the replica has not caught up yet. The same applies to everybody if the replica lags too much, or
+ * cannot be reached, and to cache loaders that need to see every announced change (see {@link ReadRouting}).
+ *
+ * @see ReplicaRoutingConfiguration
+ */
+@NullMarked
+class ReplicaRouter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // Zero when the replica has replayed everything it has received, and null on a primary
+    private static final String LAG_QUERY = """
+            select coalesce(
+                case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                     else extract(epoch from now() - pg_last_xact_replay_timestamp()) end,
+                0)""";
+
+    private final HikariDataSource replica;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+    private volatile @Nullable Duration lag = Duration.ZERO;
+
+    ReplicaRouter(String url, @Nullable String username, @Nullable String password, Duration readYourWritesWindow,
+                  Duration maxLag) {
+        var config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setReadOnly(true);
+        this.replica = new HikariDataSource(config);
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+    }
+
+    DataSource replica() {
+        return replica;
+    }
+
+    /**
+     * Returns whether the current read-only transaction may read from the replica.
+     */
+    boolean useReplica() {
+        if (ReadRouting.isPrimaryRequired()) {
+            return false;
+        }
+        var currentLag = lag;
+        if (currentLag == null || currentLag.compareTo(maxLag) > 0) {
+            return false;
+        }
+        var user = currentUser();
+        return user == null || recentWriters.getIfPresent(user) == null;
+    }
+
+    /**
+     * Called whenever a connection to the primary is obtained. If the current transaction is a read-write transaction,
+     * the current user reads from the primary for a while after it has committed.
+     */
+    void onPrimaryConnection() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        var user = currentUser();
+        if (user != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the replica lag, or {@code null} if the replica could not be reached the last time it was checked.
+     */
+    @Nullable Duration lag() {
+        return lag;
+    }
+
+    @Scheduled(fixedDelayString = "${whereabouts.datasource.replica.lag-check-interval:10s}")
+    void checkLag() {
+        try (var connection = replica.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lag = Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+        } catch (SQLException e) {
+            if (lag != null) {
+                log.warn("Could not check the replica lag, reading from the primary until the replica is back", e);
+            }
+            lag = null;
+        }
+    }
+
+    private static @Nullable String currentUser() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    @Override
+    public void destroy() {
+        replica.close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.whereabouts.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Sends read-only transactions to a read replica, and everything else to the primary, when
+ * {@code whereabouts.datasource.replica.url} is set.
+ * <p>
+ * The auto-configured data source remains the primary. It is wrapped in a {@link LazyConnectionDataSourceProxy}, which
+ * postpones fetching the actual connection until the first statement. By then, the transaction has been marked
+ * read-only or read-write, and the proxy can pick the right data source. See {@link ReplicaRouter} for when read-only
+ * transactions still go to the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "whereabouts.datasource.replica.url")
+@NullMarked
+class ReplicaRoutingConfiguration {
+
+    @Bean
+    ReplicaRouter replicaRouter(@Value("${whereabouts.datasource.replica.url}") String url,
+                                @Value("${whereabouts.datasource.replica.username:#{null}}") @Nullable String username,
+                                @Value("${whereabouts.datasource.replica.password:#{null}}") @Nullable String password,
+                                @Value("${whereabouts.datasource.replica.read-your-writes-window:10s}") Duration readYourWritesWindow,
+                                @Value("${whereabouts.datasource.replica.max-lag:30s}") Duration maxLag) {
+        return new ReplicaRouter(url, username, password, readYourWritesWindow, maxLag);
+    }
+
+    @Bean
+    static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<ReplicaRouter> replicaRouter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primary && "dataSource".equals(beanName)) {
+                    var router = replicaRouter.getObject();
+                    var proxy = new LazyConnectionDataSourceProxy(new PrimaryDataSource(primary, router));
+                    proxy.setReadOnlyDataSource(new ReadOnlyDataSource(primary, router));
+                    return proxy;
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder replicaLagMetrics(ReplicaRouter replicaRouter) {
+        return registry -> Gauge.builder("whereabouts.datasource.replica.lag", replicaRouter, router -> {
+                    var lag = router.lag();
+                    return lag == null ? Double.NaN : lag.toMillis() / 1000.0;
+                })
+                .description("How far the read replica is behind the primary; NaN if it cannot be reached")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private static final class PrimaryDataSource extends DelegatingDataSource {
+
+        private final ReplicaRouter router;
+
+        PrimaryDataSource(DataSource primary, ReplicaRouter router) {
+            super(primary);
+            this.router = router;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            router.onPrimaryConnection();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            router.onPrimaryConnection();
+            return super.getConnection(username, password);
+        }
+    }
+
+    private static final class ReadOnlyDataSource extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final ReplicaRouter router;
+
+        ReadOnlyDataSource(DataSource primary, ReplicaRouter router) {
+            this.primary = primary;
+            this.router = router;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (router.useReplica()) {
+                var connection = router.replica().getConnection();
+                ReadRouting.onReplicaConnection();
+                return connection;
+            }
+            var connection = primary.getConnection();
+            connection.setReadOnly(true);
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
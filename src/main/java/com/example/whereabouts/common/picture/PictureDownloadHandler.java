@@ -0,0 +1,78 @@
+package com.example.whereabouts.common.picture;
+
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.streams.DownloadEvent;
+import com.vaadin.flow.server.streams.DownloadHandler;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Serves a file from the {@link PictureStore}. As the files are content-addressed, the hash is used as a strong ETag,
+ * and the browser is allowed to cache the file indefinitely.
+ */
+@NullMarked
+final class PictureDownloadHandler implements DownloadHandler {
+
+    private static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    private final String hash;
+    private final String path; // Path is not serializable
+    private final String contentType;
+
+    PictureDownloadHandler(String hash, String path, String contentType) {
+        this.hash = hash;
+        this.path = path;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void handleDownloadRequest(DownloadEvent event) throws IOException {
+        var response = event.getResponse();
+        var etag = "\"" + hash + "\"";
+        if (matches(event.getRequest().getHeader("If-None-Match"), etag)) {
+            setCachingHeaders(response, etag);
+            response.setStatus(304);
+            return;
+        }
+        var file = Path.of(path);
+        try (var in = Files.newInputStream(file)) {
+            // Only a picture that exists may be cached, as a missing thumbnail may still be on its way
+            setCachingHeaders(response, etag);
+            event.setContentType(contentType);
+            event.setContentLength(Files.size(file));
+            in.transferTo(event.getOutputStream());
+        } catch (NoSuchFileException e) {
+            response.setHeader("Cache-Control", "no-store");
+            response.setStatus(404);
+        }
+    }
+
+    @Override
+    public String getUrlPostfix() {
+        // Makes the URL change whenever the picture changes, and tells the browser what to expect
+        return hash + ".jpg";
+    }
+
+    private static void setCachingHeaders(VaadinResponse response, String etag) {
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+    }
+
+    private static boolean matches(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (var candidate : ifNoneMatch.split(",")) {
+            var trimmed = candidate.strip();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.whereabouts.common.picture;
+
+/**
+ * The thumbnail sizes that the {@link ThumbnailPipeline} generates for every stored picture. The thumbnails are square
+ * JPEG images, cropped from the center of the original picture.
+ */
+public enum PictureSize {
+    /**
+     * For avatars in lists and grids.
+     */
+    AVATAR(64),
+    /**
+     * For cards and other medium sized components.
+     */
+    CARD(128),
+    /**
+     * For profile pictures in details views.
+     */
+    PROFILE(512);
+
+    private final int pixels;
+
+    PictureSize(int pixels) {
+        this.pixels = pixels;
+    }
+
+    public int pixels() {
+        return pixels;
+    }
+}
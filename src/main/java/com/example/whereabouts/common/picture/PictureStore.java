@@ -0,0 +1,224 @@
+package com.example.whereabouts.common.picture;
+
+import com.vaadin.flow.server.streams.DownloadHandler;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for pictures on the local file system. Every picture is identified by the SHA-256 hash of
+ * its content, so storing the same picture twice only stores it once, and a stored picture never changes. This makes
+ * the hash a perfect cache key: the pictures are served with the hash as their ETag, and browsers are allowed to cache
+ * them for as long as they like.
+ * <p>
+ * After a picture has been stored, the {@link ThumbnailPipeline} generates a thumbnail for every {@link PictureSize} in
+ * the background, so that they never have to be generated while serving a request. All files are written to a
+ * temporary file first and then moved into place atomically, so a file that exists is always complete. The store has
+ * the following layout:
+ * <pre>
+ * originals/ab/abcdef...
+ * thumbnails/64/ab/abcdef....jpg
+ * thumbnails/128/ab/abcdef....jpg
+ * thumbnails/512/ab/abcdef....jpg
+ * </pre>
+ * The store does not know which pictures are in use. That is up to the owners of the pictures, such as
+ * {@link com.example.whereabouts.humanresources.EmployeePictureService}.
+ */
+@Component
+@NullMarked
+public class PictureStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PictureStore.class);
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    /**
+     * The largest number of pixels a picture may have. A decoded picture takes up to four bytes per pixel, so this keeps
+     * a single picture from taking more than 200 MB of memory.
+     */
+    static final long MAX_PIXELS = 50_000_000;
+
+    private final Path root;
+
+    PictureStore(@Value("${whereabouts.pictures.directory:data/pictures}") Path root) {
+        this.root = root.toAbsolutePath();
+    }
+
+    /**
+     * Stores the given picture, unless it has already been stored. Only the format and the dimensions of the picture are
+     * checked, the picture is not decoded and no thumbnails are generated. That is up to the {@link ThumbnailPipeline},
+     * so that large pictures do not block the calling thread.
+     *
+     * @param picture the content of the picture, in any format supported by {@link ImageIO}
+     * @return the SHA-256 hash of the picture
+     * @throws IllegalArgumentException if the content is not a picture, or the picture has more than
+     *                                  {@link #MAX_PIXELS} pixels
+     * @throws IOException              if the picture could not be stored
+     */
+    public String storeOriginal(InputStream picture) throws IOException {
+        var tempFile = createTempFile("upload", null);
+        try {
+            var digest = sha256();
+            try (var in = new DigestInputStream(picture, digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            var hash = HexFormat.of().formatHex(digest.digest());
+            var original = originalPath(hash);
+            if (Files.exists(original)) {
+                return hash;
+            }
+            checkPicture(tempFile);
+            moveIntoPlace(tempFile, original);
+            log.debug("Stored picture {}", hash);
+            return hash;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Checks whether all the thumbnails of the picture with the given hash have been generated.
+     */
+    public boolean hasThumbnails(String hash) {
+        for (var size : PictureSize.values()) {
+            if (!Files.exists(thumbnailPath(hash, size))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the original picture with the given hash, and writes all thumbnails that are missing. This is slow and
+     * memory hungry for large pictures, and should only be called by the {@link ThumbnailPipeline}.
+     */
+    void generateThumbnails(String hash) throws IOException {
+        // Checked again before decoding, in case the original was stored before the limit was introduced
+        checkPicture(originalPath(hash));
+        var image = ImageIO.read(originalPath(hash).toFile());
+        if (image == null) {
+            throw new IllegalArgumentException("Not a supported picture");
+        }
+        for (var size : PictureSize.values()) {
+            var target = thumbnailPath(hash, size);
+            if (!Files.exists(target)) {
+                writeThumbnail(image, size, target);
+            }
+        }
+        log.debug("Generated thumbnails of picture {}", hash);
+    }
+
+    /**
+     * Checks whether the picture with the given hash has been stored.
+     */
+    public boolean contains(String hash) {
+        return HASH.matcher(hash).matches() && Files.exists(originalPath(hash));
+    }
+
+    /**
+     * Returns a handler that serves the thumbnail of the given size of the picture with the given hash. The picture is
+     * not read until the handler is called, so creating handlers is cheap.
+     */
+    public DownloadHandler downloadHandler(String hash, PictureSize size) {
+        return new PictureDownloadHandler(hash, thumbnailPath(hash, size).toString(), "image/jpeg");
+    }
+
+    Path originalPath(String hash) {
+        return root.resolve("originals").resolve(shard(hash)).resolve(hash);
+    }
+
+    Path thumbnailPath(String hash, PictureSize size) {
+        return root.resolve("thumbnails").resolve(Integer.toString(size.pixels())).resolve(shard(hash))
+                .resolve(hash + ".jpg");
+    }
+
+    private static void checkPicture(Path file) throws IOException {
+        // Only reads the header, to find a reader for the format and the dimensions of the picture
+        try (var in = ImageIO.createImageInputStream(file.toFile())) {
+            var readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Not a supported picture");
+            }
+            var reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IllegalArgumentException("The picture is too large");
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeThumbnail(BufferedImage image, PictureSize size, Path target) throws IOException {
+        // Crop the largest possible square from the center, and scale it down (or up) to the thumbnail size
+        var side = Math.min(image.getWidth(), image.getHeight());
+        var x = (image.getWidth() - side) / 2;
+        var y = (image.getHeight() - side) / 2;
+        var thumbnail = new BufferedImage(size.pixels(), size.pixels(), BufferedImage.TYPE_INT_RGB);
+        var graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no transparency, so transparent pictures get a white background
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, size.pixels(), size.pixels());
+            graphics.drawImage(image, 0, 0, size.pixels(), size.pixels(), x, y, x + side, y + side, null);
+        } finally {
+            graphics.dispose();
+        }
+        var tmp = createTempFile("thumbnail", ".jpg");
+        try {
+            if (!ImageIO.write(thumbnail, "jpg", tmp.toFile())) {
+                throw new IOException("No JPEG writer available");
+            }
+            moveIntoPlace(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Path createTempFile(String prefix, @Nullable String suffix) throws IOException {
+        var tmp = root.resolve("tmp");
+        Files.createDirectories(tmp);
+        return Files.createTempFile(tmp, prefix, suffix);
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        // The content of a path never changes, so if another thread got there first, the result is the same
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String shard(String hash) {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid picture hash");
+        }
+        return hash.substring(0, 2);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.whereabouts.common.picture;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.NullMarked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the thumbnails of stored pictures in the background, so that decoding and resizing large pictures does
+ * not block the calling thread (and with it, the UI).
+ * <p>
+ * Every picture is processed on its own virtual thread, but only as many pictures are decoded at the same time as
+ * there are CPUs (or {@code whereabouts.pictures.max-concurrency}), as the work is CPU and memory bound. At most
+ * {@code whereabouts.pictures.queue-capacity} pictures can be queued or processed at the same time; beyond that,
+ * {@link #submit(String)} rejects new pictures instead of letting the queue grow without bounds.
+ * <p>
+ * The pipeline publishes the following metrics:
+ * <ul>
+ *     <li>{@code whereabouts.pictures.queue}: the number of pictures queued or being processed,</li>
+ *     <li>{@code whereabouts.pictures.processing}: the time it takes to generate the thumbnails of a picture,</li>
+ *     <li>{@code whereabouts.pictures.rejected}: the number of pictures rejected because the queue was full.</li>
+ * </ul>
+ */
+@Component
+@NullMarked
+public class ThumbnailPipeline implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailPipeline.class);
+
+    private final PictureStore pictureStore;
+    private final int queueCapacity;
+    private final Semaphore processingPermits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("thumbnail-pipeline-", 0).factory());
+    private final Timer processingTimer;
+    private final Counter rejectedCounter;
+
+    ThumbnailPipeline(PictureStore pictureStore, MeterRegistry meterRegistry,
+                      @Value("${whereabouts.pictures.queue-capacity:100}") int queueCapacity,
+                      @Value("${whereabouts.pictures.max-concurrency:0}") int maxConcurrency) {
+        this.pictureStore = pictureStore;
+        this.queueCapacity = queueCapacity;
+        this.processingPermits = new Semaphore(maxConcurrency > 0 ? maxConcurrency
+                : Runtime.getRuntime().availableProcessors());
+        Gauge.builder("whereabouts.pictures.queue", queued, AtomicInteger::get)
+                .description("Number of pictures queued or being processed")
+                .register(meterRegistry);
+        processingTimer = Timer.builder("whereabouts.pictures.processing")
+                .description("Time it takes to generate the thumbnails of a picture")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("whereabouts.pictures.rejected")
+                .description("Number of pictures rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the generation of the thumbnails of the picture with the given hash. If the thumbnails already exist,
+     * or are already being generated, nothing new is queued.
+     *
+     * @return a future that completes with the hash once all thumbnails exist, or exceptionally if they could not be
+     * generated. The future is completed on a pipeline thread.
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public CompletableFuture<String> submit(String hash) {
+        var pending = inFlight.get(hash);
+        if (pending != null) {
+            return pending;
+        }
+        if (pictureStore.hasThumbnails(hash)) {
+            return CompletableFuture.completedFuture(hash);
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("Too many pictures are being processed, please try again later");
+        }
+        var future = new CompletableFuture<String>();
+        pending = inFlight.putIfAbsent(hash, future);
+        if (pending != null) {
+            queued.decrementAndGet();
+            return pending;
+        }
+        executor.execute(() -> process(hash, future));
+        return future;
+    }
+
+    private void process(String hash, CompletableFuture<String> future) {
+        Throwable failure = null;
+        try {
+            processingPermits.acquire();
+            try {
+                var sample = Timer.start();
+                pictureStore.generateThumbnails(hash);
+                sample.stop(processingTimer);
+            } finally {
+                processingPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (Throwable e) {
+            // Errors, such as running out of memory while decoding, must not leave the slot taken and the future
+            // incomplete either
+            log.error("Error generating thumbnails of picture {}", hash, e);
+            failure = e;
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            // Release the slot before completing, so that the completion callbacks can submit new pictures
+            release(hash, future);
+            if (failure == null) {
+                future.complete(hash);
+            } else {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private void release(String hash, CompletableFuture<String> future) {
+        if (inFlight.remove(hash, future)) {
+            queued.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
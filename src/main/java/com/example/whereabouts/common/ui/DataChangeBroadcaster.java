@@ -0,0 +1,148 @@
+package com.example.whereabouts.common.ui;
+
+import com.example.whereabouts.common.DomainEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.shared.Registration;
+import com.vaadin.flow.spring.annotation.SpringComponent;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Pushes committed {@link DomainEvent}s to the UIs that have subscribed to them, so that open views can show the
+ * changes made by other users without having to be refreshed manually.
+ * <p>
+ * Events are not delivered one by one. The first event for a UI starts a short {@linkplain #COALESCING_DELAY delay},
+ * and all events that arrive for that UI during the delay are delivered together, with duplicates removed. This keeps
+ * a burst of changes from turning into a burst of round trips. Subscribers should refresh the affected items one by
+ * one, unless the batch is larger than {@link #TARGETED_REFRESH_LIMIT}, in which case a full refresh is cheaper.
+ * <p>
+ * Events published by a UI are not delivered back to the same UI, as it has already updated itself.
+ */
+@SpringComponent
+@NullMarked
+public class DataChangeBroadcaster implements DisposableBean {
+
+    /**
+     * The maximum number of changed items a subscriber should refresh one by one.
+     */
+    public static final int TARGETED_REFRESH_LIMIT = 25;
+
+    static final Duration COALESCING_DELAY = Duration.ofMillis(300);
+
+    private final Set<Subscription<?>> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<UI, Map<Subscription<?>, Set<DomainEvent>>> pendingEvents = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("data-change-broadcaster").daemon().factory());
+
+    /**
+     * Subscribes to events of the given type for as long as the given component is attached to a UI. The listener is
+     * called with the UI locked.
+     *
+     * @return a registration that can be used to unsubscribe before the component is detached.
+     */
+    public <E extends DomainEvent> Registration subscribe(Component component, Class<E> eventType,
+                                                          SerializableConsumer<Set<E>> listener) {
+        var current = new AtomicReference<@Nullable Subscription<E>>();
+        Runnable unsubscribe = () -> {
+            var subscription = current.getAndSet(null);
+            if (subscription != null) {
+                subscriptions.remove(subscription);
+            }
+        };
+        Consumer<UI> subscribe = ui -> {
+            var subscription = new Subscription<>(ui, eventType, listener);
+            var previous = current.getAndSet(subscription);
+            if (previous != null) {
+                subscriptions.remove(previous);
+            }
+            subscriptions.add(subscription);
+        };
+        component.getUI().ifPresent(subscribe);
+        var attachRegistration = component.addAttachListener(event -> subscribe.accept(event.getUI()));
+        var detachRegistration = component.addDetachListener(event -> unsubscribe.run());
+        return () -> {
+            attachRegistration.remove();
+            detachRegistration.remove();
+            unsubscribe.run();
+        };
+    }
+
+    @TransactionalEventListener
+    void onDomainEvent(DomainEvent event) {
+        var originatingUI = UI.getCurrent();
+        for (var subscription : subscriptions) {
+            if (subscription.ui != originatingUI && subscription.eventType.isInstance(event)) {
+                enqueue(subscription, event);
+            }
+        }
+    }
+
+    private void enqueue(Subscription<?> subscription, DomainEvent event) {
+        pendingEvents.compute(subscription.ui, (ui, pending) -> {
+            if (pending == null) {
+                pending = new LinkedHashMap<>();
+                scheduler.schedule(() -> flush(ui), COALESCING_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            pending.computeIfAbsent(subscription, s -> new LinkedHashSet<>()).add(event);
+            return pending;
+        });
+    }
+
+    private void flush(UI ui) {
+        // Events arriving after this are collected into the next batch
+        var pending = pendingEvents.remove(ui);
+        if (pending == null) {
+            return;
+        }
+        try {
+            ui.access(() -> pending.forEach((subscription, events) -> {
+                if (subscriptions.contains(subscription)) {
+                    subscription.deliver(events);
+                }
+            }));
+        } catch (UIDetachedException e) {
+            // The UI was closed while the events were pending, nothing to do
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class Subscription<E extends DomainEvent> {
+
+        private final UI ui;
+        private final Class<E> eventType;
+        private final SerializableConsumer<Set<E>> listener;
+
+        Subscription(UI ui, Class<E> eventType, SerializableConsumer<Set<E>> listener) {
+            this.ui = ui;
+            this.eventType = eventType;
+            this.listener = listener;
+        }
+
+        void deliver(Set<DomainEvent> events) {
+            var typedEvents = new LinkedHashSet<E>(events.size());
+            for (var event : events) {
+                typedEvents.add(eventType.cast(event));
+            }
+            listener.accept(Collections.unmodifiableSet(typedEvents));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.whereabouts.common.ui;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Helper for plugging keyset pagination into the lazy loading of Vaadin components. The pager remembers the last item
+ * of the previously fetched page. When the next fetch continues right where the previous one ended, the items are
+ * fetched using keyset pagination. All other fetches, such as the first page or random jumps caused by dragging the
+ * scrollbar, fall back to offset pagination.
+ * <p>
+ * The pager is not thread safe. Use one pager per data provider.
+ *
+ * @param <T> the type of the items.
+ */
+@NullMarked
+public final class KeysetPager<T> {
+
+    @FunctionalInterface
+    public interface OffsetFetch<T> {
+        List<T> fetch(int offset, int limit);
+    }
+
+    @FunctionalInterface
+    public interface KeysetFetch<T> {
+        /**
+         * @param after  the last item of the previous page.
+         * @param offset the offset of the first item to fetch, for implementations that need to fall back to offset
+         *               pagination.
+         * @param limit  the maximum number of items to fetch.
+         */
+        List<T> fetch(T after, int offset, int limit);
+    }
+
+    private @Nullable Object query;
+    private @Nullable T lastItem;
+    private int nextOffset = -1;
+
+    /**
+     * Fetches a page of items.
+     *
+     * @param query       an object describing the current query, such as a filter and a sort order. The pager only
+     *                    continues with keyset pagination if the query is equal to the previous one.
+     * @param offset      the offset of the first item to fetch.
+     * @param limit       the maximum number of items to fetch.
+     * @param offsetFetch the function to use for offset pagination.
+     * @param keysetFetch the function to use for keyset pagination.
+     */
+    public List<T> fetch(Object query, int offset, int limit, OffsetFetch<T> offsetFetch, KeysetFetch<T> keysetFetch) {
+        List<T> items;
+        if (offset > 0 && offset == nextOffset && lastItem != null && query.equals(this.query)) {
+            items = keysetFetch.fetch(lastItem, offset, limit);
+        } else {
+            items = offsetFetch.fetch(offset, limit);
+        }
+        this.query = query;
+        if (items.isEmpty()) {
+            lastItem = null;
+            nextOffset = -1;
+        } else {
+            lastItem = items.getLast();
+            nextOffset = offset + items.size();
+        }
+        return items;
+    }
+}
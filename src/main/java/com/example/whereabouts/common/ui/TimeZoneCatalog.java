@@ -0,0 +1,72 @@
+package com.example.whereabouts.common.ui;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * All available time zones, sorted by ID, built once and shared by every {@link TimeZoneField}.
+ * <p>
+ * Every zone has a precomputed search key consisting of its ID, its standard UTC offset and its English display name,
+ * so a search for "helsinki", "+02:00" or "eastern european" finds {@code Europe/Helsinki}.
+ */
+@NullMarked
+final class TimeZoneCatalog {
+
+    private static final List<Entry> ENTRIES = ZoneId.getAvailableZoneIds()
+            .stream()
+            .sorted()
+            .map(ZoneId::of)
+            .map(Entry::of)
+            .toList();
+
+    private TimeZoneCatalog() {
+    }
+
+    /**
+     * Finds the time zones whose search key contains all the whitespace separated terms of the given search term,
+     * ignoring case. Underscores count as whitespace, like in the search keys, so "new_york" finds
+     * {@code America/New_York}.
+     */
+    static List<ZoneId> findBySearchTerm(Pageable pageable, @Nullable String searchTerm) {
+        var terms = searchTerm == null ? new String[0] : normalize(searchTerm).strip().split("\\s+");
+        return ENTRIES.stream()
+                .filter(entry -> entry.matches(terms))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(Entry::zoneId)
+                .toList();
+    }
+
+    private static String normalize(String text) {
+        return text.replace('_', ' ').toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(ZoneId zoneId, String searchKey) {
+
+        static Entry of(ZoneId zoneId) {
+            var offset = zoneId.getRules().getStandardOffset(Instant.now());
+            var searchKey = String.join(" ",
+                    zoneId.getId(),
+                    "UTC" + (offset.equals(ZoneOffset.UTC) ? "+00:00" : offset.getId()),
+                    zoneId.getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+            return new Entry(zoneId, normalize(searchKey));
+        }
+
+        boolean matches(String[] terms) {
+            for (var term : terms) {
+                if (!searchKey.contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
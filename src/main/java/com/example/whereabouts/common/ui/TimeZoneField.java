@@ -4,9 +4,13 @@ import com.vaadin.flow.component.combobox.ComboBox;
 
 import java.time.ZoneId;
 
+/**
+ * Combo box for selecting a time zone. The zones come from the shared {@link TimeZoneCatalog} and are fetched lazily,
+ * filtered on the server, instead of sending all of them to the client.
+ */
 public final class TimeZoneField extends ComboBox<ZoneId> {
 
     public TimeZoneField() {
-        setItems(ZoneId.getAvailableZoneIds().stream().sorted().map(ZoneId::of).toList());
+        setItemsPageable(TimeZoneCatalog::findBySearchTerm);
     }
 }
@@ -0,0 +1,18 @@
+package com.example.whereabouts.humanresources;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Everything that is shown when an employee is opened, loaded in one go.
+ *
+ * @param employee          the employee.
+ * @param employmentDetails the employment details of the employee, or {@code null} if they have not been entered yet.
+ * @param manager           the manager of the employee, or {@code null} if the employee has no manager.
+ * @param location          the location of the employee, or {@code null} if the employment details have not been
+ *                          entered yet.
+ */
+@NullMarked
+public record EmployeeAggregate(Employee employee, @Nullable EmploymentDetails employmentDetails,
+                                @Nullable EmployeeReference manager, @Nullable LocationReference location) {
+}
@@ -0,0 +1,18 @@
+package com.example.whereabouts.humanresources;
+
+import com.example.whereabouts.common.DomainEvent;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Published by {@link EmployeeService} whenever an employee is inserted or updated.
+ *
+ * @param id      the ID of the employee.
+ * @param version the version of the employee after the change; {@code 1} if the employee was inserted.
+ */
+@NullMarked
+public record EmployeeChangedEvent(EmployeeId id, long version) implements DomainEvent {
+
+    public boolean isInserted() {
+        return version == 1;
+    }
+}
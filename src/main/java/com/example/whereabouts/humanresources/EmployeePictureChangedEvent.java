@@ -0,0 +1,14 @@
+package com.example.whereabouts.humanresources;
+
+import com.example.whereabouts.common.DomainEvent;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Published by {@link EmployeePictureService} whenever the picture of an employee is changed or removed. When a new
+ * picture is stored, the event is only published once its thumbnails are ready to be served.
+ *
+ * @param id the ID of the employee.
+ */
+@NullMarked
+public record EmployeePictureChangedEvent(EmployeeId id) implements DomainEvent {
+}
@@ -1,17 +1,105 @@
 package com.example.whereabouts.humanresources;
 
+import com.example.whereabouts.common.picture.PictureSize;
+import com.example.whereabouts.common.picture.PictureStore;
+import com.example.whereabouts.common.picture.ThumbnailPipeline;
+import com.example.whereabouts.humanresources.repository.EmployeePictureRepository;
+import com.example.whereabouts.security.AppRoles;
 import com.vaadin.flow.server.streams.DownloadHandler;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stores and serves employee pictures. The pictures themselves live in the {@link PictureStore}, and the database only
+ * keeps track of which picture belongs to which employee.
+ */
 @Service
 @PreAuthorize("isAuthenticated()")
 @NullMarked
 public class EmployeePictureService {
 
+    private final EmployeePictureRepository employeePictureRepository;
+    private final PictureStore pictureStore;
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    EmployeePictureService(EmployeePictureRepository employeePictureRepository, PictureStore pictureStore,
+                           ThumbnailPipeline thumbnailPipeline, TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher) {
+        this.employeePictureRepository = employeePictureRepository;
+        this.pictureStore = pictureStore;
+        this.thumbnailPipeline = thumbnailPipeline;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Finds the picture of the given employee, in a size suitable for a details view.
+     *
+     * @return a handler that serves the picture, or {@code null} if the employee has no picture
+     */
+    @Transactional(readOnly = true)
     public @Nullable DownloadHandler findPicture(EmployeeId employeeId) {
-        return null; // TODO Implement me!
+        return employeePictureRepository.findPictureHash(employeeId)
+                .map(hash -> pictureStore.downloadHandler(hash, PictureSize.PROFILE))
+                .orElse(null);
+    }
+
+    /**
+     * Finds the pictures of all the given employees using a single query, in a size suitable for lists and grids.
+     * Call this once for every fetched page, instead of calling {@link #findPicture(EmployeeId)} for every row.
+     *
+     * @return handlers that serve the pictures, for those employees that have a picture
+     */
+    @Transactional(readOnly = true)
+    public Map<EmployeeId, DownloadHandler> findThumbnails(Collection<EmployeeId> employeeIds) {
+        var hashes = employeePictureRepository.findPictureHashes(employeeIds);
+        var thumbnails = new HashMap<EmployeeId, DownloadHandler>(hashes.size());
+        hashes.forEach((employeeId, hash) ->
+                thumbnails.put(employeeId, pictureStore.downloadHandler(hash, PictureSize.AVATAR)));
+        return thumbnails;
+    }
+
+    /**
+     * Stores the given picture and queues the generation of its thumbnails. Once the thumbnails are ready, the picture
+     * becomes the picture of the given employee and an {@link EmployeePictureChangedEvent} is published. Until then,
+     * the employee keeps their previous picture.
+     *
+     * @return a future that completes when the picture has become the picture of the employee
+     * @throws IllegalArgumentException   if the content is not a picture
+     * @throws RejectedExecutionException if too many pictures are already being processed
+     * @throws IOException                if the picture could not be stored
+     */
+    @PreAuthorize("hasRole('" + AppRoles.EMPLOYEE_UPDATE + "')")
+    public CompletableFuture<Void> storePicture(EmployeeId employeeId, InputStream picture) throws IOException {
+        var hash = pictureStore.storeOriginal(picture);
+        return thumbnailPipeline.submit(hash).thenAccept(ready -> transactionTemplate.executeWithoutResult(status -> {
+            employeePictureRepository.save(employeeId, ready);
+            eventPublisher.publishEvent(new EmployeePictureChangedEvent(employeeId));
+        }));
+    }
+
+    /**
+     * Removes the picture of the given employee. The picture itself stays in the store, as other employees may use it.
+     */
+    @Transactional
+    @PreAuthorize("hasRole('" + AppRoles.EMPLOYEE_UPDATE + "')")
+    public void removePicture(EmployeeId employeeId) {
+        employeePictureRepository.delete(employeeId);
+        eventPublisher.publishEvent(new EmployeePictureChangedEvent(employeeId));
     }
 }
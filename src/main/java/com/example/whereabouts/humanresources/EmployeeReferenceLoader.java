@@ -0,0 +1,64 @@
+package com.example.whereabouts.humanresources;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Batching loader for {@link EmployeeReference}s, intended to be used by data providers that render employee
+ * references for every fetched item. Call {@link #prime(Collection)} with the IDs of an entire fetched page, and the
+ * renderers can then call {@link #get(Set)} without hitting the database for every row.
+ * <p>
+ * The loader caches everything it has loaded until {@link #clear()} is called. Typically, you want to clear it
+ * whenever the data provider is refreshed. The loader is not thread safe.
+ */
+@NullMarked
+public final class EmployeeReferenceLoader {
+
+    private final Function<Set<EmployeeId>, Set<EmployeeReference>> batchLookup;
+    private final Map<EmployeeId, EmployeeReference> loaded = new HashMap<>();
+
+    /**
+     * @param batchLookup a function that looks up all the given employee references in one go, such as
+     *                    {@link EmployeeService#findReferencesByIds(Set)}.
+     */
+    public EmployeeReferenceLoader(Function<Set<EmployeeId>, Set<EmployeeReference>> batchLookup) {
+        this.batchLookup = batchLookup;
+    }
+
+    /**
+     * Loads all the given employee references that have not been loaded yet, using a single lookup.
+     */
+    public void prime(Collection<EmployeeId> ids) {
+        var missing = new HashSet<EmployeeId>();
+        for (var id : ids) {
+            if (!loaded.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            batchLookup.apply(missing).forEach(reference -> loaded.put(reference.id(), reference));
+        }
+    }
+
+    /**
+     * Returns the employee references with the given IDs, loading any missing references using a single lookup.
+     * IDs of employees that do not exist are ignored.
+     */
+    public List<EmployeeReference> get(Set<EmployeeId> ids) {
+        prime(ids);
+        var result = new ArrayList<EmployeeReference>(ids.size());
+        for (var id : ids) {
+            var reference = loaded.get(id);
+            if (reference != null) {
+                result.add(reference);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        loaded.clear();
+    }
+}
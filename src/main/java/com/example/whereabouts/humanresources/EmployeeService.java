@@ -1,10 +1,13 @@
 package com.example.whereabouts.humanresources;
 
+import com.example.whereabouts.humanresources.query.EmployeeAggregateQuery;
 import com.example.whereabouts.humanresources.query.EmployeeReferenceQuery;
+import com.example.whereabouts.humanresources.query.ReportingLineQuery;
 import com.example.whereabouts.humanresources.repository.EmployeeRepository;
 import com.example.whereabouts.humanresources.repository.EmploymentDetailsRepository;
 import com.example.whereabouts.security.AppRoles;
 import org.jspecify.annotations.NullMarked;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -22,13 +25,22 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final EmploymentDetailsRepository employmentDetailsRepository;
     private final EmployeeReferenceQuery employeeReferenceQuery;
+    private final EmployeeAggregateQuery employeeAggregateQuery;
+    private final ReportingLineQuery reportingLineQuery;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EmployeeService(EmployeeRepository employeeRepository,
                            EmploymentDetailsRepository employmentDetailsRepository,
-                           EmployeeReferenceQuery employeeReferenceQuery) {
+                           EmployeeReferenceQuery employeeReferenceQuery,
+                           EmployeeAggregateQuery employeeAggregateQuery,
+                           ReportingLineQuery reportingLineQuery,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
         this.employmentDetailsRepository = employmentDetailsRepository;
         this.employeeReferenceQuery = employeeReferenceQuery;
+        this.employeeAggregateQuery = employeeAggregateQuery;
+        this.reportingLineQuery = reportingLineQuery;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -36,6 +48,11 @@ public class EmployeeService {
         return employeeReferenceQuery.findByFilter(pageable, filter);
     }
 
+    @Transactional(readOnly = true)
+    public List<EmployeeReference> findReferencesByFilterAfter(Pageable pageable, EmployeeReference after, EmployeeFilter filter) {
+        return employeeReferenceQuery.findByFilterAfter(pageable, after, filter);
+    }
+
     @Transactional(readOnly = true)
     public Set<EmployeeReference> findReferencesByIds(Set<EmployeeId> ids) {
         return employeeReferenceQuery.findByIds(ids);
@@ -46,10 +63,32 @@ public class EmployeeService {
         return employeeReferenceQuery.findByIds(Set.of(id)).stream().findFirst();
     }
 
+    @Transactional(readOnly = true)
+    public List<ReportingLineMember> findDirectReports(EmployeeId manager) {
+        return reportingLineQuery.findDirectReports(manager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportingLineMember> findAllReports(EmployeeId manager, Pageable pageable) {
+        return reportingLineQuery.findAllReports(manager, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public int countAllReports(EmployeeId manager) {
+        return reportingLineQuery.countAllReports(manager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportingLineMember> findChainOfCommand(EmployeeId employee) {
+        return reportingLineQuery.findChainOfCommand(employee);
+    }
+
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.EMPLOYEE_CREATE + "')")
     public EmployeeId insert(EmployeeData data) {
-        return employeeRepository.insert(data);
+        var id = employeeRepository.insert(data);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, 1));
+        return id;
     }
 
     @Transactional(readOnly = true)
@@ -57,10 +96,17 @@ public class EmployeeService {
         return employeeRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<EmployeeAggregate> findAggregateById(EmployeeId id) {
+        return employeeAggregateQuery.findById(id);
+    }
+
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.EMPLOYEE_UPDATE + "')")
     public Employee update(Employee employee) {
-        return employeeRepository.update(employee);
+        var updated = employeeRepository.update(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updated.id(), updated.version()));
+        return updated;
     }
 
     @Transactional(readOnly = true)
@@ -71,12 +117,16 @@ public class EmployeeService {
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.EMPLOYEE_CREATE + "')")
     public EmploymentDetails insertDetails(EmployeeId id, EmploymentDetailsData data) {
-        return employmentDetailsRepository.insert(id, data);
+        var inserted = employmentDetailsRepository.insert(id, data);
+        eventPublisher.publishEvent(new EmploymentDetailsChangedEvent(inserted.id(), inserted.version()));
+        return inserted;
     }
 
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.EMPLOYEE_UPDATE + "')")
     public EmploymentDetails updateDetails(EmploymentDetails details) {
-        return employmentDetailsRepository.update(details);
+        var updated = employmentDetailsRepository.update(details);
+        eventPublisher.publishEvent(new EmploymentDetailsChangedEvent(updated.id(), updated.version()));
+        return updated;
     }
 }
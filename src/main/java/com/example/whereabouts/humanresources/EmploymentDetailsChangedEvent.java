@@ -0,0 +1,18 @@
+package com.example.whereabouts.humanresources;
+
+import com.example.whereabouts.common.DomainEvent;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Published by {@link EmployeeService} whenever the employment details of an employee are inserted or updated.
+ *
+ * @param id      the ID of the employee.
+ * @param version the version of the employment details after the change; {@code 1} if they were inserted.
+ */
+@NullMarked
+public record EmploymentDetailsChangedEvent(EmployeeId id, long version) implements DomainEvent {
+
+    public boolean isInserted() {
+        return version == 1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.whereabouts.humanresources;
+
+import com.example.whereabouts.common.DomainEvent;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Published by {@link LocationService} whenever a location is inserted or updated. Listeners that cache location
+ * data should use {@link org.springframework.transaction.event.TransactionalEventListener} to only react to committed
+ * changes.
+ *
+ * @param id      the ID of the location.
+ * @param version the version of the location after the change; {@code 1} if the location was inserted.
+ */
+@NullMarked
+public record LocationChangedEvent(LocationId id, long version) implements DomainEvent {
+
+    public boolean isInserted() {
+        return version == 1;
+    }
+}
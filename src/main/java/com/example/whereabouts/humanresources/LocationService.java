@@ -6,6 +6,7 @@ import com.example.whereabouts.humanresources.repository.LocationRepository;
 import com.example.whereabouts.security.AppRoles;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 
@@ -24,11 +26,14 @@ public class LocationService {
     private final LocationRepository locationRepository;
     private final LocationTreeNodeQuery locationTreeNodeQuery;
     private final LocationReferenceQuery locationReferenceQuery;
+    private final ApplicationEventPublisher eventPublisher;
 
-    LocationService(LocationRepository locationRepository, LocationTreeNodeQuery locationTreeNodeQuery, LocationReferenceQuery locationReferenceQuery) {
+    LocationService(LocationRepository locationRepository, LocationTreeNodeQuery locationTreeNodeQuery,
+                    LocationReferenceQuery locationReferenceQuery, ApplicationEventPublisher eventPublisher) {
         this.locationRepository = locationRepository;
         this.locationTreeNodeQuery = locationTreeNodeQuery;
         this.locationReferenceQuery = locationReferenceQuery;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -48,9 +53,9 @@ public class LocationService {
     }
 
     @Transactional(readOnly = true)
-    public List<LocationTreeNode> findChildren(@Nullable LocationTreeNode node, Pageable pageable) {
+    public List<LocationTreeNode> findChildren(@Nullable LocationTreeNode node, Locale displayIn, Pageable pageable) {
         if (node == null) {
-            return locationTreeNodeQuery.findCountries(pageable);
+            return locationTreeNodeQuery.findCountries(displayIn, pageable);
         } else if (node instanceof LocationTreeNode.CountryNode countryNode) {
             return locationTreeNodeQuery.findLocations(countryNode.country(), pageable);
         } else {
@@ -66,7 +71,9 @@ public class LocationService {
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.LOCATION_CREATE + "')")
     public LocationId insert(LocationData locationData) {
-        return locationRepository.insert(locationData);
+        var id = locationRepository.insert(locationData);
+        eventPublisher.publishEvent(new LocationChangedEvent(id, 1));
+        return id;
     }
 
     @Transactional(readOnly = true)
@@ -77,7 +84,9 @@ public class LocationService {
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.LOCATION_UPDATE + "')")
     public Location update(Location location) {
-        return locationRepository.update(location);
+        var updated = locationRepository.update(location);
+        eventPublisher.publishEvent(new LocationChangedEvent(updated.id(), updated.version()));
+        return updated;
     }
 
     @Transactional(readOnly = true)
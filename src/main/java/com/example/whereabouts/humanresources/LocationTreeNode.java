@@ -7,7 +7,10 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public sealed interface LocationTreeNode {
 
-    record CountryNode(Country country, int employees) implements LocationTreeNode {
+    /**
+     * @param displayName the display name of the country, in the same locale as the countries were sorted by
+     */
+    record CountryNode(Country country, String displayName, int employees) implements LocationTreeNode {
     }
 
     record LocationNode(LocationId id, String name, int employees, LocationType locationType,
@@ -0,0 +1,13 @@
+package com.example.whereabouts.humanresources;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * An employee in the reporting line of another employee, either above or below them.
+ *
+ * @param employee the employee.
+ * @param depth    the number of steps between the two employees; {@code 1} for a direct report or the direct manager.
+ */
+@NullMarked
+public record ReportingLineMember(EmployeeReference employee, int depth) {
+}
@@ -0,0 +1,106 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads comma-separated values as described in RFC 4180. The first row is the header, and contains the field names.
+ * Empty values are treated as missing.
+ */
+@NullMarked
+final class CsvRowSource implements RowSource {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long lineNumber = 1;
+
+    CsvRowSource(Reader reader) throws IOException {
+        this.reader = new BufferedReader(reader);
+        var header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("The input has no header row");
+        }
+        this.header = List.copyOf(header);
+    }
+
+    @Override
+    public @Nullable RawRow next() throws IOException {
+        List<String> values;
+        long line;
+        do {
+            line = lineNumber;
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.getFirst().isEmpty()); // Skip empty lines
+        var record = values;
+        return new RawRow(line, () -> toFields(record));
+    }
+
+    private JsonNode toFields(List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Expected %d values but found %d".formatted(header.size(), values.size()));
+        }
+        var fields = JsonNodeFactory.instance.objectNode();
+        for (int i = 0; i < values.size(); ++i) {
+            var value = values.get(i);
+            if (value.isEmpty()) {
+                fields.putNull(header.get(i));
+            } else {
+                fields.put(header.get(i), value);
+            }
+        }
+        return fields;
+    }
+
+    private @Nullable List<String> readRecord() throws IOException {
+        var c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        var startLine = lineNumber;
+        var values = new ArrayList<String>();
+        var value = new StringBuilder();
+        var quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted value on line " + startLine);
+                } else if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                    value.append('"');
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                values.add(value.toString());
+                lineNumber++;
+                return values;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * @param line    the line of the input on which the rejected row starts.
+ * @param message a description of why the row was rejected.
+ */
+@NullMarked
+public record EmployeeImportError(long line, String message) {
+}
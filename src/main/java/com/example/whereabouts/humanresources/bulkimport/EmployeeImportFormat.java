@@ -0,0 +1,18 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+/**
+ * The input formats supported by {@link EmployeeImportService}. In both formats, the fields are named after the
+ * properties of {@link com.example.whereabouts.humanresources.EmployeeData} and
+ * {@link com.example.whereabouts.humanresources.EmploymentDetailsData}. The {@code location} is given as a location ID,
+ * and the {@code manager} as the work e-mail address of the manager.
+ */
+public enum EmployeeImportFormat {
+    /**
+     * Comma-separated values with a header row. The {@code homeAddress} column contains the postal address as JSON.
+     */
+    CSV,
+    /**
+     * Newline-delimited JSON with one employee object per line.
+     */
+    NDJSON
+}
@@ -0,0 +1,15 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * @param imported the number of employees that were imported.
+ * @param rejected the number of rows that were rejected.
+ * @param errors   the errors of the rejected rows, sorted by line. To keep the memory usage of huge imports in check,
+ *                 only the first 1000 errors are included.
+ */
+@NullMarked
+public record EmployeeImportResult(int imported, int rejected, List<EmployeeImportError> errors) {
+}
@@ -0,0 +1,22 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import com.example.whereabouts.common.EmailAddress;
+import com.example.whereabouts.humanresources.EmployeeData;
+import com.example.whereabouts.humanresources.EmploymentDetailsData;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A validated row of an employee import.
+ *
+ * @param line         the line of the input on which the row starts.
+ * @param employee     the employee data.
+ * @param employment   the employment details. The manager is always {@code null}, as the manager is resolved from
+ *                     {@code managerEmail} only when the row is merged.
+ * @param managerEmail the work e-mail address of the manager, who may be an existing employee or be imported in the
+ *                     same batch.
+ */
+@NullMarked
+record EmployeeImportRow(long line, EmployeeData employee, EmploymentDetailsData employment,
+                         @Nullable EmailAddress managerEmail) {
+}
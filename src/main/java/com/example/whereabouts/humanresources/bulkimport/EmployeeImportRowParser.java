@@ -0,0 +1,108 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import com.example.whereabouts.common.EmailAddress;
+import com.example.whereabouts.common.Gender;
+import com.example.whereabouts.common.PhoneNumber;
+import com.example.whereabouts.common.address.PostalAddress;
+import com.example.whereabouts.humanresources.*;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Parses and validates the fields of a {@link RawRow} using the same value objects as the rest of the application.
+ * This class is thread safe.
+ */
+@NullMarked
+final class EmployeeImportRowParser {
+
+    private final ObjectMapper objectMapper;
+
+    EmployeeImportRowParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the row is not valid, with a message that can be shown to the user.
+     */
+    EmployeeImportRow parse(long line, JsonNode fields) {
+        var firstName = required(fields, EmployeeData.PROP_FIRST_NAME, Function.identity());
+        var preferredName = optional(fields, EmployeeData.PROP_PREFERRED_NAME, Function.identity());
+        var employee = new EmployeeData(
+                firstName,
+                optional(fields, EmployeeData.PROP_MIDDLE_NAME, Function.identity()),
+                required(fields, EmployeeData.PROP_LAST_NAME, Function.identity()),
+                preferredName == null ? firstName : preferredName,
+                required(fields, EmployeeData.PROP_BIRTH_DATE, LocalDate::parse),
+                required(fields, EmployeeData.PROP_GENDER, value -> Gender.valueOf(value.toUpperCase(Locale.ROOT))),
+                optional(fields, EmployeeData.PROP_DIETARY_NOTES, Function.identity()),
+                required(fields, EmployeeData.PROP_TIME_ZONE, ZoneId::of),
+                parseAddress(fields, EmployeeData.PROP_HOME_ADDRESS),
+                optional(fields, EmployeeData.PROP_WORK_PHONE, PhoneNumber::of),
+                optional(fields, EmployeeData.PROP_MOBILE_PHONE, PhoneNumber::of),
+                optional(fields, EmployeeData.PROP_HOME_PHONE, PhoneNumber::of),
+                required(fields, EmployeeData.PROP_WORK_EMAIL, EmailAddress::of)
+        );
+        var jobTitle = required(fields, EmploymentDetailsData.PROP_JOB_TITLE, Function.identity());
+        var type = required(fields, EmploymentDetailsData.PROP_TYPE, value -> EmploymentType.valueOf(value.toUpperCase(Locale.ROOT)));
+        var status = required(fields, EmploymentDetailsData.PROP_STATUS, value -> EmploymentStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+        var workArrangement = required(fields, EmploymentDetailsData.PROP_WORK_ARRANGEMENT, value -> WorkArrangement.valueOf(value.toUpperCase(Locale.ROOT)));
+        var location = required(fields, EmploymentDetailsData.PROP_LOCATION, value -> new LocationId(Long.parseLong(value)));
+        var managerEmail = optional(fields, EmploymentDetailsData.PROP_MANAGER, EmailAddress::of);
+        var hireDate = required(fields, EmploymentDetailsData.PROP_HIRE_DATE, LocalDate::parse);
+        var terminationDate = optional(fields, EmploymentDetailsData.PROP_TERMINATION_DATE, LocalDate::parse);
+        EmploymentDetailsData employment;
+        try {
+            employment = new EmploymentDetailsData(jobTitle, type, status, workArrangement, location, null, hireDate,
+                    terminationDate);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+        return new EmployeeImportRow(line, employee, employment, managerEmail);
+    }
+
+    private PostalAddress parseAddress(JsonNode fields, String name) {
+        var node = fields.get(name);
+        if (node == null || node.isNull()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        try {
+            // In CSV files, the address is a JSON string
+            var tree = node.isString() ? objectMapper.readTree(node.asString()) : node;
+            return objectMapper.treeToValue(tree, PostalAddress.class);
+        } catch (JacksonException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private static <T> T required(JsonNode fields, String name, Function<String, T> parser) {
+        var value = optional(fields, name, parser);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static <T> @Nullable T optional(JsonNode fields, String name, Function<String, T> parser) {
+        var node = fields.get(name);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        var value = node.asString().strip();
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import com.example.whereabouts.security.AppRoles;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Reader;
+
+@Service
+@PreAuthorize("hasRole('" + AppRoles.EMPLOYEE_CREATE + "')")
+@NullMarked
+public class EmployeeImportService {
+
+    private final EmployeeImporter employeeImporter;
+
+    EmployeeImportService(EmployeeImporter employeeImporter) {
+        this.employeeImporter = employeeImporter;
+    }
+
+    /**
+     * Imports employees and their employment details from the given input in a single transaction. Rows that are
+     * invalid or conflict with existing employees are rejected and reported in the result, while the rest are
+     * imported. The caller is responsible for closing the input.
+     *
+     * @see EmployeeImportFormat
+     */
+    @Transactional
+    public EmployeeImportResult importEmployees(Reader input, EmployeeImportFormat format) {
+        return employeeImporter.importEmployees(input, format);
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import org.jooq.DSLContext;
+import org.jooq.EnumType;
+import org.jooq.Field;
+import org.jooq.JSON;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.example.whereabouts.jooq.Tables.EMPLOYEE;
+import static com.example.whereabouts.jooq.Tables.EMPLOYMENT_DETAILS;
+import static com.example.whereabouts.jooq.support.SequenceIdAllocator.BLOCK_SIZE;
+
+/**
+ * Imports employees in bulk. The input is read and validated in chunks, and the valid rows are streamed into a
+ * temporary staging table using the PostgreSQL {@code COPY} protocol. Once all rows have been copied, rows that
+ * conflict with existing data are rejected and the rest are merged into the real tables using a handful of
+ * set-based statements. Only one chunk is kept in memory at a time.
+ *
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@Component
+@NullMarked
+class EmployeeImporter {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int CHUNK_SIZE = 2000;
+
+    private static final String CREATE_STAGING_TABLE = """
+            create temporary table employee_import
+            (
+                line                bigint            not null,
+                employee_id         bigint,
+                first_name          text              not null,
+                middle_name         text,
+                last_name           text              not null,
+                preferred_name      text              not null,
+                birth_date          date              not null,
+                gender              gender            not null,
+                dietary_notes       text,
+                country             varchar(3)        not null,
+                time_zone           varchar(64)       not null,
+                home_postal_address json,
+                work_phone          varchar(16),
+                mobile_phone        varchar(16),
+                home_phone          varchar(16),
+                work_email          varchar(320)      not null,
+                job_title           text              not null,
+                employment_type     employment_type   not null,
+                employment_status   employment_status not null,
+                work_arrangement    work_arrangement  not null,
+                location_id         bigint            not null,
+                manager_email       varchar(320),
+                hire_date           date              not null,
+                termination_date    date
+            ) on commit drop
+            """;
+
+    private static final String COPY_INTO_STAGING_TABLE = """
+            copy employee_import (line, first_name, middle_name, last_name, preferred_name, birth_date, gender,
+                                  dietary_notes, country, time_zone, home_postal_address, work_phone, mobile_phone,
+                                  home_phone, work_email, job_title, employment_type, employment_status,
+                                  work_arrangement, location_id, manager_email, hire_date, termination_date)
+            from stdin (format csv)
+            """;
+
+    private final DSLContext dsl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmployeeImportRowParser parser = new EmployeeImportRowParser(objectMapper);
+
+    EmployeeImporter(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EmployeeImportResult importEmployees(Reader input, EmployeeImportFormat format) {
+        var errors = new ErrorCollector();
+        // The staging table is only dropped on commit, so an earlier import in the same transaction may have left it
+        // behind. Qualified, so that a permanent table of the same name is never dropped.
+        dsl.execute("drop table if exists pg_temp.employee_import");
+        dsl.execute(CREATE_STAGING_TABLE);
+        dsl.connection(connection -> {
+            var copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING_TABLE);
+            try {
+                copyRows(createRowSource(input, format), copyIn, errors);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        rejectConflictingRows(errors);
+        var imported = mergeRows();
+        return errors.toResult(imported);
+    }
+
+    private RowSource createRowSource(Reader input, EmployeeImportFormat format) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRowSource(input);
+            case NDJSON -> new NdjsonRowSource(input, objectMapper);
+        };
+    }
+
+    private void copyRows(RowSource source, CopyIn copyIn, ErrorCollector errors) throws Exception {
+        var chunk = new ArrayList<RawRow>(CHUNK_SIZE);
+        RawRow row;
+        while ((row = source.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                copyChunk(chunk, copyIn, errors);
+                chunk.clear();
+            }
+        }
+        copyChunk(chunk, copyIn, errors);
+    }
+
+    private void copyChunk(List<RawRow> chunk, CopyIn copyIn, ErrorCollector errors) throws Exception {
+        // Parsing and validating is the expensive part, so it is done in parallel. The results keep the input order.
+        var results = chunk.parallelStream().map(this::toCopyLine).toList();
+        var buffer = new StringBuilder();
+        for (int i = 0; i < results.size(); ++i) {
+            var result = results.get(i);
+            if (result.error() != null) {
+                errors.add(chunk.get(i).line(), result.error());
+            } else {
+                buffer.append(result.copyLine());
+            }
+        }
+        if (!buffer.isEmpty()) {
+            var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        }
+    }
+
+    private CopyLineResult toCopyLine(RawRow rawRow) {
+        EmployeeImportRow row;
+        try {
+            row = parser.parse(rawRow.line(), rawRow.fields().get());
+        } catch (RuntimeException ex) {
+            return new CopyLineResult(null, ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+        }
+        var employee = row.employee();
+        var employment = row.employment();
+        var line = new StringBuilder();
+        appendValue(line, rawRow.line());
+        appendValue(line, EMPLOYEE.FIRST_NAME, employee.firstName());
+        appendValue(line, EMPLOYEE.MIDDLE_NAME, employee.middleName());
+        appendValue(line, EMPLOYEE.LAST_NAME, employee.lastName());
+        appendValue(line, EMPLOYEE.PREFERRED_NAME, employee.preferredName());
+        appendValue(line, EMPLOYEE.BIRTH_DATE, employee.birthDate());
+        appendValue(line, EMPLOYEE.GENDER, employee.gender());
+        appendValue(line, EMPLOYEE.DIETARY_NOTES, employee.dietaryNotes());
+        appendValue(line, EMPLOYEE.COUNTRY, employee.homeAddress().country());
+        appendValue(line, EMPLOYEE.TIME_ZONE, employee.timeZone());
+        appendValue(line, EMPLOYEE.HOME_POSTAL_ADDRESS, employee.homeAddress());
+        appendValue(line, EMPLOYEE.WORK_PHONE, employee.workPhone());
+        appendValue(line, EMPLOYEE.MOBILE_PHONE, employee.mobilePhone());
+        appendValue(line, EMPLOYEE.HOME_PHONE, employee.homePhone());
+        appendValue(line, EMPLOYEE.WORK_EMAIL, employee.workEmail());
+        appendValue(line, EMPLOYMENT_DETAILS.JOB_TITLE, employment.jobTitle());
+        appendValue(line, EMPLOYMENT_DETAILS.EMPLOYMENT_TYPE, employment.type());
+        appendValue(line, EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS, employment.status());
+        appendValue(line, EMPLOYMENT_DETAILS.WORK_ARRANGEMENT, employment.workArrangement());
+        appendValue(line, EMPLOYMENT_DETAILS.LOCATION_ID, employment.location());
+        appendValue(line, EMPLOYEE.WORK_EMAIL, row.managerEmail());
+        appendValue(line, EMPLOYMENT_DETAILS.HIRE_DATE, employment.hireDate());
+        appendValue(line, EMPLOYMENT_DETAILS.TERMINATION_DATE, employment.terminationDate());
+        line.setCharAt(line.length() - 1, '\n');
+        return new CopyLineResult(line.toString(), null);
+    }
+
+    /**
+     * Appends the value as a CSV value followed by a comma, converting it to its database representation using the
+     * converter of the given field.
+     */
+    private static <T> void appendValue(StringBuilder line, Field<T> field, @Nullable T value) {
+        appendValue(line, value == null ? null : field.getConverter().to(value));
+    }
+
+    private static void appendValue(StringBuilder line, @Nullable Object databaseValue) {
+        // In the CSV format of COPY, an unquoted empty value is null, and a quoted empty value is an empty string
+        if (databaseValue != null) {
+            var text = switch (databaseValue) {
+                case EnumType enumType -> enumType.getLiteral();
+                case JSON json -> json.data();
+                default -> databaseValue.toString();
+            };
+            line.append('"').append(text.replace("\"", "\"\"")).append('"');
+        }
+        line.append(',');
+    }
+
+    private void rejectConflictingRows(ErrorCollector errors) {
+        reject(errors, "workEmail is already used on an earlier line", """
+                delete from employee_import i
+                using employee_import earlier
+                where earlier.work_email = i.work_email
+                  and earlier.line < i.line
+                returning i.line
+                """);
+        reject(errors, "workEmail is already used by another employee", """
+                delete from employee_import i
+                using employee e
+                where e.work_email = i.work_email
+                returning i.line
+                """);
+        reject(errors, "location does not exist", """
+                delete from employee_import i
+                where not exists (select 1 from location l where l.location_id = i.location_id)
+                returning i.line
+                """);
+        // Existing employees cannot report to imported ones, so a cycle can only be formed by imported rows alone
+        reject(errors, "manager chain forms a cycle", """
+                with recursive chain (line, manager_email) as (select line, manager_email
+                                                               from employee_import
+                                                               where manager_email is not null
+                                                               union all
+                                                               select c.line, m.manager_email
+                                                               from chain c
+                                                                        join employee_import m on m.work_email = c.manager_email
+                                                               where m.manager_email is not null)
+                                   cycle manager_email set is_cycle using path
+                delete from employee_import i
+                using chain c
+                where c.line = i.line
+                  and c.manager_email = i.work_email
+                returning i.line
+                """);
+        // Rejecting a row can leave the rows that it manages without a manager, so repeat until nothing changes
+        boolean rejected;
+        do {
+            rejected = reject(errors, "manager does not exist", """
+                    delete from employee_import i
+                    where i.manager_email is not null
+                      and not exists (select 1 from employee e where e.work_email = i.manager_email)
+                      and not exists (select 1 from employee_import m where m.work_email = i.manager_email)
+                    returning i.line
+                    """);
+        } while (rejected);
+    }
+
+    private boolean reject(ErrorCollector errors, String message, String deleteReturningLines) {
+        var lines = dsl.fetch(deleteReturningLines);
+        lines.forEach(record -> errors.add(record.get(0, Long.class), message));
+        return lines.isNotEmpty();
+    }
+
+    private int mergeRows() {
+        // Reserve one block of IDs for every BLOCK_SIZE rows, in the same way as SequenceIdAllocator does
+        dsl.execute("""
+                with numbered as (select line, row_number() over (order by line) - 1 as n
+                                  from employee_import),
+                     blocks as (select nextval('employee_id_seq') as first_id, row_number() over () - 1 as block
+                                from generate_series(1, (select ceil(count(*)::numeric / ?)::int from employee_import)))
+                update employee_import i
+                set employee_id = b.first_id + numbered.n % ?
+                from numbered
+                         join blocks b on b.block = numbered.n / ?
+                where i.line = numbered.line
+                """, BLOCK_SIZE, BLOCK_SIZE, BLOCK_SIZE);
+        var imported = dsl.execute("""
+                insert into employee (employee_id, version, first_name, middle_name, last_name, preferred_name, birth_date,
+                                      gender, dietary_notes, country, time_zone, home_postal_address, work_phone,
+                                      mobile_phone, home_phone, work_email)
+                select employee_id, 1, first_name, middle_name, last_name, preferred_name, birth_date, gender,
+                       dietary_notes, country, time_zone, home_postal_address, work_phone, mobile_phone, home_phone,
+                       work_email
+                from employee_import
+                """);
+        // The managers have been inserted above if they were part of the import
+        dsl.execute("""
+                insert into employment_details (employee_id, version, job_title, employment_type, employment_status,
+                                                work_arrangement, location_id, manager_employee_id, hire_date,
+                                                termination_date)
+                select i.employee_id, 1, i.job_title, i.employment_type, i.employment_status, i.work_arrangement,
+                       i.location_id, m.employee_id, i.hire_date, i.termination_date
+                from employee_import i
+                         left join employee m on m.work_email = i.manager_email
+                """);
+        // See JooqEmploymentDetailsRepository. Imported employees have no reports other than imported ones, so it is
+        // enough to walk up the reporting line of every imported employee. Take the same lock as the repository does
+        // when it changes a reporting line, so that the lines above the imported employees cannot change between
+        // walking them and committing.
+        dsl.execute("lock table employee_hierarchy in share row exclusive mode");
+        dsl.execute("""
+                insert into employee_hierarchy (ancestor_employee_id, descendant_employee_id, depth)
+                with recursive chain (descendant_employee_id, ancestor_employee_id, depth) as
+                                   (select d.employee_id, d.manager_employee_id, 1
+                                    from employee_import i
+                                             join employment_details d on d.employee_id = i.employee_id
+                                    where d.manager_employee_id is not null
+                                    union all
+                                    select c.descendant_employee_id, d.manager_employee_id, c.depth + 1
+                                    from chain c
+                                             join employment_details d on d.employee_id = c.ancestor_employee_id
+                                    where d.manager_employee_id is not null)
+                select ancestor_employee_id, descendant_employee_id, depth
+                from chain
+                """);
+        dsl.execute("""
+                insert into location_headcount (location_id, employees)
+                select location_id, count(*)
+                from employee_import
+                where employment_status = 'ACTIVE'
+                group by location_id
+                order by location_id
+                on conflict (location_id) do update set employees = location_headcount.employees + excluded.employees
+                """);
+        return imported;
+    }
+
+    private record CopyLineResult(@Nullable String copyLine, @Nullable String error) {
+    }
+
+    private static final class ErrorCollector {
+
+        private final List<EmployeeImportError> errors = new ArrayList<>();
+        private int rejected;
+
+        void add(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EmployeeImportError(line, message));
+            }
+        }
+
+        EmployeeImportResult toResult(int imported) {
+            errors.sort(Comparator.comparingLong(EmployeeImportError::line));
+            return new EmployeeImportResult(imported, rejected, List.copyOf(errors));
+        }
+    }
+}
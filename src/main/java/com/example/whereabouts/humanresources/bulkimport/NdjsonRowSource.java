@@ -0,0 +1,45 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads newline-delimited JSON, with one object per line. Empty lines are skipped.
+ */
+@NullMarked
+final class NdjsonRowSource implements RowSource {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber = 0;
+
+    NdjsonRowSource(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public @Nullable RawRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (text.isBlank());
+        var json = text;
+        return new RawRow(lineNumber, () -> {
+            var fields = objectMapper.readTree(json);
+            if (!fields.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            return fields;
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import org.jspecify.annotations.NullMarked;
+import tools.jackson.databind.JsonNode;
+
+import java.util.function.Supplier;
+
+/**
+ * A row that has been read from the input, but not parsed yet. Parsing is deferred so that it can be done in parallel.
+ *
+ * @param line   the line of the input on which the row starts.
+ * @param fields parses the fields of the row into an object node. Throws an exception if the row is malformed.
+ */
+@NullMarked
+record RawRow(long line, Supplier<JsonNode> fields) {
+}
@@ -0,0 +1,19 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Reads the rows of an import one at a time, so that the whole input never has to be in memory.
+ */
+@NullMarked
+interface RowSource {
+
+    /**
+     * Returns the next row, or {@code null} if there are no more rows.
+     */
+    @Nullable
+    RawRow next() throws IOException;
+}
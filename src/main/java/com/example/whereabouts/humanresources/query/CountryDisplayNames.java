@@ -0,0 +1,116 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.common.Country;
+import org.jooq.DSLContext;
+import org.jooq.Row4;
+import org.jspecify.annotations.NullMarked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import static com.example.whereabouts.jooq.Tables.COUNTRY_DISPLAY_NAME;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.row;
+
+/**
+ * Maintains the {@code country_display_name} table, which contains the display names of all
+ * {@linkplain Country#isoCountries() ISO countries} in every supported locale. Queries join the table to sort countries
+ * by name in the database.
+ * <p>
+ * The table is refreshed when the application starts, because the display names come from the locale data of the
+ * Java VM and can change when the VM is upgraded.
+ */
+@Component
+@NullMarked
+class CountryDisplayNames implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CountryDisplayNames.class);
+
+    private final DSLContext dsl;
+    private final List<Locale> supportedLocales;
+
+    CountryDisplayNames(DSLContext dsl,
+                        @Value("${whereabouts.country-display-names.locales:en}") List<Locale> supportedLocales) {
+        if (supportedLocales.isEmpty()) {
+            throw new IllegalArgumentException("At least one locale must be supported");
+        }
+        this.dsl = dsl;
+        this.supportedLocales = List.copyOf(supportedLocales);
+    }
+
+    /**
+     * Returns the value of the {@code locale} column to use for the given locale. Falls back to the same language,
+     * and then to the first supported locale.
+     */
+    String localeOf(Locale locale) {
+        for (var supported : supportedLocales) {
+            if (supported.equals(locale)) {
+                return supported.toLanguageTag();
+            }
+        }
+        for (var supported : supportedLocales) {
+            if (supported.getLanguage().equals(locale.getLanguage())) {
+                return supported.toLanguageTag();
+            }
+        }
+        return supportedLocales.getFirst().toLanguageTag();
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        var rowsUpdated = 0;
+        for (var locale : supportedLocales) {
+            rowsUpdated += refresh(locale);
+        }
+        // The names of locales that are no longer supported are not used, and would go stale
+        rowsUpdated += dsl.deleteFrom(COUNTRY_DISPLAY_NAME)
+                .where(COUNTRY_DISPLAY_NAME.LOCALE.notIn(supportedLocales.stream().map(Locale::toLanguageTag).toList()))
+                .execute();
+        if (rowsUpdated > 0) {
+            log.info("Refreshed {} country display name(s)", rowsUpdated);
+        }
+    }
+
+    private int refresh(Locale locale) {
+        var collator = Collator.getInstance(locale);
+        var countries = new ArrayList<>(Country.isoCountries());
+        countries.sort(Comparator.comparing(country -> country.displayName(locale), collator));
+
+        var localeTag = locale.toLanguageTag();
+        var rows = new ArrayList<Row4<String, Country, String, Integer>>(countries.size());
+        for (int i = 0; i < countries.size(); ++i) {
+            var country = countries.get(i);
+            rows.add(row(localeTag, country, country.displayName(locale), i));
+        }
+        var rowsUpdated = dsl.insertInto(COUNTRY_DISPLAY_NAME,
+                        COUNTRY_DISPLAY_NAME.LOCALE,
+                        COUNTRY_DISPLAY_NAME.COUNTRY,
+                        COUNTRY_DISPLAY_NAME.DISPLAY_NAME,
+                        COUNTRY_DISPLAY_NAME.SORT_ORDER)
+                .valuesOfRows(rows)
+                .onConflict(COUNTRY_DISPLAY_NAME.LOCALE, COUNTRY_DISPLAY_NAME.COUNTRY)
+                .doUpdate()
+                .set(COUNTRY_DISPLAY_NAME.DISPLAY_NAME, excluded(COUNTRY_DISPLAY_NAME.DISPLAY_NAME))
+                .set(COUNTRY_DISPLAY_NAME.SORT_ORDER, excluded(COUNTRY_DISPLAY_NAME.SORT_ORDER))
+                .where(COUNTRY_DISPLAY_NAME.DISPLAY_NAME.ne(excluded(COUNTRY_DISPLAY_NAME.DISPLAY_NAME))
+                        .or(COUNTRY_DISPLAY_NAME.SORT_ORDER.ne(excluded(COUNTRY_DISPLAY_NAME.SORT_ORDER))))
+                .execute();
+        // Countries can also disappear from the locale data, and would otherwise keep their old sort order
+        rowsUpdated += dsl.deleteFrom(COUNTRY_DISPLAY_NAME)
+                .where(COUNTRY_DISPLAY_NAME.LOCALE.eq(localeTag))
+                .and(COUNTRY_DISPLAY_NAME.COUNTRY.notIn(countries))
+                .execute();
+        return rowsUpdated;
+    }
+}
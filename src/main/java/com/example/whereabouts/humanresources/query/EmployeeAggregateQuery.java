@@ -0,0 +1,20 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.humanresources.EmployeeAggregate;
+import com.example.whereabouts.humanresources.EmployeeId;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Optional;
+
+/**
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@NullMarked
+public interface EmployeeAggregateQuery {
+
+    /**
+     * Returns the employee with the given ID, together with its employment details and the references to its manager
+     * and location, using a single statement.
+     */
+    Optional<EmployeeAggregate> findById(EmployeeId id);
+}
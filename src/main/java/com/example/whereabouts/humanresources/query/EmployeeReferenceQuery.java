@@ -17,5 +17,12 @@ public interface EmployeeReferenceQuery {
 
     List<EmployeeReference> findByFilter(Pageable pageable, EmployeeFilter filter);
 
+    /**
+     * Returns the page of employees that comes right after the given employee, using keyset pagination. The offset
+     * of the pageable is ignored, only its size and sort order are used. This is considerably faster than
+     * {@link #findByFilter(Pageable, EmployeeFilter)} when paging deep into the result.
+     */
+    List<EmployeeReference> findByFilterAfter(Pageable pageable, EmployeeReference after, EmployeeFilter filter);
+
     Set<EmployeeReference> findByIds(Set<EmployeeId> ids);
 }
@@ -0,0 +1,128 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.humanresources.*;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static com.example.whereabouts.jooq.Tables.*;
+
+/**
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@Component
+@NullMarked
+class JooqEmployeeAggregateQuery implements EmployeeAggregateQuery {
+
+    private static final com.example.whereabouts.jooq.tables.Employee MANAGER = EMPLOYEE.as("manager");
+    private static final com.example.whereabouts.jooq.tables.EmploymentDetails MANAGER_DETAILS = EMPLOYMENT_DETAILS.as("manager_details");
+
+    private final DSLContext dsl;
+
+    JooqEmployeeAggregateQuery(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Override
+    public Optional<EmployeeAggregate> findById(EmployeeId id) {
+        // All the relationships are to-one, so plain joins return a single row
+        return dsl
+                .select(EMPLOYEE.EMPLOYEE_ID,
+                        EMPLOYEE.VERSION,
+                        EMPLOYEE.FIRST_NAME,
+                        EMPLOYEE.MIDDLE_NAME,
+                        EMPLOYEE.LAST_NAME,
+                        EMPLOYEE.PREFERRED_NAME,
+                        EMPLOYEE.BIRTH_DATE,
+                        EMPLOYEE.GENDER,
+                        EMPLOYEE.DIETARY_NOTES,
+                        EMPLOYEE.TIME_ZONE,
+                        EMPLOYEE.HOME_POSTAL_ADDRESS,
+                        EMPLOYEE.WORK_PHONE,
+                        EMPLOYEE.MOBILE_PHONE,
+                        EMPLOYEE.HOME_PHONE,
+                        EMPLOYEE.WORK_EMAIL,
+                        EMPLOYMENT_DETAILS.EMPLOYEE_ID,
+                        EMPLOYMENT_DETAILS.VERSION,
+                        EMPLOYMENT_DETAILS.JOB_TITLE,
+                        EMPLOYMENT_DETAILS.EMPLOYMENT_TYPE,
+                        EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS,
+                        EMPLOYMENT_DETAILS.WORK_ARRANGEMENT,
+                        EMPLOYMENT_DETAILS.LOCATION_ID,
+                        EMPLOYMENT_DETAILS.MANAGER_EMPLOYEE_ID,
+                        EMPLOYMENT_DETAILS.HIRE_DATE,
+                        EMPLOYMENT_DETAILS.TERMINATION_DATE,
+                        LOCATION.NAME,
+                        LOCATION.COUNTRY,
+                        MANAGER.FIRST_NAME,
+                        MANAGER.MIDDLE_NAME,
+                        MANAGER.LAST_NAME,
+                        MANAGER.COUNTRY,
+                        MANAGER_DETAILS.JOB_TITLE
+                )
+                .from(EMPLOYEE)
+                .leftJoin(EMPLOYMENT_DETAILS).on(EMPLOYMENT_DETAILS.EMPLOYEE_ID.eq(EMPLOYEE.EMPLOYEE_ID))
+                .leftJoin(LOCATION).on(LOCATION.LOCATION_ID.eq(EMPLOYMENT_DETAILS.LOCATION_ID))
+                .leftJoin(MANAGER).on(MANAGER.EMPLOYEE_ID.eq(EMPLOYMENT_DETAILS.MANAGER_EMPLOYEE_ID))
+                .leftJoin(MANAGER_DETAILS).on(MANAGER_DETAILS.EMPLOYEE_ID.eq(MANAGER.EMPLOYEE_ID))
+                .where(EMPLOYEE.EMPLOYEE_ID.eq(id))
+                .fetchOptional(this::toEmployeeAggregate);
+    }
+
+    private EmployeeAggregate toEmployeeAggregate(Record record) {
+        var employee = new Employee(
+                record.getValue(EMPLOYEE.EMPLOYEE_ID),
+                record.getValue(EMPLOYEE.VERSION),
+                new EmployeeData(
+                        record.getValue(EMPLOYEE.FIRST_NAME),
+                        record.getValue(EMPLOYEE.MIDDLE_NAME),
+                        record.getValue(EMPLOYEE.LAST_NAME),
+                        record.getValue(EMPLOYEE.PREFERRED_NAME),
+                        record.getValue(EMPLOYEE.BIRTH_DATE),
+                        record.getValue(EMPLOYEE.GENDER),
+                        record.getValue(EMPLOYEE.DIETARY_NOTES),
+                        record.getValue(EMPLOYEE.TIME_ZONE),
+                        record.getValue(EMPLOYEE.HOME_POSTAL_ADDRESS),
+                        record.getValue(EMPLOYEE.WORK_PHONE),
+                        record.getValue(EMPLOYEE.MOBILE_PHONE),
+                        record.getValue(EMPLOYEE.HOME_PHONE),
+                        record.getValue(EMPLOYEE.WORK_EMAIL)
+                )
+        );
+        if (record.getValue(EMPLOYMENT_DETAILS.EMPLOYEE_ID) == null) {
+            return new EmployeeAggregate(employee, null, null, null);
+        }
+        var employmentDetails = new EmploymentDetails(
+                record.getValue(EMPLOYMENT_DETAILS.EMPLOYEE_ID),
+                record.getValue(EMPLOYMENT_DETAILS.VERSION),
+                new EmploymentDetailsData(
+                        record.getValue(EMPLOYMENT_DETAILS.JOB_TITLE),
+                        record.getValue(EMPLOYMENT_DETAILS.EMPLOYMENT_TYPE),
+                        record.getValue(EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS),
+                        record.getValue(EMPLOYMENT_DETAILS.WORK_ARRANGEMENT),
+                        record.getValue(EMPLOYMENT_DETAILS.LOCATION_ID),
+                        record.getValue(EMPLOYMENT_DETAILS.MANAGER_EMPLOYEE_ID),
+                        record.getValue(EMPLOYMENT_DETAILS.HIRE_DATE),
+                        record.getValue(EMPLOYMENT_DETAILS.TERMINATION_DATE)
+                )
+        );
+        var managerId = employmentDetails.data().manager();
+        var manager = managerId == null ? null : new EmployeeReference(
+                managerId,
+                record.getValue(MANAGER.FIRST_NAME),
+                record.getValue(MANAGER.MIDDLE_NAME),
+                record.getValue(MANAGER.LAST_NAME),
+                record.getValue(MANAGER.COUNTRY),
+                record.getValue(MANAGER_DETAILS.JOB_TITLE)
+        );
+        var location = new LocationReference(
+                employmentDetails.data().location(),
+                record.getValue(LOCATION.NAME),
+                record.getValue(LOCATION.COUNTRY)
+        );
+        return new EmployeeAggregate(employee, employmentDetails, manager, location);
+    }
+}
@@ -5,13 +5,15 @@ import com.example.whereabouts.humanresources.EmployeeFilter;
 import com.example.whereabouts.humanresources.EmployeeId;
 import com.example.whereabouts.humanresources.EmployeeReference;
 import com.example.whereabouts.humanresources.EmployeeSortableProperty;
+import com.example.whereabouts.jooq.support.SearchConditions;
 import org.jooq.*;
-import org.jooq.impl.DSL;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -35,25 +37,34 @@ class JooqEmployeeReferenceQuery implements EmployeeReferenceQuery {
 
     @Override
     public List<EmployeeReference> findByFilter(Pageable pageable, EmployeeFilter filter) {
-        Condition condition = DSL.trueCondition();
-        if (filter.searchTerm() != null && !filter.searchTerm().isBlank()) {
-            // TODO Should the search term be split by spaces and used individually?
-            //  Searching for a first and last name would now result in no hits.
-            condition = condition.and(EMPLOYEE.FIRST_NAME.containsIgnoreCase(filter.searchTerm())
-                    .or(EMPLOYEE.LAST_NAME.containsIgnoreCase(filter.searchTerm())));
-        }
+        return selectEmployee()
+                .where(toCondition(filter))
+                .orderBy(toOrderFields(pageable.getSortOr(DEFAULT_SORT)))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch(Records.mapping(EmployeeReference::new));
+    }
+
+    @Override
+    public List<EmployeeReference> findByFilterAfter(Pageable pageable, EmployeeReference after, EmployeeFilter filter) {
+        var sort = pageable.getSortOr(DEFAULT_SORT);
+        return selectEmployee()
+                .where(toCondition(filter))
+                .orderBy(toOrderFields(sort))
+                .seekAfter(toSeekValues(sort, after))
+                .limit(pageable.getPageSize())
+                .fetch(Records.mapping(EmployeeReference::new));
+    }
+
+    private Condition toCondition(EmployeeFilter filter) {
+        var condition = SearchConditions.containsAllTokens(filter.searchTerm(), EMPLOYEE.FIRST_NAME, EMPLOYEE.LAST_NAME);
         if (!filter.statuses().isEmpty()) {
             condition = condition.and(EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS.in(filter.statuses()));
         }
         if (!filter.types().isEmpty()) {
             condition = condition.and(EMPLOYMENT_DETAILS.EMPLOYMENT_TYPE.in(filter.types()));
         }
-        return selectEmployee()
-                .where(condition)
-                .orderBy(toOrderFields(pageable.getSortOr(DEFAULT_SORT)))
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch(Records.mapping(EmployeeReference::new));
+        return condition;
     }
 
     @Override
@@ -76,7 +87,22 @@ class JooqEmployeeReferenceQuery implements EmployeeReferenceQuery {
     }
 
     private List<? extends OrderField<?>> toOrderFields(Sort sort) {
-        return sort.stream().map(this::toOrderField).toList();
+        var orderFields = new ArrayList<OrderField<?>>();
+        sort.forEach(order -> orderFields.add(toOrderField(order)));
+        // The employee ID is used as a tiebreaker, to make the order stable. Keyset pagination relies on this.
+        var lastOrder = sort.stream().reduce((first, second) -> second);
+        orderFields.add(lastOrder.isEmpty() || lastOrder.get().isAscending() ? EMPLOYEE.EMPLOYEE_ID.asc() : EMPLOYEE.EMPLOYEE_ID.desc());
+        return orderFields;
+    }
+
+    private Object[] toSeekValues(Sort sort, EmployeeReference after) {
+        var values = new ArrayList<@Nullable Object>();
+        sort.forEach(order -> values.add(switch (EmployeeSortableProperty.valueOf(order.getProperty())) {
+            case FIRST_NAME -> after.firstName();
+            case LAST_NAME -> after.lastName();
+        }));
+        values.add(after.id());
+        return values.toArray();
     }
 
     private OrderField<?> toOrderField(Sort.Order order) {
@@ -4,19 +4,22 @@ import com.example.whereabouts.common.Country;
 import com.example.whereabouts.common.address.PostalAddress;
 import com.example.whereabouts.humanresources.*;
 import org.jooq.*;
+import org.jooq.impl.SQLDataType;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
-import static com.example.whereabouts.jooq.Tables.EMPLOYMENT_DETAILS;
+import static com.example.whereabouts.jooq.Tables.COUNTRY_DISPLAY_NAME;
 import static com.example.whereabouts.jooq.Tables.LOCATION;
+import static com.example.whereabouts.jooq.Tables.LOCATION_HEADCOUNT;
 import static java.util.Objects.requireNonNull;
-import static org.jooq.impl.DSL.count;
-import static org.jooq.impl.DSL.countDistinct;
+import static org.jooq.impl.DSL.*;
 
 /**
  * @see "Design Decision: DD009-20251029-jooq-user-types.md"
@@ -25,13 +28,16 @@ import static org.jooq.impl.DSL.countDistinct;
 @NullMarked
 class JooqLocationTreeNodeQuery implements LocationTreeNodeQuery {
 
-    private static final Field<Integer> EMPLOYEES = count(EMPLOYMENT_DETAILS.EMPLOYEE_ID);
+    private static final Field<Integer> LOCATION_EMPLOYEES = coalesce(LOCATION_HEADCOUNT.EMPLOYEES, 0);
+    private static final Field<Integer> COUNTRY_EMPLOYEES = sum(LOCATION_EMPLOYEES).cast(SQLDataType.INTEGER);
     private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, LocationSortableProperty.NAME.name());
 
     private final DSLContext dsl;
+    private final CountryDisplayNames countryDisplayNames;
 
-    JooqLocationTreeNodeQuery(DSLContext dsl) {
+    JooqLocationTreeNodeQuery(DSLContext dsl, CountryDisplayNames countryDisplayNames) {
         this.dsl = dsl;
+        this.countryDisplayNames = countryDisplayNames;
     }
 
     @Override
@@ -47,26 +53,31 @@ class JooqLocationTreeNodeQuery implements LocationTreeNodeQuery {
     }
 
     @Override
-    public List<LocationTreeNode> findCountries(Pageable pageable) {
+    public List<LocationTreeNode> findCountries(Locale displayIn, Pageable pageable) {
+        var localeTag = countryDisplayNames.localeOf(displayIn);
         return dsl.select(
                         LOCATION.COUNTRY,
-                        EMPLOYEES
+                        COUNTRY_DISPLAY_NAME.DISPLAY_NAME,
+                        COUNTRY_EMPLOYEES
                 )
                 .from(LOCATION)
-                .leftJoin(EMPLOYMENT_DETAILS).on(EMPLOYMENT_DETAILS.LOCATION_ID.eq(LOCATION.LOCATION_ID)
-                        .and(EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS.eq(EmploymentStatus.ACTIVE)))
-                .groupBy(LOCATION.COUNTRY)
+                .leftJoin(LOCATION_HEADCOUNT).on(LOCATION_HEADCOUNT.LOCATION_ID.eq(LOCATION.LOCATION_ID))
+                .leftJoin(COUNTRY_DISPLAY_NAME).on(COUNTRY_DISPLAY_NAME.COUNTRY.eq(LOCATION.COUNTRY)
+                        .and(COUNTRY_DISPLAY_NAME.LOCALE.eq(localeTag)))
+                .groupBy(LOCATION.COUNTRY, COUNTRY_DISPLAY_NAME.DISPLAY_NAME, COUNTRY_DISPLAY_NAME.SORT_ORDER)
                 .orderBy(toCountryNodeOrderFields(pageable.getSortOr(DEFAULT_SORT)))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .fetch(Records.mapping(LocationTreeNode.CountryNode::new));
+                .fetch(Records.mapping((country, displayName, employees) -> new LocationTreeNode.CountryNode(country,
+                        // Countries that are not ISO countries have no display name in the table
+                        displayName != null ? displayName : country.displayName(Locale.forLanguageTag(localeTag)),
+                        employees)));
     }
 
     @Override
     public List<LocationTreeNode> findLocations(Country country, Pageable pageable) {
         return selectLocation()
                 .where(LOCATION.COUNTRY.eq(country))
-                .groupBy(LOCATION.LOCATION_ID)
                 .orderBy(toLocationNodeOrderFields(pageable.getSortOr(DEFAULT_SORT)))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
@@ -77,7 +88,6 @@ class JooqLocationTreeNodeQuery implements LocationTreeNodeQuery {
     public Optional<LocationTreeNode.LocationNode> findLocationById(LocationId id) {
         return selectLocation()
                 .where(LOCATION.LOCATION_ID.eq(id))
-                .groupBy(LOCATION.LOCATION_ID)
                 .fetchOptional(Records.mapping(LocationTreeNode.LocationNode::new));
     }
 
@@ -85,12 +95,11 @@ class JooqLocationTreeNodeQuery implements LocationTreeNodeQuery {
         return dsl.select(
                         LOCATION.LOCATION_ID,
                         LOCATION.NAME,
-                        EMPLOYEES,
+                        LOCATION_EMPLOYEES,
                         LOCATION.LOCATION_TYPE,
                         LOCATION.POSTAL_ADDRESS)
                 .from(LOCATION)
-                .leftJoin(EMPLOYMENT_DETAILS).on(EMPLOYMENT_DETAILS.LOCATION_ID.eq(LOCATION.LOCATION_ID)
-                        .and(EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS.eq(EmploymentStatus.ACTIVE)));
+                .leftJoin(LOCATION_HEADCOUNT).on(LOCATION_HEADCOUNT.LOCATION_ID.eq(LOCATION.LOCATION_ID));
     }
 
     private List<? extends OrderField<?>> toLocationNodeOrderFields(Sort sort) {
@@ -102,20 +111,24 @@ class JooqLocationTreeNodeQuery implements LocationTreeNodeQuery {
         return switch (property) {
             case NAME -> order.isAscending() ? LOCATION.NAME.asc() : LOCATION.NAME.desc();
             case LOCATION_TYPE -> order.isAscending() ? LOCATION.LOCATION_TYPE.asc() : LOCATION.LOCATION_TYPE.desc();
-            case EMPLOYEES -> order.isAscending() ? EMPLOYEES.asc() : EMPLOYEES.desc();
+            case EMPLOYEES -> order.isAscending() ? LOCATION_EMPLOYEES.asc() : LOCATION_EMPLOYEES.desc();
         };
     }
 
     private List<? extends OrderField<?>> toCountryNodeOrderFields(Sort sort) {
-        return sort.stream().map(this::toCountryNodeOrderField).toList();
+        var orderFields = new ArrayList<OrderField<?>>();
+        sort.forEach(order -> orderFields.addAll(toCountryNodeOrderField(order)));
+        return orderFields;
     }
 
-    private OrderField<?> toCountryNodeOrderField(Sort.Order order) {
+    private List<OrderField<?>> toCountryNodeOrderField(Sort.Order order) {
         var property = LocationSortableProperty.valueOf(order.getProperty());
         return switch (property) {
-            case NAME, LOCATION_TYPE ->
-                    order.isAscending() ? LOCATION.COUNTRY.asc() : LOCATION.COUNTRY.desc(); // TODO This sorts by ISO code, not by display name. It will look wrong in the UI.
-            case EMPLOYEES -> order.isAscending() ? EMPLOYEES.asc() : EMPLOYEES.desc();
+            // Countries without a display name (not ISO countries) go last, sorted by code
+            case NAME, LOCATION_TYPE -> order.isAscending()
+                    ? List.of(COUNTRY_DISPLAY_NAME.SORT_ORDER.asc().nullsLast(), LOCATION.COUNTRY.asc())
+                    : List.of(COUNTRY_DISPLAY_NAME.SORT_ORDER.desc().nullsLast(), LOCATION.COUNTRY.desc());
+            case EMPLOYEES -> List.of(order.isAscending() ? COUNTRY_EMPLOYEES.asc() : COUNTRY_EMPLOYEES.desc());
         };
     }
 }
@@ -0,0 +1,92 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.humanresources.EmployeeReference;
+import com.example.whereabouts.humanresources.ReportingLineMember;
+import org.jooq.*;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.example.whereabouts.jooq.Tables.EMPLOYEE;
+import static com.example.whereabouts.jooq.Tables.EMPLOYEE_HIERARCHY;
+import static com.example.whereabouts.jooq.Tables.EMPLOYMENT_DETAILS;
+
+/**
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@Component
+@NullMarked
+class JooqReportingLineQuery implements ReportingLineQuery {
+
+    private final DSLContext dsl;
+
+    JooqReportingLineQuery(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Override
+    public List<ReportingLineMember> findDirectReports(EmployeeId manager) {
+        return selectMembers(EMPLOYEE_HIERARCHY.DESCENDANT_EMPLOYEE_ID)
+                .where(EMPLOYEE_HIERARCHY.ANCESTOR_EMPLOYEE_ID.eq(manager))
+                .and(EMPLOYEE_HIERARCHY.DEPTH.eq(1))
+                .orderBy(EMPLOYEE.LAST_NAME, EMPLOYEE.FIRST_NAME, EMPLOYEE.EMPLOYEE_ID)
+                .fetch(JooqReportingLineQuery::toMember);
+    }
+
+    @Override
+    public List<ReportingLineMember> findAllReports(EmployeeId manager, Pageable pageable) {
+        return selectMembers(EMPLOYEE_HIERARCHY.DESCENDANT_EMPLOYEE_ID)
+                .where(EMPLOYEE_HIERARCHY.ANCESTOR_EMPLOYEE_ID.eq(manager))
+                .orderBy(EMPLOYEE_HIERARCHY.DEPTH, EMPLOYEE.LAST_NAME, EMPLOYEE.FIRST_NAME, EMPLOYEE.EMPLOYEE_ID)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch(JooqReportingLineQuery::toMember);
+    }
+
+    @Override
+    public int countAllReports(EmployeeId manager) {
+        return dsl.fetchCount(EMPLOYEE_HIERARCHY, EMPLOYEE_HIERARCHY.ANCESTOR_EMPLOYEE_ID.eq(manager));
+    }
+
+    @Override
+    public List<ReportingLineMember> findChainOfCommand(EmployeeId employee) {
+        return selectMembers(EMPLOYEE_HIERARCHY.ANCESTOR_EMPLOYEE_ID)
+                .where(EMPLOYEE_HIERARCHY.DESCENDANT_EMPLOYEE_ID.eq(employee))
+                .orderBy(EMPLOYEE_HIERARCHY.DEPTH)
+                .fetch(JooqReportingLineQuery::toMember);
+    }
+
+    /**
+     * Selects the members joined to the closure table through the given column, which is the ancestor when looking
+     * up the reporting line and the descendant when looking down it.
+     */
+    private SelectOnConditionStep<Record7<EmployeeId, String, String, String, Country, String, Integer>> selectMembers(
+            Field<EmployeeId> member) {
+        return dsl.select(
+                        EMPLOYEE.EMPLOYEE_ID,
+                        EMPLOYEE.FIRST_NAME,
+                        EMPLOYEE.MIDDLE_NAME,
+                        EMPLOYEE.LAST_NAME,
+                        EMPLOYEE.COUNTRY,
+                        EMPLOYMENT_DETAILS.JOB_TITLE,
+                        EMPLOYEE_HIERARCHY.DEPTH)
+                .from(EMPLOYEE_HIERARCHY)
+                .join(EMPLOYEE).on(EMPLOYEE.EMPLOYEE_ID.eq(member))
+                .leftJoin(EMPLOYMENT_DETAILS).on(EMPLOYMENT_DETAILS.EMPLOYEE_ID.eq(EMPLOYEE.EMPLOYEE_ID));
+    }
+
+    private static ReportingLineMember toMember(Record7<EmployeeId, String, String, String, Country, String, Integer> record) {
+        return new ReportingLineMember(new EmployeeReference(
+                record.value1(),
+                record.value2(),
+                record.value3(),
+                record.value4(),
+                record.value5(),
+                record.value6()
+        ), record.value7());
+    }
+}
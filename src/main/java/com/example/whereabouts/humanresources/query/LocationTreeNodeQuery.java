@@ -7,6 +7,7 @@ import org.jspecify.annotations.NullMarked;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -18,7 +19,11 @@ public interface LocationTreeNodeQuery {
 
     int countLocationsInCountry(Country country);
 
-    List<LocationTreeNode> findCountries(Pageable pageable);
+    /**
+     * Finds the countries that have locations. The display names of the countries are in the given locale, or the
+     * closest supported one, and the countries are sorted by them when sorted by name.
+     */
+    List<LocationTreeNode> findCountries(Locale displayIn, Pageable pageable);
 
     List<LocationTreeNode> findLocations(Country country, Pageable pageable);
 
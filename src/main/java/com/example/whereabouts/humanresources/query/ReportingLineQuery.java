@@ -0,0 +1,40 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.humanresources.ReportingLineMember;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Queries the reporting lines formed by the managers of employees. Every method is answered by a single index lookup
+ * in the {@code employee_hierarchy} closure table, regardless of how large or deep the organization is.
+ *
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@NullMarked
+public interface ReportingLineQuery {
+
+    /**
+     * Finds the employees that report directly to the given manager, sorted by name.
+     */
+    List<ReportingLineMember> findDirectReports(EmployeeId manager);
+
+    /**
+     * Finds all employees that report to the given manager, directly or indirectly. The employees are sorted by depth,
+     * and then by name. The sort order of the pageable is ignored.
+     */
+    List<ReportingLineMember> findAllReports(EmployeeId manager, Pageable pageable);
+
+    /**
+     * Counts all employees that report to the given manager, directly or indirectly (the span of control).
+     */
+    int countAllReports(EmployeeId manager);
+
+    /**
+     * Finds the managers above the given employee, starting with the direct manager and ending with the top of the
+     * organization.
+     */
+    List<ReportingLineMember> findChainOfCommand(EmployeeId employee);
+}
@@ -0,0 +1,162 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.datasource.ReadRouting;
+import com.example.whereabouts.humanresources.LocationChangedEvent;
+import com.example.whereabouts.humanresources.LocationId;
+import com.example.whereabouts.humanresources.LocationReference;
+import com.example.whereabouts.jooq.changefeed.EntityChange;
+import com.example.whereabouts.jooq.changefeed.EntityChangeListener;
+import com.example.whereabouts.jooq.support.SearchConditions;
+import org.jooq.*;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.whereabouts.jooq.Tables.LOCATION;
+
+/**
+ * Implementation of {@link LocationReferenceQuery} that keeps an immutable snapshot of all location references in
+ * memory. There are not that many locations, and they are rarely changed, but they are looked up all the time.
+ * <p>
+ * The snapshot is thrown away whenever a {@link LocationChangedEvent} is committed, or the change feed announces a
+ * location change made by another application node, and reloaded from the primary database on the next lookup.
+ * Lookups made by read-write transactions always read from the database, as they may need to see their own changes.
+ *
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@Component
+@NullMarked
+class SnapshotLocationReferenceQuery implements LocationReferenceQuery, EntityChangeListener {
+
+    private final DSLContext dsl;
+    private final AtomicReference<@Nullable Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    SnapshotLocationReferenceQuery(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Override
+    public List<LocationReference> findBySearchTerm(Pageable pageable, @Nullable String searchTerm) {
+        var tokens = SearchConditions.tokenize(searchTerm).stream().map(token -> token.toLowerCase(Locale.ROOT)).toList();
+        var matches = getSnapshot().entries().stream()
+                .filter(entry -> entry.matches(tokens))
+                .map(Entry::reference);
+        if (pageable.isPaged()) {
+            matches = matches.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return matches.toList();
+    }
+
+    @Override
+    public Set<LocationReference> findByIds(Set<LocationId> ids) {
+        var byId = getSnapshot().byId();
+        var result = new HashSet<LocationReference>();
+        for (var id : ids) {
+            var reference = byId.get(id);
+            if (reference != null) {
+                result.add(reference);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener
+    void onLocationChanged(LocationChangedEvent event) {
+        invalidateSnapshot();
+    }
+
+    @Override
+    public void onEntityChanged(EntityChange change) {
+        if (change.isAbout(LOCATION)) {
+            invalidateSnapshot();
+        }
+    }
+
+    @Override
+    public void onChangesMissed() {
+        invalidateSnapshot();
+    }
+
+    private synchronized void invalidateSnapshot() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    private Snapshot getSnapshot() {
+        if (!isCacheable()) {
+            return loadSnapshot();
+        }
+        var current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        // If the locations change while we are loading, the loaded snapshot may already be out of date and must not
+        // be installed. The same applies to a snapshot read from a replica that may not have caught up with the
+        // latest change.
+        var generationBeforeLoad = generation.get();
+        var loaded = ReadRouting.onPrimary(this::loadSnapshot);
+        synchronized (this) {
+            if (generation.get() == generationBeforeLoad && !ReadRouting.isOnReplica()) {
+                snapshot.set(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private static boolean isCacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+               || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private Snapshot loadSnapshot() {
+        var references = selectLocation()
+                .orderBy(LOCATION.NAME)
+                .fetch(Records.mapping(LocationReference::new));
+        return new Snapshot(
+                references.stream().map(Entry::new).toList(),
+                references.stream().collect(Collectors.toUnmodifiableMap(LocationReference::id, Function.identity()))
+        );
+    }
+
+    private SelectJoinStep<Record3<LocationId, String, Country>> selectLocation() {
+        return dsl.select(
+                        LOCATION.LOCATION_ID,
+                        LOCATION.NAME,
+                        LOCATION.COUNTRY)
+                .from(LOCATION);
+    }
+
+    /**
+     * @param entries the locations, sorted by name.
+     * @param byId    the locations, by ID.
+     */
+    private record Snapshot(List<Entry> entries, Map<LocationId, LocationReference> byId) {
+    }
+
+    private record Entry(LocationReference reference, String searchKey) {
+
+        Entry(LocationReference reference) {
+            this(reference, reference.name().toLowerCase(Locale.ROOT));
+        }
+
+        boolean matches(List<String> tokens) {
+            for (var token : tokens) {
+                if (!searchKey.contains(token)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.common.cache.EntityCache;
+import com.example.whereabouts.common.cache.EntityCacheFactory;
+import com.example.whereabouts.humanresources.Employee;
+import com.example.whereabouts.humanresources.EmployeeData;
+import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.jooq.changefeed.EntityChange;
+import com.example.whereabouts.jooq.changefeed.EntityChangeListener;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static com.example.whereabouts.jooq.Tables.EMPLOYEE;
+
+/**
+ * Decorator of {@link JooqEmployeeRepository} that caches {@link Employee}s by ID. Changes made by other
+ * application nodes are picked up from the change feed.
+ *
+ * @see EntityCache
+ */
+@Primary
+@Component
+@NullMarked
+class CachingEmployeeRepository implements EmployeeRepository, EntityChangeListener {
+
+    private final EmployeeRepository delegate;
+    private final EntityCache<EmployeeId, Employee> cache;
+
+    CachingEmployeeRepository(JooqEmployeeRepository delegate, EntityCacheFactory cacheFactory) {
+        this.delegate = delegate;
+        this.cache = cacheFactory.create("employee", Employee::version);
+    }
+
+    @Override
+    public Optional<Employee> findById(EmployeeId id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public EmployeeId insert(EmployeeData data) {
+        return delegate.insert(data);
+    }
+
+    @Override
+    public Employee update(Employee employee) {
+        var updated = delegate.update(employee);
+        cache.updated(updated);
+        return updated;
+    }
+
+    @Override
+    public void onEntityChanged(EntityChange change) {
+        if (change.isAbout(EMPLOYEE)) {
+            cache.invalidate(new EmployeeId(change.id()), change.version());
+        }
+    }
+
+    @Override
+    public void onChangesMissed() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.common.cache.EntityCache;
+import com.example.whereabouts.common.cache.EntityCacheFactory;
+import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.humanresources.EmploymentDetails;
+import com.example.whereabouts.humanresources.EmploymentDetailsData;
+import com.example.whereabouts.jooq.changefeed.EntityChange;
+import com.example.whereabouts.jooq.changefeed.EntityChangeListener;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static com.example.whereabouts.jooq.Tables.EMPLOYMENT_DETAILS;
+
+/**
+ * Decorator of {@link JooqEmploymentDetailsRepository} that caches {@link EmploymentDetails}s by ID. Changes made by other
+ * application nodes are picked up from the change feed.
+ *
+ * @see EntityCache
+ */
+@Primary
+@Component
+@NullMarked
+class CachingEmploymentDetailsRepository implements EmploymentDetailsRepository, EntityChangeListener {
+
+    private final EmploymentDetailsRepository delegate;
+    private final EntityCache<EmployeeId, EmploymentDetails> cache;
+
+    CachingEmploymentDetailsRepository(JooqEmploymentDetailsRepository delegate, EntityCacheFactory cacheFactory) {
+        this.delegate = delegate;
+        this.cache = cacheFactory.create("employment-details", EmploymentDetails::version);
+    }
+
+    @Override
+    public Optional<EmploymentDetails> findById(EmployeeId id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public EmploymentDetails insert(EmployeeId id, EmploymentDetailsData data) {
+        return delegate.insert(id, data);
+    }
+
+    @Override
+    public EmploymentDetails update(EmploymentDetails employmentDetails) {
+        var updated = delegate.update(employmentDetails);
+        cache.updated(updated);
+        return updated;
+    }
+
+    @Override
+    public void onEntityChanged(EntityChange change) {
+        if (change.isAbout(EMPLOYMENT_DETAILS)) {
+            cache.invalidate(new EmployeeId(change.id()), change.version());
+        }
+    }
+
+    @Override
+    public void onChangesMissed() {
+        cache.invalidateAll();
+    }
+}
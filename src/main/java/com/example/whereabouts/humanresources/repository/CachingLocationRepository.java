@@ -0,0 +1,65 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.common.cache.EntityCache;
+import com.example.whereabouts.common.cache.EntityCacheFactory;
+import com.example.whereabouts.humanresources.Location;
+import com.example.whereabouts.humanresources.LocationData;
+import com.example.whereabouts.humanresources.LocationId;
+import com.example.whereabouts.jooq.changefeed.EntityChange;
+import com.example.whereabouts.jooq.changefeed.EntityChangeListener;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static com.example.whereabouts.jooq.Tables.LOCATION;
+
+/**
+ * Decorator of {@link JooqLocationRepository} that caches {@link Location}s by ID. Changes made by other
+ * application nodes are picked up from the change feed.
+ *
+ * @see EntityCache
+ */
+@Primary
+@Component
+@NullMarked
+class CachingLocationRepository implements LocationRepository, EntityChangeListener {
+
+    private final LocationRepository delegate;
+    private final EntityCache<LocationId, Location> cache;
+
+    CachingLocationRepository(JooqLocationRepository delegate, EntityCacheFactory cacheFactory) {
+        this.delegate = delegate;
+        this.cache = cacheFactory.create("location", Location::version);
+    }
+
+    @Override
+    public Optional<Location> findById(LocationId id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public LocationId insert(LocationData data) {
+        return delegate.insert(data);
+    }
+
+    @Override
+    public Location update(Location location) {
+        var updated = delegate.update(location);
+        cache.updated(updated);
+        return updated;
+    }
+
+    @Override
+    public void onEntityChanged(EntityChange change) {
+        if (change.isAbout(LOCATION)) {
+            cache.invalidate(new LocationId(change.id()), change.version());
+        }
+    }
+
+    @Override
+    public void onChangesMissed() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.common.Repository;
+import com.example.whereabouts.humanresources.EmployeeId;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps track of which picture in the {@link com.example.whereabouts.common.picture.PictureStore} belongs to which
+ * employee.
+ *
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@NullMarked
+public interface EmployeePictureRepository extends Repository {
+
+    Optional<String> findPictureHash(EmployeeId id);
+
+    /**
+     * Finds the picture hashes of all the given employees in one go. Employees without pictures are not included in
+     * the result.
+     */
+    Map<EmployeeId, String> findPictureHashes(Collection<EmployeeId> ids);
+
+    void save(EmployeeId id, String pictureHash);
+
+    void delete(EmployeeId id);
+}
@@ -0,0 +1,67 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.humanresources.EmployeeId;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.example.whereabouts.jooq.Tables.EMPLOYEE_PICTURE;
+
+/**
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@Component
+@NullMarked
+class JooqEmployeePictureRepository implements EmployeePictureRepository {
+
+    private final DSLContext dsl;
+
+    JooqEmployeePictureRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Override
+    public Optional<String> findPictureHash(EmployeeId id) {
+        return dsl.select(EMPLOYEE_PICTURE.PICTURE_HASH)
+                .from(EMPLOYEE_PICTURE)
+                .where(EMPLOYEE_PICTURE.EMPLOYEE_ID.eq(id))
+                .fetchOptional(EMPLOYEE_PICTURE.PICTURE_HASH);
+    }
+
+    @Override
+    public Map<EmployeeId, String> findPictureHashes(Collection<EmployeeId> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return dsl.select(EMPLOYEE_PICTURE.EMPLOYEE_ID, EMPLOYEE_PICTURE.PICTURE_HASH)
+                .from(EMPLOYEE_PICTURE)
+                .where(EMPLOYEE_PICTURE.EMPLOYEE_ID.in(ids))
+                .fetchMap(EMPLOYEE_PICTURE.EMPLOYEE_ID, EMPLOYEE_PICTURE.PICTURE_HASH);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void save(EmployeeId id, String pictureHash) {
+        dsl.insertInto(EMPLOYEE_PICTURE)
+                .set(EMPLOYEE_PICTURE.EMPLOYEE_ID, id)
+                .set(EMPLOYEE_PICTURE.PICTURE_HASH, pictureHash)
+                .onConflict(EMPLOYEE_PICTURE.EMPLOYEE_ID)
+                .doUpdate()
+                .set(EMPLOYEE_PICTURE.PICTURE_HASH, pictureHash)
+                .execute();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void delete(EmployeeId id) {
+        dsl.deleteFrom(EMPLOYEE_PICTURE)
+                .where(EMPLOYEE_PICTURE.EMPLOYEE_ID.eq(id))
+                .execute();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.whereabouts.humanresources.repository;
 import com.example.whereabouts.humanresources.Employee;
 import com.example.whereabouts.humanresources.EmployeeData;
 import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.jooq.support.SequenceIdAllocator;
 import org.jooq.DSLContext;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.dao.OptimisticLockingFailureException;
@@ -23,9 +24,11 @@ import static com.example.whereabouts.jooq.Tables.EMPLOYEE;
 class JooqEmployeeRepository implements EmployeeRepository {
 
     private final DSLContext dsl;
+    private final SequenceIdAllocator ids;
 
     JooqEmployeeRepository(DSLContext dsl) {
         this.dsl = dsl;
+        this.ids = new SequenceIdAllocator(dsl, EMPLOYEE_ID_SEQ);
     }
 
     @Override
@@ -73,7 +76,7 @@ class JooqEmployeeRepository implements EmployeeRepository {
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public EmployeeId insert(EmployeeData employeeData) {
-        var id = new EmployeeId(dsl.nextval(EMPLOYEE_ID_SEQ));
+        var id = new EmployeeId(ids.nextId());
         dsl.insertInto(EMPLOYEE)
                 .set(EMPLOYEE.EMPLOYEE_ID, id)
                 .set(EMPLOYEE.VERSION, 1L)
@@ -3,16 +3,29 @@ package com.example.whereabouts.humanresources.repository;
 import com.example.whereabouts.humanresources.EmployeeId;
 import com.example.whereabouts.humanresources.EmploymentDetails;
 import com.example.whereabouts.humanresources.EmploymentDetailsData;
+import com.example.whereabouts.humanresources.EmploymentStatus;
+import com.example.whereabouts.humanresources.LocationId;
 import org.jooq.DSLContext;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 
+import static com.example.whereabouts.jooq.Tables.EMPLOYEE_HIERARCHY;
 import static com.example.whereabouts.jooq.Tables.EMPLOYMENT_DETAILS;
+import static com.example.whereabouts.jooq.Tables.LOCATION_HEADCOUNT;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.select;
+import static org.jooq.impl.DSL.val;
 
 /**
  * @see "Design Decision: DD009-20251029-jooq-user-types.md"
@@ -73,12 +86,36 @@ class JooqEmploymentDetailsRepository implements EmploymentDetailsRepository {
                 .set(EMPLOYMENT_DETAILS.HIRE_DATE, data.hireDate())
                 .set(EMPLOYMENT_DETAILS.TERMINATION_DATE, data.terminationDate())
                 .execute();
+        if (data.status() == EmploymentStatus.ACTIVE) {
+            adjustHeadcounts(Map.of(data.location(), 1));
+        }
+        if (data.manager() != null) {
+            // The employee may already have reports, if their details were inserted before the employee's own
+            changeManager(id, null, data.manager());
+        }
         return new EmploymentDetails(id, 1L, data);
     }
 
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public @NonNull EmploymentDetails update(@NonNull EmploymentDetails employmentDetails) {
+        // Lock the row so that the headcount deltas and the reporting line changes are computed from the values that are
+        // actually being replaced.
+        var old = dsl.select(EMPLOYMENT_DETAILS.LOCATION_ID, EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS,
+                        EMPLOYMENT_DETAILS.MANAGER_EMPLOYEE_ID)
+                .from(EMPLOYMENT_DETAILS)
+                .where(EMPLOYMENT_DETAILS.EMPLOYEE_ID.eq(employmentDetails.id()))
+                .and(EMPLOYMENT_DETAILS.VERSION.eq(employmentDetails.version()))
+                .forUpdate()
+                .fetchOne();
+        if (old == null) {
+            throw new OptimisticLockingFailureException("Employment was modified by another user");
+        }
+        // Change the reporting line first, so that nothing is updated if it would form a cycle
+        if (!Objects.equals(old.value3(), employmentDetails.data().manager())) {
+            changeManager(employmentDetails.id(), old.value3(), employmentDetails.data().manager());
+        }
+
         var newVersion = employmentDetails.version() + 1;
         var rowsUpdated = dsl.update(EMPLOYMENT_DETAILS)
                 .set(EMPLOYMENT_DETAILS.VERSION, newVersion)
@@ -98,6 +135,94 @@ class JooqEmploymentDetailsRepository implements EmploymentDetailsRepository {
             throw new OptimisticLockingFailureException("Employment was modified by another user");
         }
 
+        var deltas = new TreeMap<LocationId, Integer>(Comparator.comparingLong(LocationId::value));
+        if (old.value2() == EmploymentStatus.ACTIVE) {
+            deltas.merge(old.value1(), -1, Integer::sum);
+        }
+        if (employmentDetails.data().status() == EmploymentStatus.ACTIVE) {
+            deltas.merge(employmentDetails.data().location(), 1, Integer::sum);
+        }
+        adjustHeadcounts(deltas);
+
         return new EmploymentDetails(employmentDetails.id(), newVersion, employmentDetails.data());
     }
+
+    /**
+     * Moves the given employee, together with everyone reporting to them, from under the old manager to under the new
+     * manager in the {@code employee_hierarchy} closure table.
+     * <p>
+     * This locks the whole closure table until the transaction ends, which also happens whenever employment details
+     * are inserted with a manager. The lock is intentional: cycles can only be ruled out by looking at the reporting
+     * lines as a whole, and reporting lines change rarely enough for the changes to be made one at a time. Reads of
+     * the closure table are not blocked. {@code EmployeeImporter} takes the same lock.
+     *
+     * @throws DataIntegrityViolationException if the new manager is the employee or reports to the employee
+     */
+    private void changeManager(EmployeeId employee, @Nullable EmployeeId oldManager, @Nullable EmployeeId newManager) {
+        // Only one transaction at a time may change the reporting lines. Otherwise, two transactions could each check
+        // that their change does not form a cycle, and form one together.
+        dsl.execute("lock table {0} in share row exclusive mode", EMPLOYEE_HIERARCHY);
+
+        if (newManager != null && (newManager.equals(employee) || dsl.fetchExists(EMPLOYEE_HIERARCHY,
+                EMPLOYEE_HIERARCHY.ANCESTOR_EMPLOYEE_ID.eq(employee)
+                        .and(EMPLOYEE_HIERARCHY.DESCENDANT_EMPLOYEE_ID.eq(newManager))))) {
+            throw new DataIntegrityViolationException("An employee cannot report to themselves or to their own reports");
+        }
+
+        var h = EMPLOYEE_HIERARCHY.as("h");
+        if (oldManager != null) {
+            // Everything above the employee loses everything below (and including) the employee
+            dsl.deleteFrom(EMPLOYEE_HIERARCHY)
+                    .where(EMPLOYEE_HIERARCHY.ANCESTOR_EMPLOYEE_ID.in(select(h.ANCESTOR_EMPLOYEE_ID)
+                            .from(h)
+                            .where(h.DESCENDANT_EMPLOYEE_ID.eq(employee))))
+                    .and(EMPLOYEE_HIERARCHY.DESCENDANT_EMPLOYEE_ID.eq(employee)
+                            .or(EMPLOYEE_HIERARCHY.DESCENDANT_EMPLOYEE_ID.in(select(h.DESCENDANT_EMPLOYEE_ID)
+                                    .from(h)
+                                    .where(h.ANCESTOR_EMPLOYEE_ID.eq(employee)))))
+                    .execute();
+        }
+        if (newManager != null) {
+            // Everything above (and including) the new manager gains everything below (and including) the employee
+            var above = select(h.ANCESTOR_EMPLOYEE_ID, h.DEPTH)
+                    .from(h)
+                    .where(h.DESCENDANT_EMPLOYEE_ID.eq(newManager))
+                    .unionAll(select(val(newManager, h.ANCESTOR_EMPLOYEE_ID), inline(0)))
+                    .asTable("above", "employee_id", "depth");
+            var below = select(h.DESCENDANT_EMPLOYEE_ID, h.DEPTH)
+                    .from(h)
+                    .where(h.ANCESTOR_EMPLOYEE_ID.eq(employee))
+                    .unionAll(select(val(employee, h.DESCENDANT_EMPLOYEE_ID), inline(0)))
+                    .asTable("below", "employee_id", "depth");
+            dsl.insertInto(EMPLOYEE_HIERARCHY,
+                            EMPLOYEE_HIERARCHY.ANCESTOR_EMPLOYEE_ID,
+                            EMPLOYEE_HIERARCHY.DESCENDANT_EMPLOYEE_ID,
+                            EMPLOYEE_HIERARCHY.DEPTH)
+                    .select(select(
+                            above.field("employee_id", EmployeeId.class),
+                            below.field("employee_id", EmployeeId.class),
+                            above.field("depth", Integer.class).plus(below.field("depth", Integer.class)).plus(1))
+                            .from(above)
+                            .crossJoin(below))
+                    .execute();
+        }
+    }
+
+    /**
+     * Adds the given deltas to the headcounts of the given locations. The headcounts are updated in the iteration
+     * order of the map, which should be sorted by location ID to avoid deadlocks between concurrent transactions.
+     */
+    private void adjustHeadcounts(Map<LocationId, Integer> deltas) {
+        deltas.forEach((location, delta) -> {
+            if (delta != 0) {
+                dsl.insertInto(LOCATION_HEADCOUNT)
+                        .set(LOCATION_HEADCOUNT.LOCATION_ID, location)
+                        .set(LOCATION_HEADCOUNT.EMPLOYEES, delta)
+                        .onConflict(LOCATION_HEADCOUNT.LOCATION_ID)
+                        .doUpdate()
+                        .set(LOCATION_HEADCOUNT.EMPLOYEES, LOCATION_HEADCOUNT.EMPLOYEES.plus(delta))
+                        .execute();
+            }
+        });
+    }
 }
@@ -5,6 +5,8 @@ import com.example.whereabouts.humanresources.LocationData;
 import com.example.whereabouts.humanresources.LocationFacility;
 import com.example.whereabouts.humanresources.LocationId;
 import com.example.whereabouts.jooq.enums.FacilityType;
+import com.example.whereabouts.jooq.support.ChildRows;
+import com.example.whereabouts.jooq.support.SequenceIdAllocator;
 import com.example.whereabouts.jooq.tables.records.LocationFacilityRecord;
 import org.jooq.DSLContext;
 import org.jooq.impl.DSL;
@@ -15,6 +17,8 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.example.whereabouts.jooq.Sequences.LOCATION_ID_SEQ;
@@ -29,9 +33,11 @@ import static com.example.whereabouts.jooq.tables.LocationFacility.LOCATION_FACI
 class JooqLocationRepository implements LocationRepository {
 
     private final DSLContext dsl;
+    private final SequenceIdAllocator ids;
 
     JooqLocationRepository(DSLContext dsl) {
         this.dsl = dsl;
+        this.ids = new SequenceIdAllocator(dsl, LOCATION_ID_SEQ);
     }
 
     @Override
@@ -71,7 +77,7 @@ class JooqLocationRepository implements LocationRepository {
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public LocationId insert(LocationData locationData) {
-        var id = new LocationId(dsl.nextval(LOCATION_ID_SEQ));
+        var id = new LocationId(ids.nextId());
         dsl.insertInto(LOCATION)
                 .set(LOCATION.LOCATION_ID, id)
                 .set(LOCATION.VERSION, 1L)
@@ -92,7 +98,14 @@ class JooqLocationRepository implements LocationRepository {
     @Override
     public Location update(Location location) {
         var newVersion = location.version() + 1;
-        var rowsUpdated = dsl.update(LOCATION)
+        // The subqueries see the facilities as they were before this update
+        var currentFacilityTypes = DSL.field(DSL.select(DSL.arrayAgg(LOCATION_FACILITY.FACILITY_TYPE).orderBy(LOCATION_FACILITY.FACILITY_TYPE))
+                .from(LOCATION_FACILITY)
+                .where(LOCATION_FACILITY.LOCATION_ID.eq(LOCATION.LOCATION_ID)));
+        var currentQuantities = DSL.field(DSL.select(DSL.arrayAgg(LOCATION_FACILITY.QUANTITY).orderBy(LOCATION_FACILITY.FACILITY_TYPE))
+                .from(LOCATION_FACILITY)
+                .where(LOCATION_FACILITY.LOCATION_ID.eq(LOCATION.LOCATION_ID)));
+        var updated = dsl.update(LOCATION)
                 .set(LOCATION.VERSION, newVersion)
                 .set(LOCATION.NAME, location.data().name())
                 .set(LOCATION.LOCATION_TYPE, location.data().locationType())
@@ -103,21 +116,50 @@ class JooqLocationRepository implements LocationRepository {
                 .set(LOCATION.TIME_ZONE, location.data().timeZone())
                 .where(LOCATION.LOCATION_ID.eq(location.id()))
                 .and(LOCATION.VERSION.eq(location.version()))
-                .execute();
+                .returningResult(currentFacilityTypes, currentQuantities)
+                .fetchOptional();
 
-        if (rowsUpdated == 0) {
+        if (updated.isEmpty()) {
             throw new OptimisticLockingFailureException("Location was modified by another user");
         }
 
-        dsl.deleteFrom(LOCATION_FACILITY)
-                .where(LOCATION_FACILITY.LOCATION_ID.eq(location.id()))
-                .execute();
-
-        insertFacilities(location.id(), location.data().facilities());
+        var current = new EnumMap<FacilityType, Integer>(FacilityType.class);
+        var types = updated.get().value1();
+        var quantities = updated.get().value2();
+        if (types != null && quantities != null) {
+            for (int i = 0; i < types.length; ++i) {
+                current.put(types[i], quantities[i]);
+            }
+        }
+        var desired = new EnumMap<FacilityType, Integer>(FacilityType.class);
+        for (var facility : location.data().facilities()) {
+            var record = toRecord(facility);
+            desired.put(record.getFacilityType(), record.getQuantity());
+        }
+        ChildRows.synchronize(current, desired,
+                removed -> dsl.deleteFrom(LOCATION_FACILITY)
+                        .where(LOCATION_FACILITY.LOCATION_ID.eq(location.id()))
+                        .and(LOCATION_FACILITY.FACILITY_TYPE.in(removed))
+                        .execute(),
+                changed -> upsertFacilities(location.id(), changed)
+        );
 
         return new Location(location.id(), newVersion, location.data());
     }
 
+    private void upsertFacilities(LocationId locationId, Map<FacilityType, Integer> quantities) {
+        var batch = quantities.entrySet().stream()
+                .map(entry -> dsl.insertInto(LOCATION_FACILITY)
+                        .set(LOCATION_FACILITY.LOCATION_ID, locationId)
+                        .set(LOCATION_FACILITY.FACILITY_TYPE, entry.getKey())
+                        .set(LOCATION_FACILITY.QUANTITY, entry.getValue())
+                        .onConflict(LOCATION_FACILITY.LOCATION_ID, LOCATION_FACILITY.FACILITY_TYPE)
+                        .doUpdate()
+                        .set(LOCATION_FACILITY.QUANTITY, entry.getValue()))
+                .toList();
+        dsl.batch(batch).execute();
+    }
+
     private void insertFacilities(LocationId locationId, Collection<LocationFacility> facilities) {
         if (facilities.isEmpty()) {
             return;
@@ -125,9 +167,8 @@ class JooqLocationRepository implements LocationRepository {
 
         var batch = facilities.stream()
                 .map(facility -> {
-                    var record = dsl.newRecord(LOCATION_FACILITY);
+                    var record = toRecord(facility);
                     record.setLocationId(locationId);
-                    toRecord(record, facility);
                     return record;
                 })
                 .toList();
@@ -146,7 +187,8 @@ class JooqLocationRepository implements LocationRepository {
         };
     }
 
-    private void toRecord(LocationFacilityRecord record, LocationFacility locationFacility) {
+    private LocationFacilityRecord toRecord(LocationFacility locationFacility) {
+        var record = dsl.newRecord(LOCATION_FACILITY);
         switch (locationFacility) {
             case LocationFacility.AccessibleOffice ignored -> {
                 record.setFacilityType(FacilityType.ACCESSIBLE_OFFICE);
@@ -173,5 +215,6 @@ class JooqLocationRepository implements LocationRepository {
                 record.setQuantity(parkingSlots.number());
             }
         }
+        return record;
     }
 }
@@ -0,0 +1,63 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.humanresources.EmploymentStatus;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.example.whereabouts.jooq.Tables.*;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.count;
+import static org.jooq.impl.DSL.excluded;
+
+/**
+ * Recounts the active employees of every location and repairs any headcount that has drifted from the actual number,
+ * for example because employment details were changed directly in the database.
+ *
+ * @see JooqEmploymentDetailsRepository
+ */
+@Component
+@NullMarked
+class LocationHeadcountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationHeadcountReconciler.class);
+
+    private final DSLContext dsl;
+
+    LocationHeadcountReconciler(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Scheduled(cron = "${whereabouts.location-headcount.reconcile-cron:0 0 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        // Wait for all transactions that have adjusted headcounts to finish, and keep new ones from adjusting them
+        // until the recount has been committed. Otherwise, the recount could overwrite their adjustments.
+        dsl.execute("lock table {0} in exclusive mode", LOCATION_HEADCOUNT);
+
+        // Only the locations whose recorded headcount differs from the actual one are written. A location without a
+        // headcount row has no employees, so it only needs a row if it actually has some.
+        var recorded = LOCATION_HEADCOUNT.as("recorded");
+        var employees = count(EMPLOYMENT_DETAILS.EMPLOYEE_ID);
+        var rowsUpdated = dsl.insertInto(LOCATION_HEADCOUNT, LOCATION_HEADCOUNT.LOCATION_ID, LOCATION_HEADCOUNT.EMPLOYEES)
+                .select(dsl.select(LOCATION.LOCATION_ID, employees)
+                        .from(LOCATION)
+                        .leftJoin(recorded).on(recorded.LOCATION_ID.eq(LOCATION.LOCATION_ID))
+                        .leftJoin(EMPLOYMENT_DETAILS).on(EMPLOYMENT_DETAILS.LOCATION_ID.eq(LOCATION.LOCATION_ID)
+                                .and(EMPLOYMENT_DETAILS.EMPLOYMENT_STATUS.eq(EmploymentStatus.ACTIVE)))
+                        .groupBy(LOCATION.LOCATION_ID, recorded.EMPLOYEES)
+                        .having(employees.ne(coalesce(recorded.EMPLOYEES, 0))))
+                .onConflict(LOCATION_HEADCOUNT.LOCATION_ID)
+                .doUpdate()
+                .set(LOCATION_HEADCOUNT.EMPLOYEES, excluded(LOCATION_HEADCOUNT.EMPLOYEES))
+                .execute();
+        if (rowsUpdated > 0) {
+            log.info("Repaired {} location headcount(s)", rowsUpdated);
+        }
+        return rowsUpdated;
+    }
+}
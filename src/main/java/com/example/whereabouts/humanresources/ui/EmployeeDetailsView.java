@@ -2,6 +2,7 @@ package com.example.whereabouts.humanresources.ui;
 
 import com.example.whereabouts.common.ui.AppIcon;
 import com.example.whereabouts.common.ui.Badges;
+import com.example.whereabouts.common.ui.DataChangeBroadcaster;
 import com.example.whereabouts.common.ui.Notifications;
 import com.example.whereabouts.common.ui.SectionToolbar;
 import com.example.whereabouts.humanresources.*;
@@ -19,6 +20,7 @@ import com.vaadin.flow.router.*;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import com.vaadin.signals.ValueSignal;
 import jakarta.annotation.security.RolesAllowed;
+import org.jspecify.annotations.Nullable;
 import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.Optional;
@@ -44,9 +46,13 @@ class EmployeeDetailsView extends VerticalLayout implements AfterNavigationObser
     private final ValueSignal<Integer> selectedTabIndexSignal = new ValueSignal<>(-1);
     private final TabSheet tabs;
     private final boolean canUpdate;
+    // References that were loaded together with the employee, so that the Job tab does not have to look them up again
+    private @Nullable EmployeeReference preloadedManager;
+    private @Nullable LocationReference preloadedLocation;
 
     EmployeeDetailsView(AuthenticationContext authenticationContext, EmployeeService employeeService,
-                        EmployeePictureService employeePictureService, LocationService locationService) {
+                        EmployeePictureService employeePictureService, LocationService locationService,
+                        DataChangeBroadcaster dataChangeBroadcaster) {
         this.employeeService = employeeService;
         this.locationService = locationService;
         canUpdate = authenticationContext.hasRole(AppRoles.EMPLOYEE_UPDATE);
@@ -93,10 +99,6 @@ class EmployeeDetailsView extends VerticalLayout implements AfterNavigationObser
                 employeeNameHeader.setText(fullName + " " + employee.data().homeAddress().country().flagUnicode());
                 avatar.setName(fullName);
                 avatar.setImageHandler(employeePictureService.findPicture(employee.id()));
-                var details = employeeService.findDetailsById(employee.id()).orElse(null);
-                employmentDetailsSignal.value(details);
-            } else {
-                employmentDetailsSignal.value(null);
             }
         });
         ComponentEffect.effect(this, () -> {
@@ -119,6 +121,15 @@ class EmployeeDetailsView extends VerticalLayout implements AfterNavigationObser
                 t.setEnabled(!editMode || t == tabs.getSelectedTab());
             }
         });
+
+        // Add listeners
+        dataChangeBroadcaster.subscribe(this, EmployeePictureChangedEvent.class, events -> {
+            // Thumbnails are generated in the background, so the new picture arrives after the employee was loaded
+            var employee = employeeSignal.peek();
+            if (employee != null && events.stream().anyMatch(event -> event.id().equals(employee.id()))) {
+                avatar.setImageHandler(employeePictureService.findPicture(employee.id()));
+            }
+        });
     }
 
     private Component getSelectedTabComponent() {
@@ -201,9 +212,13 @@ class EmployeeDetailsView extends VerticalLayout implements AfterNavigationObser
         JobTab() {
             form = new EmploymentDetailsDataForm(
                     locationService::findReferencesBySearchTerm,
-                    locationService::getReferenceById,
+                    locationId -> Optional.ofNullable(preloadedLocation)
+                            .filter(location -> location.id().equals(locationId))
+                            .or(() -> locationService.getReferenceById(locationId)),
                     (pageable, searchTerm) -> employeeService.findReferencesByFilter(pageable, new EmployeeFilter(searchTerm, Set.of(EmploymentStatus.ACTIVE), Set.of())),
-                    employeeService::findReferenceById
+                    managerId -> Optional.ofNullable(preloadedManager)
+                            .filter(manager -> manager.id().equals(managerId))
+                            .or(() -> employeeService.findReferenceById(managerId))
             );
             add(form);
             setPadding(false);
@@ -275,8 +290,15 @@ class EmployeeDetailsView extends VerticalLayout implements AfterNavigationObser
         afterNavigationEvent.getRouteParameters()
                 .getLong(PARAM_EMPLOYEE_ID)
                 .map(EmployeeId::new)
-                .flatMap(employeeService::findById)
-                .ifPresentOrElse(employeeSignal::value, HumanResourcesNavigation::navigateToEmployeeList);
+                .flatMap(employeeService::findAggregateById)
+                .ifPresentOrElse(this::setEmployeeAggregate, HumanResourcesNavigation::navigateToEmployeeList);
+    }
+
+    private void setEmployeeAggregate(EmployeeAggregate aggregate) {
+        preloadedManager = aggregate.manager();
+        preloadedLocation = aggregate.location();
+        employmentDetailsSignal.value(aggregate.employmentDetails());
+        employeeSignal.value(aggregate.employee());
     }
 
     @Override
@@ -2,6 +2,8 @@ package com.example.whereabouts.humanresources.ui;
 
 import com.example.whereabouts.MainLayout;
 import com.example.whereabouts.common.ui.AppIcon;
+import com.example.whereabouts.common.ui.DataChangeBroadcaster;
+import com.example.whereabouts.common.ui.KeysetPager;
 import com.example.whereabouts.common.ui.SectionToolbar;
 import com.example.whereabouts.humanresources.*;
 import com.example.whereabouts.security.AppRoles;
@@ -22,12 +24,19 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.dom.Style;
 import com.vaadin.flow.router.*;
+import com.vaadin.flow.server.streams.DownloadHandler;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import com.vaadin.signals.ValueSignal;
 import jakarta.annotation.security.RolesAllowed;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * @see "Design decision: DD008-20251024-master-detail.md"
  */
@@ -42,7 +51,8 @@ class EmployeeListView extends MasterDetailLayout implements AfterNavigationObse
     private final EmployeePictureService employeePictureService;
     private final EmployeeList employeeList;
 
-    EmployeeListView(AuthenticationContext authenticationContext, EmployeeService employeeService, EmployeePictureService employeePictureService) {
+    EmployeeListView(AuthenticationContext authenticationContext, EmployeeService employeeService,
+                     EmployeePictureService employeePictureService, DataChangeBroadcaster dataChangeBroadcaster) {
         this.employeeService = employeeService;
         this.employeePictureService = employeePictureService;
         var canCreate = authenticationContext.hasRole(AppRoles.EMPLOYEE_CREATE);
@@ -50,6 +60,14 @@ class EmployeeListView extends MasterDetailLayout implements AfterNavigationObse
 
         // Add listeners
         addBackdropClickListener(e -> employeeList.grid.deselectAll());
+        dataChangeBroadcaster.subscribe(this, EmployeeChangedEvent.class, events -> onEmployeesChanged(
+                events.stream().map(EmployeeChangedEvent::id).collect(Collectors.toSet()),
+                events.stream().anyMatch(EmployeeChangedEvent::isInserted)));
+        dataChangeBroadcaster.subscribe(this, EmploymentDetailsChangedEvent.class, events -> onEmployeesChanged(
+                events.stream().map(EmploymentDetailsChangedEvent::id).collect(Collectors.toSet()),
+                false));
+        dataChangeBroadcaster.subscribe(this, EmployeePictureChangedEvent.class, events -> onPicturesChanged(
+                events.stream().map(EmployeePictureChangedEvent::id).collect(Collectors.toSet())));
 
         // Layout components
         setMaster(employeeList);
@@ -73,15 +91,30 @@ class EmployeeListView extends MasterDetailLayout implements AfterNavigationObse
                 .getFirstSelectedItem()
                 .filter(row -> row.id().equals(employeeId))
                 .isPresent();
-        employeeList.grid.getDataProvider().refreshAll();
+        employeeList.refreshAll();
         if (isSelected) {
             employeeService.findReferenceById(employeeId).ifPresent(employeeList.grid::select);
         }
     }
 
+    private void onEmployeesChanged(Set<EmployeeId> employeeIds, boolean inserted) {
+        if (inserted || employeeIds.size() > DataChangeBroadcaster.TARGETED_REFRESH_LIMIT) {
+            employeeList.refreshAll();
+        } else {
+            employeeService.findReferencesByIds(employeeIds).forEach(employeeList.grid.getLazyDataView()::refreshItem);
+        }
+    }
+
+    private void onPicturesChanged(Set<EmployeeId> employeeIds) {
+        employeeIds.forEach(employeeList.pictures::remove);
+        employeeList.pictures.putAll(employeePictureService.findThumbnails(employeeIds));
+        onEmployeesChanged(employeeIds, false);
+    }
+
     private class EmployeeList extends VerticalLayout {
 
         private final Grid<EmployeeReference> grid;
+        private final Map<EmployeeId, DownloadHandler> pictures = new HashMap<>();
         private final ValueSignal<EmployeeFilter> filterSignal = new ValueSignal<>(EmployeeFilter.empty());
 
         EmployeeList(boolean canCreate) {
@@ -104,10 +137,25 @@ class EmployeeListView extends MasterDetailLayout implements AfterNavigationObse
 
             grid = new Grid<>();
             grid.setSelectionMode(Grid.SelectionMode.SINGLE);
-            grid.setItemsPageable(pageable -> employeeService.findReferencesByFilter(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sortField.getValue().getSort()), filterSignal.peek()));
+            var pager = new KeysetPager<EmployeeReference>();
+            grid.setItemsPageable(pageable -> {
+                var sort = sortField.getValue().getSort();
+                var filter = filterSignal.peek();
+                var page = pager.fetch(List.of(sort, filter), (int) pageable.getOffset(), pageable.getPageSize(),
+                        // The grid always fetches whole pages, so the offset is a multiple of the limit
+                        (offset, limit) -> employeeService.findReferencesByFilter(PageRequest.of(offset / limit, limit, sort), filter),
+                        (after, offset, limit) -> employeeService.findReferencesByFilterAfter(PageRequest.ofSize(limit).withSort(sort), after, filter));
+                // Look up the pictures of the entire page at once, instead of once per rendered row
+                var ids = page.stream().map(EmployeeReference::id).toList();
+                ids.forEach(pictures::remove);
+                pictures.putAll(employeePictureService.findThumbnails(ids));
+                return page;
+            });
+            // Identify the employees by ID, so that they can be refreshed one by one
+            grid.getLazyDataView().setIdentifierProvider(EmployeeReference::id);
             grid.addColumn(new ComponentRenderer<>(employee -> EmployeeTitleCard.of(
                     employee,
-                    employeePictureService::findPicture)
+                    pictures::get)
             ));
             grid.setSizeFull();
             grid.addThemeName("no-border");
@@ -115,7 +163,7 @@ class EmployeeListView extends MasterDetailLayout implements AfterNavigationObse
             // Add listeners
             searchField.addValueChangeListener(e ->
                     filterSignal.update(old -> old.withSearchTerm(e.getValue())));
-            sortField.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
+            sortField.addValueChangeListener(e -> refreshAll());
             grid.addSelectionListener(e -> e.getFirstSelectedItem()
                     .map(EmployeeReference::id)
                     .ifPresentOrElse(
@@ -126,7 +174,7 @@ class EmployeeListView extends MasterDetailLayout implements AfterNavigationObse
             ComponentEffect.effect(this, () -> {
                 // Refresh the grid whenever the filter changes
                 filterSignal.value();
-                grid.getDataProvider().refreshAll();
+                refreshAll();
             });
 
             // Layout components
@@ -143,10 +191,19 @@ class EmployeeListView extends MasterDetailLayout implements AfterNavigationObse
             add(toolbar, grid);
         }
 
+        /**
+         * Refreshes all employees, and forgets the pictures of the employees that were fetched before. The pictures of
+         * the employees that are fetched again are looked up again.
+         */
+        void refreshAll() {
+            pictures.clear();
+            grid.getDataProvider().refreshAll();
+        }
+
         private void addEmployee() {
             var dialog = new AddEmployeeDialog(employeeData -> {
                 var id = employeeService.insert(employeeData);
-                grid.getDataProvider().refreshAll();
+                refreshAll();
                 HumanResourcesNavigation.navigateToEmployeeDetails(id);
             });
             dialog.open();
@@ -1,7 +1,7 @@
 package com.example.whereabouts.humanresources.ui;
 
 import com.example.whereabouts.MainLayout;
-import com.example.whereabouts.common.ui.AppIcon;
+import com.example.whereabouts.common.ui.DataChangeBroadcaster;
 import com.example.whereabouts.common.ui.SectionToolbar;
 import com.example.whereabouts.humanresources.*;
 import com.example.whereabouts.humanresources.Location;
@@ -22,6 +22,7 @@ import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import jakarta.annotation.security.RolesAllowed;
 
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -37,13 +38,18 @@ class LocationListView extends MasterDetailLayout implements AfterNavigationObse
     private final LocationService locationService;
     private final LocationList locationList;
 
-    LocationListView(AuthenticationContext authenticationContext, LocationService locationService) {
+    LocationListView(AuthenticationContext authenticationContext, LocationService locationService,
+                     DataChangeBroadcaster dataChangeBroadcaster) {
         this.locationService = locationService;
         var canCreate = authenticationContext.hasRole(AppRoles.LOCATION_CREATE);
         this.locationList = new LocationList(canCreate);
 
         // Add listeners
         addBackdropClickListener(e -> locationList.grid.deselectAll());
+        dataChangeBroadcaster.subscribe(this, LocationChangedEvent.class, this::onLocationsChanged);
+        // Employment details changes may change the headcounts
+        dataChangeBroadcaster.subscribe(this, EmploymentDetailsChangedEvent.class,
+                events -> locationList.grid.getDataProvider().refreshAll());
 
         // Layout components
         setMaster(locationList);
@@ -75,6 +81,16 @@ class LocationListView extends MasterDetailLayout implements AfterNavigationObse
         }
     }
 
+    private void onLocationsChanged(Set<LocationChangedEvent> events) {
+        var dataProvider = locationList.grid.getDataProvider();
+        if (events.size() > DataChangeBroadcaster.TARGETED_REFRESH_LIMIT
+            || events.stream().anyMatch(LocationChangedEvent::isInserted)) {
+            dataProvider.refreshAll();
+        } else {
+            events.forEach(event -> locationService.findLocationNodeById(event.id()).ifPresent(dataProvider::refreshItem));
+        }
+    }
+
     private class LocationList extends VerticalLayout {
 
         private final TreeGrid<LocationTreeNode> grid;
@@ -85,9 +101,6 @@ class LocationListView extends MasterDetailLayout implements AfterNavigationObse
             var addLocationButton = new Button("Add Location");
             addLocationButton.setVisible(canCreate);
 
-            var refreshButton = new Button();
-            refreshButton.getElement().appendChild(AppIcon.REFRESH.create().getElement()); // Until we get an icon-only button variant for Aura
-
             grid = new TreeGrid<>();
             grid.setSelectionMode(Grid.SelectionMode.SINGLE);
             grid.setDataProvider(new AbstractBackEndHierarchicalDataProvider<>() {
@@ -102,16 +115,25 @@ class LocationListView extends MasterDetailLayout implements AfterNavigationObse
                     return locationService.hasChildren(item);
                 }
 
+                @Override
+                public Object getId(LocationTreeNode item) {
+                    // Identify the nodes by ID, so that they can be refreshed one by one
+                    return switch (item) {
+                        case LocationTreeNode.LocationNode locationNode -> locationNode.id();
+                        case LocationTreeNode.CountryNode countryNode -> countryNode.country();
+                    };
+                }
+
                 @Override
                 protected Stream<LocationTreeNode> fetchChildrenFromBackEnd(HierarchicalQuery<LocationTreeNode, Object> query) {
-                    return locationService.findChildren(query.getParent(), VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
+                    return locationService.findChildren(query.getParent(), getLocale(), VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
                 }
             });
             var locationTypeFormatter = LocationTypeFormatter.ofLocale(getLocale());
             grid.addHierarchyColumn(node -> switch (node) {
                 case LocationTreeNode.LocationNode locationNode -> locationNode.name();
                 case LocationTreeNode.CountryNode countryNode ->
-                        countryNode.country().displayName() + " " + countryNode.country().flagUnicode();
+                        countryNode.displayName() + " " + countryNode.country().flagUnicode();
             }).setHeader("Branches").setSortProperty(LocationSortableProperty.NAME.name()).setAutoWidth(true);
             grid.addColumn(node -> switch (node) {
                 case LocationTreeNode.LocationNode locationNode -> Integer.toString(locationNode.employees());
@@ -139,12 +161,11 @@ class LocationListView extends MasterDetailLayout implements AfterNavigationObse
                             HumanResourcesNavigation::navigateToLocationList
                     ));
             addLocationButton.addClickListener(e -> addLocation());
-            refreshButton.addClickListener(e -> grid.getDataProvider().refreshAll());
 
             // Layout components
             var toolbar = new SectionToolbar(
                     SectionToolbar.group(new DrawerToggle(), title),
-                    SectionToolbar.group(addLocationButton, refreshButton)
+                    addLocationButton
             );
             toolbar.getStyle().setBorderBottom("1px solid var(--vaadin-border-color-secondary)");
             setSizeFull();
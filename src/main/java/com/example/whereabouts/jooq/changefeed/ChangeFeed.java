@@ -0,0 +1,137 @@
+package com.example.whereabouts.jooq.changefeed;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Listens to the {@value #CHANNEL} channel on a dedicated database connection, and passes the announced
+ * {@link EntityChange}s on to all {@link EntityChangeListener} beans. The changes are announced by triggers (see the
+ * {@code V0009__entity_change_notifications.sql} migration) when the writing transaction commits, on any node.
+ * <p>
+ * If the connection is lost, the feed keeps trying to reconnect. Notifications sent while it was disconnected are
+ * lost, so once it is listening again, the listeners are told to consider everything they hold stale.
+ */
+@Component
+@NullMarked
+class ChangeFeed implements SmartLifecycle {
+
+    static final String CHANNEL = "entity_change";
+    static final String APPLICATION_NAME = "whereabouts-change-feed";
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final long RECONNECT_DELAY_MILLIS = 1_000;
+
+    private final DataSource dataSource;
+    private final ObjectProvider<EntityChangeListener> listeners;
+    private volatile boolean running;
+    private @Nullable Thread thread;
+
+    ChangeFeed(DataSource dataSource, ObjectProvider<EntityChangeListener> listeners) {
+        this.dataSource = dataSource;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("change-feed").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (var connection = dataSource.getConnection()) {
+                listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Change feed disconnected, reconnecting in {} ms", RECONNECT_DELAY_MILLIS, e);
+                }
+            }
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+            statement.execute("set application_name = '" + APPLICATION_NAME + "'");
+            statement.execute("listen " + CHANNEL);
+        }
+        log.debug("Change feed listening on channel {}", CHANNEL);
+        listeners.orderedStream().forEach(this::notifyChangesMissed);
+
+        var pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            var notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null || notifications.length == 0) {
+                // Nothing has happened for a while, make sure the connection is still alive
+                try (var statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+                continue;
+            }
+            for (var notification : notifications) {
+                EntityChange change;
+                try {
+                    change = EntityChange.parse(notification.getParameter());
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring notification on channel {}", CHANNEL, e);
+                    continue;
+                }
+                listeners.orderedStream().forEach(listener -> notifyEntityChanged(listener, change));
+            }
+        }
+        // The connection goes back to the pool
+        try (var statement = connection.createStatement()) {
+            statement.execute("unlisten *");
+            statement.execute("reset application_name");
+        }
+    }
+
+    private void notifyEntityChanged(EntityChangeListener listener, EntityChange change) {
+        try {
+            listener.onEntityChanged(change);
+        } catch (RuntimeException e) {
+            log.error("Error notifying {} of {}", listener, change, e);
+        }
+    }
+
+    private void notifyChangesMissed(EntityChangeListener listener) {
+        try {
+            listener.onChangesMissed();
+        } catch (RuntimeException e) {
+            log.error("Error notifying {} of missed changes", listener, e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.whereabouts.jooq.changefeed;
+
+import org.jooq.Table;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A committed change to an entity, as announced on the change feed.
+ *
+ * @param table   the name of the table that stores the entity.
+ * @param id      the ID of the entity.
+ * @param version the version of the entity after the change.
+ * @see ChangeFeed
+ */
+@NullMarked
+public record EntityChange(String table, long id, long version) {
+
+    public boolean isAbout(Table<?> table) {
+        return this.table.equals(table.getName());
+    }
+
+    /**
+     * Parses a notification payload on the form {@code <table>:<id>:<version>}.
+     *
+     * @throws IllegalArgumentException if the payload is malformed.
+     */
+    static EntityChange parse(String payload) {
+        var parts = payload.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed entity change: " + payload);
+        }
+        try {
+            return new EntityChange(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed entity change: " + payload, e);
+        }
+    }
+}
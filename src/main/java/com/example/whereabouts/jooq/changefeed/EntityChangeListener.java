@@ -0,0 +1,24 @@
+package com.example.whereabouts.jooq.changefeed;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Interface to be implemented by beans that keep copies of entities in memory, and need to know when they have been
+ * changed by any application node. The listeners are called by the change feed thread, and must be thread safe.
+ *
+ * @see ChangeFeed
+ */
+@NullMarked
+public interface EntityChangeListener {
+
+    /**
+     * Called when a change to an entity has been committed.
+     */
+    void onEntityChanged(EntityChange change);
+
+    /**
+     * Called when the change feed has (re)connected to the database. Any changes committed while it was disconnected
+     * have been missed, so all in-memory copies must be considered stale.
+     */
+    void onChangesMissed();
+}
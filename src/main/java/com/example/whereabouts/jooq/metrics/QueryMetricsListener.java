@@ -0,0 +1,134 @@
+package com.example.whereabouts.jooq.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single statement execution, from rendering to the last fetched record, and records:
+ * <ul>
+ *     <li>{@code jooq.query}: a timer with a percentile histogram,</li>
+ *     <li>{@code jooq.query.rows}: the number of rows affected by a write,</li>
+ *     <li>{@code jooq.query.fetched}: the number of records fetched by a read.</li>
+ * </ul>
+ * All metrics are tagged with the {@linkplain #queryName() name of the method} that executed the statement, and the
+ * type of statement. Statements slower than the threshold are logged with their SQL, bind values inlined.
+ * <p>
+ * jOOQ creates one listener per execution, so it does not have to be thread safe.
+ */
+class QueryMetricsListener implements ExecuteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsListener.class);
+    private static final String APPLICATION_PACKAGE = "com.example.whereabouts.";
+    private static final String METRICS_PACKAGE = QueryMetricsListener.class.getPackageName() + ".";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+    private long startNanos;
+    private String queryName = "unknown";
+    private int fetched;
+    private boolean failed;
+
+    QueryMetricsListener(MeterRegistry meterRegistry, Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        startNanos = System.nanoTime();
+        queryName = queryName();
+    }
+
+    @Override
+    public void recordEnd(ExecuteContext ctx) {
+        fetched++;
+    }
+
+    @Override
+    public void exception(ExecuteContext ctx) {
+        failed = true;
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        var elapsedNanos = System.nanoTime() - startNanos;
+        var type = ctx.type().name().toLowerCase(Locale.ROOT);
+        var tags = Tags.of("query", queryName, "type", type);
+
+        Timer.builder("jooq.query")
+                .description("Execution time of jOOQ statements, including fetching")
+                .tags(tags)
+                .tag("outcome", failed ? "error" : "success")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (ctx.rows() >= 0) {
+            DistributionSummary.builder("jooq.query.rows")
+                    .description("Number of rows affected by jOOQ statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(ctx.rows());
+        }
+        if (fetched > 0 || ctx.result() != null) {
+            DistributionSummary.builder("jooq.query.fetched")
+                    .description("Number of records fetched by jOOQ statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(fetched);
+        }
+
+        if (elapsedNanos >= slowQueryThreshold.toNanos() && log.isWarnEnabled()) {
+            log.warn("Slow query {} took {} ms: {}", queryName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), renderSql(ctx));
+        }
+    }
+
+    /**
+     * Returns the name of the application method that executed the statement, such as
+     * {@code JooqTaskRepository.findByFilter}. Lambdas are named after the method they were declared in.
+     */
+    private static String queryName() {
+        return STACK_WALKER.walk(frames -> frames
+                        .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                                         && !frame.getClassName().startsWith(METRICS_PACKAGE))
+                        .findFirst()
+                        .map(frame -> simpleClassName(frame.getClassName()) + "." + methodName(frame.getMethodName())))
+                .orElse("unknown");
+    }
+
+    private static String simpleClassName(String className) {
+        var simpleName = className.substring(className.lastIndexOf('.') + 1);
+        // Nested and anonymous classes are named after the outermost class
+        var nested = simpleName.indexOf('$');
+        return nested < 0 ? simpleName : simpleName.substring(0, nested);
+    }
+
+    private static String methodName(String methodName) {
+        // lambda$findByFilter$3 -> findByFilter
+        if (methodName.startsWith("lambda$")) {
+            var end = methodName.indexOf('$', "lambda$".length());
+            return end < 0 ? methodName : methodName.substring("lambda$".length(), end);
+        }
+        return methodName;
+    }
+
+    private static @Nullable String renderSql(ExecuteContext ctx) {
+        var query = ctx.query();
+        if (query != null) {
+            return ctx.dsl().renderInlined(query);
+        }
+        var batchSql = ctx.batchSQL();
+        return batchSql.length > 0 ? String.join(";\n", batchSql) : ctx.sql();
+    }
+}
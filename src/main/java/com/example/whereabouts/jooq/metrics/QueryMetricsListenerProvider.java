@@ -0,0 +1,32 @@
+package com.example.whereabouts.jooq.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Registers a {@link QueryMetricsListener} for every statement executed through the Spring-managed
+ * {@link org.jooq.DSLContext}. The metrics are published under {@code jooq.query.*}, tagged with the name of the
+ * repository or query method that executed the statement.
+ */
+@Component
+class QueryMetricsListenerProvider implements ExecuteListenerProvider {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+
+    QueryMetricsListenerProvider(MeterRegistry meterRegistry,
+                                 @Value("${whereabouts.jooq.slow-query-threshold:500ms}") Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Override
+    public ExecuteListener provide() {
+        return new QueryMetricsListener(meterRegistry, slowQueryThreshold);
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Metrics and slow-query logging for all statements executed through jOOQ.
+ */
+@NullMarked
+package com.example.whereabouts.jooq.metrics;
+
+import org.jspecify.annotations.NullMarked;
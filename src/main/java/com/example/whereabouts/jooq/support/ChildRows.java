@@ -0,0 +1,66 @@
+package com.example.whereabouts.jooq.support;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Synchronizes the child rows of an aggregate with the desired state by writing only the differences, instead of
+ * deleting all the rows and inserting them again. This keeps unchanged rows, and their index entries, untouched.
+ * <p>
+ * The caller provides the current state, typically fetched with the {@code RETURNING} clause of the update of the
+ * parent row, so that finding out what has changed does not cost an extra round trip. The callbacks are only invoked
+ * when there is something to write, which means that an unchanged collection does not execute any statements at all.
+ */
+public final class ChildRows {
+
+    private ChildRows() {
+    }
+
+    /**
+     * Synchronizes child rows that consist of a key only, such as the rows of a many-to-many association table.
+     *
+     * @param current the keys of the current rows.
+     * @param desired the keys of the desired rows.
+     * @param delete  deletes the rows with the given keys.
+     * @param insert  inserts rows with the given keys.
+     */
+    public static <K> void synchronize(Collection<K> current, Collection<K> desired,
+                                       Consumer<Set<K>> delete, Consumer<Set<K>> insert) {
+        var removed = new HashSet<>(current);
+        removed.removeAll(desired);
+        var added = new HashSet<>(desired);
+        added.removeAll(current);
+        if (!removed.isEmpty()) {
+            delete.accept(removed);
+        }
+        if (!added.isEmpty()) {
+            insert.accept(added);
+        }
+    }
+
+    /**
+     * Synchronizes child rows that consist of a key and a value.
+     *
+     * @param current the keys and values of the current rows.
+     * @param desired the keys and values of the desired rows.
+     * @param delete  deletes the rows with the given keys.
+     * @param upsert  inserts rows with the given keys and values, or updates the values of existing rows.
+     */
+    public static <K, V> void synchronize(Map<K, V> current, Map<K, V> desired,
+                                          Consumer<Set<K>> delete, Consumer<Map<K, V>> upsert) {
+        var removed = new HashSet<>(current.keySet());
+        removed.removeAll(desired.keySet());
+        var changed = new HashMap<K, V>();
+        desired.forEach((key, value) -> {
+            if (!Objects.equals(current.get(key), value)) {
+                changed.put(key, value);
+            }
+        });
+        if (!removed.isEmpty()) {
+            delete.accept(removed);
+        }
+        if (!changed.isEmpty()) {
+            upsert.accept(changed);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.whereabouts.jooq.support;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Builds conditions for the search boxes of the application.
+ * <p>
+ * The search term is split into tokens by whitespace, and every token must be contained in at least one of the
+ * searched fields, ignoring case. This means that searching for "Ada Lovelace" finds an employee whose first name is
+ * Ada and whose last name is Lovelace. The conditions are rendered as {@code ILIKE} with a bind value, so that
+ * PostgreSQL can use the trigram indexes of the searched columns. Tokens shorter than three characters do not
+ * contain any trigrams, and make PostgreSQL scan the entire index.
+ * <p>
+ * For longer texts, there is also support for full-text search with prefix matching. The searched {@code tsvector}
+ * columns must be built using the {@code simple} text search configuration.
+ */
+public final class SearchConditions {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char ESCAPE = '!';
+
+    private SearchConditions() {
+    }
+
+    /**
+     * Returns a condition that matches when every token of the search term is contained in at least one of the
+     * fields. A {@code null} or blank search term matches everything.
+     */
+    @SafeVarargs
+    public static Condition containsAllTokens(@Nullable String searchTerm, Field<String>... fields) {
+        Condition condition = DSL.trueCondition();
+        for (var token : tokenize(searchTerm)) {
+            var pattern = "%" + escape(token) + "%";
+            var tokenConditions = new ArrayList<Condition>(fields.length);
+            for (var field : fields) {
+                tokenConditions.add(field.likeIgnoreCase(pattern, ESCAPE));
+            }
+            condition = condition.and(DSL.or(tokenConditions));
+        }
+        return condition;
+    }
+
+    /**
+     * Converts the search term into a {@code tsquery} in which every word of the search term must match the
+     * beginning of a word in the searched text. Returns {@code null} if the search term contains no words.
+     */
+    public static @Nullable String toPrefixTsQuery(@Nullable String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return null;
+        }
+        // Only letters and digits make it into the query, so we don't have to worry about the tsquery syntax
+        var words = new ArrayList<String>();
+        for (var word : NON_WORD.split(searchTerm)) {
+            if (!word.isEmpty()) {
+                words.add(word + ":*");
+            }
+        }
+        return words.isEmpty() ? null : String.join(" & ", words);
+    }
+
+    /**
+     * Returns a condition that matches when the {@code tsvector} matches the {@code tsquery}.
+     *
+     * @see #toPrefixTsQuery(String)
+     */
+    public static Condition matchesTsQuery(Field<?> tsvector, String tsQuery) {
+        return DSL.condition("{0} @@ to_tsquery('simple', {1})", tsvector, DSL.val(tsQuery));
+    }
+
+    /**
+     * Returns a field with the rank of the {@code tsvector} for the {@code tsquery}. A higher rank means a more
+     * relevant match.
+     *
+     * @see #toPrefixTsQuery(String)
+     */
+    public static Field<Float> tsRank(Field<?> tsvector, String tsQuery) {
+        return DSL.field("ts_rank({0}, to_tsquery('simple', {1}))", SQLDataType.REAL, tsvector, DSL.val(tsQuery));
+    }
+
+    /**
+     * Splits the search term into tokens by whitespace. Implementations that search in memory should use this
+     * method, to behave the same way as {@link #containsAllTokens(String, Field[])}.
+     */
+    public static List<String> tokenize(@Nullable String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return List.of();
+        }
+        return List.of(WHITESPACE.split(searchTerm.strip()));
+    }
+
+    private static String escape(String token) {
+        var sb = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); ++i) {
+            var c = token.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                sb.append(ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.whereabouts.jooq.support;
+
+import org.jooq.DSLContext;
+import org.jooq.Sequence;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out identifiers from a database sequence without a database round trip for every identifier.
+ * <p>
+ * The sequence must be incremented by {@link #BLOCK_SIZE}. Every call to {@code nextval} then reserves a block of
+ * {@code BLOCK_SIZE} identifiers, starting with the returned value, that no other allocator can get, even on another
+ * application node. The identifiers of a block are handed out from memory, and a new block is reserved only when the
+ * current one runs out. The identifiers are unique, but not gapless, and not in insertion order across nodes.
+ * <p>
+ * This class is thread safe and does not block. If several threads run out of identifiers at the same time, each one
+ * reserves a new block, and all but one of the blocks are only used for a single identifier.
+ */
+public final class SequenceIdAllocator {
+
+    /**
+     * The increment of all the entity sequences, set in the {@code V0008__block_allocated_ids.sql} migration.
+     */
+    public static final int BLOCK_SIZE = 50;
+
+    private final DSLContext dsl;
+    private final Sequence<Long> sequence;
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EXHAUSTED);
+
+    public SequenceIdAllocator(DSLContext dsl, Sequence<Long> sequence) {
+        this.dsl = dsl;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the next identifier, reserving a new block from the database if needed.
+     */
+    public long nextId() {
+        var block = currentBlock.get();
+        var id = block.next();
+        if (id != Block.NONE) {
+            return id;
+        }
+        var newBlock = new Block(dsl.nextval(sequence));
+        id = newBlock.next();
+        // If another thread has already installed a new block, keep that one and let the rest of ours go to waste
+        currentBlock.compareAndSet(block, newBlock);
+        return id;
+    }
+
+    private static final class Block {
+
+        static final long NONE = Long.MIN_VALUE;
+        static final Block EXHAUSTED = new Block(NONE);
+
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start) {
+            this.next = new AtomicLong(start);
+            this.end = start == NONE ? NONE : start + BLOCK_SIZE;
+        }
+
+        long next() {
+            var id = next.getAndIncrement();
+            return id < end ? id : NONE;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Hand-written helpers for building jOOQ queries, shared by the repositories and queries of all features.
+ */
+@NullMarked
+package com.example.whereabouts.jooq.support;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,18 @@
+package com.example.whereabouts.projects;
+
+import com.example.whereabouts.common.DomainEvent;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Published by {@link ProjectService} whenever a project is inserted.
+ *
+ * @param id      the ID of the project.
+ * @param version the version of the project after the change; {@code 1} if the project was inserted.
+ */
+@NullMarked
+public record ProjectChangedEvent(ProjectId id, long version) implements DomainEvent {
+
+    public boolean isInserted() {
+        return version == 1;
+    }
+}
@@ -6,6 +6,7 @@ import com.example.whereabouts.security.AppRoles;
 import com.vaadin.flow.data.provider.SortOrder;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +21,13 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final ProjectQuery projectQuery;
+    private final ApplicationEventPublisher eventPublisher;
 
-    ProjectService(ProjectRepository projectRepository, ProjectQuery projectQuery) {
+    ProjectService(ProjectRepository projectRepository, ProjectQuery projectQuery,
+                   ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.projectQuery = projectQuery;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -39,6 +43,8 @@ public class ProjectService {
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.PROJECT_CREATE + "')")
     public ProjectId insert(ProjectData data) {
-        return projectRepository.insert(data);
+        var id = projectRepository.insert(data);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, 1));
+        return id;
     }
 }
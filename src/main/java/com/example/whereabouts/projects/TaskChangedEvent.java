@@ -0,0 +1,68 @@
+package com.example.whereabouts.projects;
+
+import com.example.whereabouts.common.DomainEvent;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.stream.Stream;
+
+/**
+ * Published by {@link TaskService} whenever a task is inserted, updated or deleted.
+ *
+ * @param id              the ID of the task.
+ * @param project         the ID of the project the task belongs to after the change, or belonged to before it was
+ *                        deleted.
+ * @param previousProject the ID of the project the task belonged to before the change, if the change moved the task
+ *                        to another project; {@code null} otherwise.
+ * @param version         the version of the task after the change, or before it was deleted; {@code 1} if the task
+ *                        was inserted.
+ * @param deleted         whether the task was deleted.
+ */
+@NullMarked
+public record TaskChangedEvent(TaskId id, ProjectId project, @Nullable ProjectId previousProject, long version,
+                               boolean deleted) implements DomainEvent {
+
+    public static TaskChangedEvent inserted(TaskId id, ProjectId project) {
+        return new TaskChangedEvent(id, project, null, 1, false);
+    }
+
+    public static TaskChangedEvent updated(Task previous, Task updated) {
+        var previousProject = previous.data().project();
+        return new TaskChangedEvent(updated.id(), updated.data().project(),
+                previousProject.equals(updated.data().project()) ? null : previousProject, updated.version(), false);
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return new TaskChangedEvent(task.id(), task.data().project(), null, task.version(), true);
+    }
+
+    public boolean isInserted() {
+        return !deleted && version == 1;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Returns whether the task was moved from one project to another.
+     */
+    public boolean isMoved() {
+        return previousProject != null;
+    }
+
+    /**
+     * Returns the projects whose tasks were changed: the project of the task and, if the task was moved, the project
+     * it was moved from.
+     */
+    public Stream<ProjectId> affectedProjects() {
+        return previousProject == null ? Stream.of(project) : Stream.of(previousProject, project);
+    }
+
+    /**
+     * Returns whether the given project is among the {@linkplain #affectedProjects() affected projects}.
+     */
+    public boolean affects(ProjectId projectId) {
+        return project.equals(projectId) || projectId.equals(previousProject);
+    }
+}
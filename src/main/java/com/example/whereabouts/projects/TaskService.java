@@ -1,10 +1,12 @@
 package com.example.whereabouts.projects;
 
 import com.example.whereabouts.projects.repository.ProjectRepository;
+import com.example.whereabouts.projects.repository.ProjectStatsRepository;
 import com.example.whereabouts.projects.repository.TaskRepository;
 import com.example.whereabouts.security.AppRoles;
 import com.vaadin.flow.data.provider.SortOrder;
 import org.jspecify.annotations.NullMarked;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +22,15 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final ProjectStatsRepository projectStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    TaskService(TaskRepository taskRepository, ProjectRepository projectRepository) {
+    TaskService(TaskRepository taskRepository, ProjectRepository projectRepository,
+                ProjectStatsRepository projectStatsRepository, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
+        this.projectStatsRepository = projectStatsRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -34,23 +41,46 @@ public class TaskService {
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.TASK_CREATE + "')")
     public void insertTask(TaskData data) {
-        taskRepository.insert(data);
+        var id = taskRepository.insert(data);
+        projectStatsRepository.adjust(null, data);
+        eventPublisher.publishEvent(TaskChangedEvent.inserted(id, data.project()));
     }
 
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.TASK_UPDATE + "')")
     public Task updateTask(Task task) {
-        return taskRepository.update(task);
+        // Lock the task, so that the statistics are adjusted by the difference to the task that is actually replaced.
+        // The update checks the version, so if it succeeds, the locked task is there.
+        var locked = taskRepository.findByIdForUpdate(task.id());
+        var updated = taskRepository.update(task);
+        var previous = locked.orElseThrow();
+        projectStatsRepository.adjust(previous.data(), updated.data());
+        eventPublisher.publishEvent(TaskChangedEvent.updated(previous, updated));
+        return updated;
     }
 
     @Transactional
     @PreAuthorize("hasRole('" + AppRoles.TASK_DELETE + "')")
     public void deleteTask(TaskId id) {
-        taskRepository.deleteById(id);
+        taskRepository.findByIdForUpdate(id).ifPresent(task -> {
+            taskRepository.deleteById(id);
+            projectStatsRepository.adjust(task.data(), null);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Task> findTaskById(TaskId id) {
+        return taskRepository.findById(id);
     }
 
     @Transactional(readOnly = true)
     public Stream<Task> findTasks(ProjectId project, TaskFilter filter, int limit, int offset, List<SortOrder<TaskSortableProperty>> sortOrders) {
         return taskRepository.findByFilter(project, filter, limit, offset, sortOrders);
     }
+
+    @Transactional(readOnly = true)
+    public Stream<Task> findTasksAfter(ProjectId project, TaskFilter filter, Task after, int limit, int offset, List<SortOrder<TaskSortableProperty>> sortOrders) {
+        return taskRepository.findByFilterAfter(project, filter, after, limit, offset, sortOrders);
+    }
 }
@@ -4,5 +4,10 @@ public enum TaskSortableProperty {
     STATUS,
     DESCRIPTION,
     DUE_DATE,
-    PRIORITY
+    PRIORITY,
+    /**
+     * How well the task matches the search term of the {@link TaskFilter}. When searching without any sort order,
+     * the tasks are sorted by relevance in descending order.
+     */
+    RELEVANCE
 }
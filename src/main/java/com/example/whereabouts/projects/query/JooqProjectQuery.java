@@ -1,5 +1,6 @@
 package com.example.whereabouts.projects.query;
 
+import com.example.whereabouts.jooq.support.SearchConditions;
 import com.example.whereabouts.projects.ProjectId;
 import com.example.whereabouts.projects.ProjectListItem;
 import com.example.whereabouts.projects.ProjectSortableProperty;
@@ -34,12 +35,8 @@ class JooqProjectQuery implements ProjectQuery {
 
     @Override
     public Stream<ProjectListItem> findProjectListItemsBySearchTerm(@Nullable String searchTerm, int limit, int offset, SortOrder<ProjectSortableProperty> sortOrder) {
-        var condition = searchTerm != null && !searchTerm.isBlank()
-                ? PROJECT.NAME.containsIgnoreCase(searchTerm)
-                : DSL.trueCondition();
         return selectProject()
-                .where(condition)
-                .groupBy(PROJECT.PROJECT_ID, PROJECT.NAME)
+                .where(SearchConditions.containsAllTokens(searchTerm, PROJECT.NAME))
                 .orderBy(toOrderField(sortOrder))
                 .limit(limit)
                 .offset(offset)
@@ -51,7 +48,6 @@ class JooqProjectQuery implements ProjectQuery {
     public Optional<ProjectListItem> findProjectListItemById(ProjectId id) {
         return selectProject()
                 .where(PROJECT.PROJECT_ID.eq(id))
-                .groupBy(PROJECT.PROJECT_ID, PROJECT.NAME)
                 .fetchOptional(Records.mapping(ProjectListItem::new));
     }
 
@@ -60,11 +56,11 @@ class JooqProjectQuery implements ProjectQuery {
                         PROJECT.PROJECT_ID,
                         PROJECT.NAME,
                         PROJECT.DESCRIPTION,
-                        DSL.countDistinct(TASK),
-                        DSL.countDistinct(TASK_ASSIGNEE)
+                        // Projects without tasks may not have any statistics yet.
+                        DSL.coalesce(PROJECT_STATS.TASKS, 0),
+                        DSL.coalesce(PROJECT_STATS.ASSIGNEES, 0)
                 ).from(PROJECT)
-                .leftJoin(TASK).on(TASK.PROJECT_ID.eq(PROJECT.PROJECT_ID))
-                .leftJoin(TASK_ASSIGNEE).on(TASK_ASSIGNEE.TASK_ID.eq(TASK.TASK_ID));
+                .leftJoin(PROJECT_STATS).on(PROJECT_STATS.PROJECT_ID.eq(PROJECT.PROJECT_ID));
     }
 
     private OrderField<?> toOrderField(SortOrder<ProjectSortableProperty> sortOrder) {
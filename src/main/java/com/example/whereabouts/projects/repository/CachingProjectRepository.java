@@ -0,0 +1,58 @@
+package com.example.whereabouts.projects.repository;
+
+import com.example.whereabouts.common.cache.EntityCache;
+import com.example.whereabouts.common.cache.EntityCacheFactory;
+import com.example.whereabouts.projects.Project;
+import com.example.whereabouts.projects.ProjectData;
+import com.example.whereabouts.projects.ProjectId;
+import com.example.whereabouts.jooq.changefeed.EntityChange;
+import com.example.whereabouts.jooq.changefeed.EntityChangeListener;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static com.example.whereabouts.jooq.Tables.PROJECT;
+
+/**
+ * Decorator of {@link JooqProjectRepository} that caches {@link Project}s by ID. Changes made by other
+ * application nodes are picked up from the change feed.
+ *
+ * @see EntityCache
+ */
+@Primary
+@Component
+@NullMarked
+class CachingProjectRepository implements ProjectRepository, EntityChangeListener {
+
+    private final ProjectRepository delegate;
+    private final EntityCache<ProjectId, Project> cache;
+
+    CachingProjectRepository(JooqProjectRepository delegate, EntityCacheFactory cacheFactory) {
+        this.delegate = delegate;
+        this.cache = cacheFactory.create("project", Project::version);
+    }
+
+    @Override
+    public Optional<Project> findById(ProjectId id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public ProjectId insert(ProjectData data) {
+        return delegate.insert(data);
+    }
+
+    @Override
+    public void onEntityChanged(EntityChange change) {
+        if (change.isAbout(PROJECT)) {
+            cache.invalidate(new ProjectId(change.id()), change.version());
+        }
+    }
+
+    @Override
+    public void onChangesMissed() {
+        cache.invalidateAll();
+    }
+}
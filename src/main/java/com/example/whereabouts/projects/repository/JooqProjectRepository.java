@@ -1,5 +1,6 @@
 package com.example.whereabouts.projects.repository;
 
+import com.example.whereabouts.jooq.support.SequenceIdAllocator;
 import com.example.whereabouts.projects.Project;
 import com.example.whereabouts.projects.ProjectData;
 import com.example.whereabouts.projects.ProjectId;
@@ -22,9 +23,11 @@ import static com.example.whereabouts.jooq.Tables.PROJECT;
 class JooqProjectRepository implements ProjectRepository {
 
     private final DSLContext dsl;
+    private final SequenceIdAllocator ids;
 
     JooqProjectRepository(DSLContext dsl) {
         this.dsl = dsl;
+        this.ids = new SequenceIdAllocator(dsl, PROJECT_ID_SEQ);
     }
 
     @Override
@@ -50,7 +53,7 @@ class JooqProjectRepository implements ProjectRepository {
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public ProjectId insert(ProjectData data) {
-        var id = new ProjectId(dsl.nextval(PROJECT_ID_SEQ));
+        var id = new ProjectId(ids.nextId());
         dsl.insertInto(PROJECT)
                 .set(PROJECT.PROJECT_ID, id)
                 .set(PROJECT.VERSION, 1L)
@@ -0,0 +1,156 @@
+package com.example.whereabouts.projects.repository;
+
+import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.projects.ProjectId;
+import com.example.whereabouts.projects.TaskData;
+import com.example.whereabouts.projects.TaskStatus;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.example.whereabouts.jooq.Tables.PROJECT_ASSIGNEE;
+import static com.example.whereabouts.jooq.Tables.PROJECT_STATS;
+import static org.jooq.impl.DSL.excluded;
+
+/**
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@Component
+@NullMarked
+class JooqProjectStatsRepository implements ProjectStatsRepository {
+
+    private static final Comparator<ProjectId> PROJECT_ORDER = Comparator.comparingLong(ProjectId::value);
+    private static final Comparator<Assignment> ASSIGNMENT_ORDER = Comparator
+            .comparing(Assignment::project, PROJECT_ORDER)
+            .thenComparingLong(assignment -> assignment.employee().value());
+
+    private final DSLContext dsl;
+
+    JooqProjectStatsRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void adjust(@Nullable TaskData before, @Nullable TaskData after) {
+        // The rows are updated in the order of their keys, so that concurrent transactions cannot deadlock
+        var deltas = new TreeMap<ProjectId, Delta>(PROJECT_ORDER);
+        var assignments = new TreeMap<Assignment, Integer>(ASSIGNMENT_ORDER);
+        if (before != null) {
+            collect(before, -1, deltas, assignments);
+        }
+        if (after != null) {
+            collect(after, 1, deltas, assignments);
+        }
+
+        assignments.forEach((assignment, delta) -> {
+            if (delta > 0 && assign(assignment)) {
+                deltas.get(assignment.project()).assignees++;
+            } else if (delta < 0 && unassign(assignment)) {
+                deltas.get(assignment.project()).assignees--;
+            }
+        });
+
+        deltas.forEach((project, delta) -> {
+            if (!delta.isZero()) {
+                dsl.insertInto(PROJECT_STATS,
+                                PROJECT_STATS.PROJECT_ID,
+                                PROJECT_STATS.TASKS,
+                                PROJECT_STATS.ASSIGNEES,
+                                PROJECT_STATS.PENDING_TASKS,
+                                PROJECT_STATS.PLANNED_TASKS,
+                                PROJECT_STATS.IN_PROGRESS_TASKS,
+                                PROJECT_STATS.PAUSED_TASKS,
+                                PROJECT_STATS.DONE_TASKS)
+                        .values(project,
+                                delta.tasks,
+                                delta.assignees,
+                                delta.tasks(TaskStatus.PENDING),
+                                delta.tasks(TaskStatus.PLANNED),
+                                delta.tasks(TaskStatus.IN_PROGRESS),
+                                delta.tasks(TaskStatus.PAUSED),
+                                delta.tasks(TaskStatus.DONE))
+                        .onConflict(PROJECT_STATS.PROJECT_ID)
+                        .doUpdate()
+                        .set(PROJECT_STATS.TASKS, PROJECT_STATS.TASKS.plus(excluded(PROJECT_STATS.TASKS)))
+                        .set(PROJECT_STATS.ASSIGNEES, PROJECT_STATS.ASSIGNEES.plus(excluded(PROJECT_STATS.ASSIGNEES)))
+                        .set(PROJECT_STATS.PENDING_TASKS, PROJECT_STATS.PENDING_TASKS.plus(excluded(PROJECT_STATS.PENDING_TASKS)))
+                        .set(PROJECT_STATS.PLANNED_TASKS, PROJECT_STATS.PLANNED_TASKS.plus(excluded(PROJECT_STATS.PLANNED_TASKS)))
+                        .set(PROJECT_STATS.IN_PROGRESS_TASKS, PROJECT_STATS.IN_PROGRESS_TASKS.plus(excluded(PROJECT_STATS.IN_PROGRESS_TASKS)))
+                        .set(PROJECT_STATS.PAUSED_TASKS, PROJECT_STATS.PAUSED_TASKS.plus(excluded(PROJECT_STATS.PAUSED_TASKS)))
+                        .set(PROJECT_STATS.DONE_TASKS, PROJECT_STATS.DONE_TASKS.plus(excluded(PROJECT_STATS.DONE_TASKS)))
+                        .execute();
+            }
+        });
+    }
+
+    private static void collect(TaskData task, int sign, Map<ProjectId, Delta> deltas,
+                                Map<Assignment, Integer> assignments) {
+        var delta = deltas.computeIfAbsent(task.project(), project -> new Delta());
+        delta.tasks += sign;
+        delta.statuses.merge(task.status(), sign, Integer::sum);
+        task.assignees().forEach(employee ->
+                assignments.merge(new Assignment(task.project(), employee), sign, Integer::sum));
+    }
+
+    /**
+     * Returns whether the employee was not assigned to any other task of the project.
+     */
+    private boolean assign(Assignment assignment) {
+        return dsl.insertInto(PROJECT_ASSIGNEE)
+                .set(PROJECT_ASSIGNEE.PROJECT_ID, assignment.project())
+                .set(PROJECT_ASSIGNEE.EMPLOYEE_ID, assignment.employee())
+                .set(PROJECT_ASSIGNEE.TASKS, 1)
+                .onConflict(PROJECT_ASSIGNEE.PROJECT_ID, PROJECT_ASSIGNEE.EMPLOYEE_ID)
+                .doUpdate()
+                .set(PROJECT_ASSIGNEE.TASKS, PROJECT_ASSIGNEE.TASKS.plus(1))
+                .returning(PROJECT_ASSIGNEE.TASKS)
+                .fetchSingle(PROJECT_ASSIGNEE.TASKS) == 1;
+    }
+
+    /**
+     * Returns whether the employee is no longer assigned to any task of the project.
+     */
+    private boolean unassign(Assignment assignment) {
+        var condition = PROJECT_ASSIGNEE.PROJECT_ID.eq(assignment.project())
+                .and(PROJECT_ASSIGNEE.EMPLOYEE_ID.eq(assignment.employee()));
+        // The update locks the row, so a concurrent transaction cannot assign the employee again before the row is
+        // deleted.
+        var tasks = dsl.update(PROJECT_ASSIGNEE)
+                .set(PROJECT_ASSIGNEE.TASKS, PROJECT_ASSIGNEE.TASKS.minus(1))
+                .where(condition)
+                .returning(PROJECT_ASSIGNEE.TASKS)
+                .fetchOptional(PROJECT_ASSIGNEE.TASKS);
+        if (tasks.isPresent() && tasks.get() <= 0) {
+            dsl.deleteFrom(PROJECT_ASSIGNEE).where(condition).execute();
+            return true;
+        }
+        return false;
+    }
+
+    private record Assignment(ProjectId project, EmployeeId employee) {
+    }
+
+    private static final class Delta {
+
+        private final Map<TaskStatus, Integer> statuses = new EnumMap<>(TaskStatus.class);
+        private int tasks;
+        private int assignees;
+
+        int tasks(TaskStatus status) {
+            return statuses.getOrDefault(status, 0);
+        }
+
+        boolean isZero() {
+            return tasks == 0 && assignees == 0 && statuses.values().stream().allMatch(delta -> delta == 0);
+        }
+    }
+}
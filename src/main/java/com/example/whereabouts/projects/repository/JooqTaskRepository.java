@@ -1,18 +1,24 @@
 package com.example.whereabouts.projects.repository;
 
 import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.jooq.support.ChildRows;
+import com.example.whereabouts.jooq.support.SearchConditions;
+import com.example.whereabouts.jooq.support.SequenceIdAllocator;
 import com.example.whereabouts.projects.*;
 import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.provider.SortOrder;
 import org.jooq.*;
 import org.jooq.Record;
 import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -31,16 +37,19 @@ class JooqTaskRepository implements TaskRepository {
     private static final Field<Result<Record1<EmployeeId>>> ASSIGNEES = DSL.multiset(
             DSL.select(TASK_ASSIGNEE.EMPLOYEE_ID).from(TASK_ASSIGNEE).where(TASK_ASSIGNEE.TASK_ID.eq(TASK.TASK_ID))
     );
+    private static final SortOrder<TaskSortableProperty> DEFAULT_SEARCH_SORT_ORDER = new SortOrder<>(TaskSortableProperty.RELEVANCE, SortDirection.DESCENDING);
     private final DSLContext dsl;
+    private final SequenceIdAllocator ids;
 
     JooqTaskRepository(@NonNull DSLContext dsl) {
         this.dsl = dsl;
+        this.ids = new SequenceIdAllocator(dsl, TASK_ID_SEQ);
     }
 
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public @NonNull TaskId insert(@NonNull TaskData data) {
-        var id = new TaskId(dsl.nextval(TASK_ID_SEQ));
+        var id = new TaskId(ids.nextId());
         dsl.insertInto(TASK)
                 .set(TASK.TASK_ID, id)
                 .set(TASK.VERSION, 1L)
@@ -61,7 +70,10 @@ class JooqTaskRepository implements TaskRepository {
     @Override
     public @NonNull Task update(@NonNull Task task) {
         var newVersion = task.version() + 1;
-        var rowsUpdated = dsl.update(TASK)
+        var currentAssignees = DSL.field(DSL.select(DSL.arrayAgg(TASK_ASSIGNEE.EMPLOYEE_ID.cast(SQLDataType.BIGINT)))
+                .from(TASK_ASSIGNEE)
+                .where(TASK_ASSIGNEE.TASK_ID.eq(TASK.TASK_ID)));
+        var updated = dsl.update(TASK)
                 .set(TASK.VERSION, newVersion)
                 .set(TASK.PROJECT_ID, task.data().project())
                 .set(TASK.DESCRIPTION, task.data().description())
@@ -73,17 +85,24 @@ class JooqTaskRepository implements TaskRepository {
                 .set(TASK.TASK_PRIORITY, task.data().priority())
                 .where(TASK.TASK_ID.eq(task.id()))
                 .and(TASK.VERSION.eq(task.version()))
-                .execute();
+                // The subquery sees the assignees as they were before this update
+                .returningResult(currentAssignees)
+                .fetchOptional();
 
-        if (rowsUpdated == 0) {
+        if (updated.isEmpty()) {
             throw new OptimisticLockingFailureException("Task was modified by another user");
         }
 
-        dsl.deleteFrom(TASK_ASSIGNEE)
-                .where(TASK_ASSIGNEE.TASK_ID.eq(task.id()))
-                .execute();
-
-        insertAssignees(task.id(), task.data().assignees());
+        var current = updated.get().value1();
+        ChildRows.synchronize(
+                current == null ? List.<EmployeeId>of() : Stream.of(current).map(EmployeeId::new).toList(),
+                task.data().assignees(),
+                removed -> dsl.deleteFrom(TASK_ASSIGNEE)
+                        .where(TASK_ASSIGNEE.TASK_ID.eq(task.id()))
+                        .and(TASK_ASSIGNEE.EMPLOYEE_ID.in(removed))
+                        .execute(),
+                added -> insertAssignees(task.id(), added)
+        );
 
         return new Task(task.id(), newVersion, task.data());
     }
@@ -106,17 +125,65 @@ class JooqTaskRepository implements TaskRepository {
 
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
-    public void deleteById(@NonNull TaskId id) {
+    public @NonNull Optional<ProjectId> deleteById(@NonNull TaskId id) {
         dsl.deleteFrom(TASK_ASSIGNEE)
                 .where(TASK_ASSIGNEE.TASK_ID.eq(id))
                 .execute();
-        dsl.deleteFrom(TASK)
+        return dsl.deleteFrom(TASK)
                 .where(TASK.TASK_ID.eq(id))
-                .execute();
+                .returning(TASK.PROJECT_ID)
+                .fetchOptional(TASK.PROJECT_ID);
     }
 
     @Override
     public @NonNull Optional<Task> findById(@NonNull TaskId id) {
+        return selectTask()
+                .where(TASK.TASK_ID.eq(id))
+                .fetchOptional(this::toTask);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public @NonNull Optional<Task> findByIdForUpdate(@NonNull TaskId id) {
+        return selectTask()
+                .where(TASK.TASK_ID.eq(id))
+                .forUpdate()
+                .of(TASK)
+                .fetchOptional(this::toTask);
+    }
+
+    @Override
+    public @NonNull Stream<Task> findByFilter(@NonNull ProjectId project, @NonNull TaskFilter filter, int limit, int offset, @NonNull List<SortOrder<TaskSortableProperty>> sortOrders) {
+        var tsQuery = SearchConditions.toPrefixTsQuery(filter.searchTerm());
+        return selectTask()
+                .where(TASK.PROJECT_ID.eq(project))
+                .and(toCondition(filter, tsQuery))
+                .orderBy(toOrderFields(withDefaultSortOrder(sortOrders, tsQuery), tsQuery))
+                .limit(limit)
+                .offset(offset)
+                .fetch(this::toTask)
+                .stream();
+    }
+
+    @Override
+    public @NonNull Stream<Task> findByFilterAfter(@NonNull ProjectId project, @NonNull TaskFilter filter, @NonNull Task after, int limit, int offset, @NonNull List<SortOrder<TaskSortableProperty>> sortOrders) {
+        var tsQuery = SearchConditions.toPrefixTsQuery(filter.searchTerm());
+        var effectiveSortOrders = withDefaultSortOrder(sortOrders, tsQuery);
+        var seekCondition = toSeekCondition(after, effectiveSortOrders);
+        if (seekCondition == null) {
+            return findByFilter(project, filter, limit, offset, sortOrders);
+        }
+        return selectTask()
+                .where(TASK.PROJECT_ID.eq(project))
+                .and(toCondition(filter, tsQuery))
+                .and(seekCondition)
+                .orderBy(toOrderFields(effectiveSortOrders, tsQuery))
+                .limit(limit)
+                .fetch(this::toTask)
+                .stream();
+    }
+
+    private @NonNull SelectJoinStep<? extends Record> selectTask() {
         return dsl
                 .select(TASK.TASK_ID,
                         TASK.VERSION,
@@ -129,16 +196,13 @@ class JooqTaskRepository implements TaskRepository {
                         TASK.TASK_PRIORITY,
                         ASSIGNEES
                 )
-                .from(TASK)
-                .where(TASK.TASK_ID.eq(id))
-                .fetchOptional(this::toTask);
+                .from(TASK);
     }
 
-    @Override
-    public @NonNull Stream<Task> findByFilter(@NonNull ProjectId project, @NonNull TaskFilter filter, int limit, int offset, @NonNull List<SortOrder<TaskSortableProperty>> sortOrders) {
+    private @NonNull Condition toCondition(@NonNull TaskFilter filter, @Nullable String tsQuery) {
         Condition condition = DSL.trueCondition();
-        if (!filter.searchTerm().isBlank()) {
-            condition = condition.and(TASK.DESCRIPTION.containsIgnoreCase(filter.searchTerm()));
+        if (tsQuery != null) {
+            condition = condition.and(SearchConditions.matchesTsQuery(TASK.DESCRIPTION_TSV, tsQuery));
         }
         if (!filter.statuses().isEmpty()) {
             condition = condition.and(TASK.TASK_STATUS.in(filter.statuses()));
@@ -146,26 +210,7 @@ class JooqTaskRepository implements TaskRepository {
         if (!filter.priorities().isEmpty()) {
             condition = condition.and(TASK.TASK_PRIORITY.in(filter.priorities()));
         }
-        return dsl
-                .select(TASK.TASK_ID,
-                        TASK.VERSION,
-                        TASK.PROJECT_ID,
-                        TASK.DESCRIPTION,
-                        TASK.DUE_DATE,
-                        TASK.DUE_TIME,
-                        TASK.TIME_ZONE,
-                        TASK.TASK_STATUS,
-                        TASK.TASK_PRIORITY,
-                        ASSIGNEES
-                )
-                .from(TASK)
-                .where(TASK.PROJECT_ID.eq(project))
-                .and(condition)
-                .orderBy(sortOrders.stream().map(this::toOrderField).toList())
-                .limit(limit)
-                .offset(offset)
-                .fetch(this::toTask)
-                .stream();
+        return condition;
     }
 
     private @NonNull Task toTask(@NonNull Record record) {
@@ -188,16 +233,78 @@ class JooqTaskRepository implements TaskRepository {
         );
     }
 
-    private @NonNull OrderField<?> toOrderField(@NonNull SortOrder<TaskSortableProperty> sortOrder) {
+    private static @NonNull List<SortOrder<TaskSortableProperty>> withDefaultSortOrder(@NonNull List<SortOrder<TaskSortableProperty>> sortOrders, @Nullable String tsQuery) {
+        // When searching without sorting by any column, the most relevant tasks come first
+        return sortOrders.isEmpty() && tsQuery != null ? List.of(DEFAULT_SEARCH_SORT_ORDER) : sortOrders;
+    }
+
+    private @NonNull List<OrderField<?>> toOrderFields(@NonNull List<SortOrder<TaskSortableProperty>> sortOrders, @Nullable String tsQuery) {
+        var orderFields = new ArrayList<OrderField<?>>();
+        sortOrders.forEach(sortOrder -> {
+            var orderField = toOrderField(sortOrder, tsQuery);
+            if (orderField != null) {
+                orderFields.add(orderField);
+            }
+        });
+        // The task ID is used as a tiebreaker, to make the order stable. Keyset pagination relies on this.
+        orderFields.add(sortOrders.isEmpty() || isAscending(sortOrders.getLast()) ? TASK.TASK_ID.asc() : TASK.TASK_ID.desc());
+        return orderFields;
+    }
+
+    private @Nullable OrderField<?> toOrderField(@NonNull SortOrder<TaskSortableProperty> sortOrder, @Nullable String tsQuery) {
         return switch (sortOrder.getSorted()) {
-            case STATUS ->
-                    sortOrder.getDirection() == SortDirection.ASCENDING ? TASK.TASK_STATUS.asc() : TASK.TASK_STATUS.desc();
-            case DESCRIPTION ->
-                    sortOrder.getDirection() == SortDirection.ASCENDING ? TASK.DESCRIPTION.asc() : TASK.DESCRIPTION.desc();
-            case DUE_DATE ->
-                    sortOrder.getDirection() == SortDirection.ASCENDING ? TASK.DUE_DATE_TIME.asc() : TASK.DUE_DATE_TIME.desc();
-            case PRIORITY ->
-                    sortOrder.getDirection() == SortDirection.ASCENDING ? TASK.TASK_PRIORITY.asc() : TASK.TASK_PRIORITY.desc();
+            case STATUS -> isAscending(sortOrder) ? TASK.TASK_STATUS.asc() : TASK.TASK_STATUS.desc();
+            case DESCRIPTION -> isAscending(sortOrder) ? TASK.DESCRIPTION.asc() : TASK.DESCRIPTION.desc();
+            case DUE_DATE -> isAscending(sortOrder) ? TASK.DUE_DATE_TIME.asc() : TASK.DUE_DATE_TIME.desc();
+            case PRIORITY -> isAscending(sortOrder) ? TASK.TASK_PRIORITY.asc() : TASK.TASK_PRIORITY.desc();
+            case RELEVANCE -> {
+                if (tsQuery == null) {
+                    yield null; // Without a search term, all tasks are equally relevant
+                }
+                var rank = SearchConditions.tsRank(TASK.DESCRIPTION_TSV, tsQuery);
+                yield isAscending(sortOrder) ? rank.asc() : rank.desc();
+            }
         };
     }
+
+    private @Nullable Condition toSeekCondition(@NonNull Task after, @NonNull List<SortOrder<TaskSortableProperty>> sortOrders) {
+        if (sortOrders.isEmpty()) {
+            return TASK.TASK_ID.gt(after.id());
+        }
+        if (sortOrders.size() > 1) {
+            // The grid only sorts by one column at a time. If this changes, we need to add support for it here.
+            return null;
+        }
+        var sortOrder = sortOrders.getFirst();
+        var ascending = isAscending(sortOrder);
+        return switch (sortOrder.getSorted()) {
+            case STATUS -> seek(TASK.TASK_STATUS, after.data().status(), ascending, after.id());
+            case DESCRIPTION -> seek(TASK.DESCRIPTION, after.data().description(), ascending, after.id());
+            case DUE_DATE -> seekNullable(TASK.DUE_DATE_TIME, after.data().dueDateTime(), ascending, after.id());
+            case PRIORITY -> seek(TASK.TASK_PRIORITY, after.data().priority(), ascending, after.id());
+            case RELEVANCE -> null; // The rank is calculated by the query, so there is nothing to seek on
+        };
+    }
+
+    private static <T> @NonNull Condition seek(@NonNull Field<T> key, @NonNull T value, boolean ascending, @NonNull TaskId after) {
+        var row = DSL.row(key, TASK.TASK_ID);
+        return ascending ? row.gt(value, after) : row.lt(value, after);
+    }
+
+    private static <T> @NonNull Condition seekNullable(@NonNull Field<T> key, @Nullable T value, boolean ascending, @NonNull TaskId after) {
+        // PostgreSQL puts nulls last when sorting in ascending order, and first when sorting in descending order.
+        if (value == null) {
+            return ascending
+                    ? key.isNull().and(TASK.TASK_ID.gt(after))
+                    : key.isNull().and(TASK.TASK_ID.lt(after)).or(key.isNotNull());
+        } else {
+            return ascending
+                    ? seek(key, value, true, after).or(key.isNull())
+                    : seek(key, value, false, after);
+        }
+    }
+
+    private static boolean isAscending(@NonNull SortOrder<TaskSortableProperty> sortOrder) {
+        return sortOrder.getDirection() == SortDirection.ASCENDING;
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.whereabouts.projects.repository;
+
+import com.example.whereabouts.common.Repository;
+import com.example.whereabouts.projects.TaskData;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Repository for the task statistics of projects. The statistics are a read model that has to be adjusted in the
+ * same transaction as every change to the tasks of a project.
+ *
+ * @see "Design Decision: DD009-20251029-jooq-user-types.md"
+ */
+@NullMarked
+public interface ProjectStatsRepository extends Repository {
+
+    /**
+     * Adjusts the statistics by the difference between the task before and after a change. If the task moved to
+     * another project, the statistics of both projects are adjusted.
+     *
+     * @param before the task before the change, or {@code null} if the task was inserted.
+     * @param after  the task after the change, or {@code null} if the task was deleted.
+     */
+    void adjust(@Nullable TaskData before, @Nullable TaskData after);
+}
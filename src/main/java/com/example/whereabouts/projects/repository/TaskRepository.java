@@ -18,11 +18,28 @@ public interface TaskRepository extends Repository {
 
     Optional<Task> findById(TaskId id);
 
+    /**
+     * Returns the task with the given ID and locks it until the end of the transaction, so that it cannot be changed
+     * by anyone else before it is updated or deleted.
+     */
+    Optional<Task> findByIdForUpdate(TaskId id);
+
     TaskId insert(TaskData data);
 
     Task update(Task task);
 
-    void deleteById(TaskId id);
+    /**
+     * Deletes the task with the given ID, returning the project it belonged to, or an empty {@code Optional} if the
+     * task did not exist.
+     */
+    Optional<ProjectId> deleteById(TaskId id);
 
     Stream<Task> findByFilter(ProjectId project, TaskFilter filter, int limit, int offset, List<SortOrder<TaskSortableProperty>> sortOrders);
+
+    /**
+     * Returns the tasks that come right after the given task, using keyset pagination. Sort orders that cannot be
+     * used for keyset pagination fall back to offset pagination, which is why the offset of the first task to
+     * return is also needed.
+     */
+    Stream<Task> findByFilterAfter(ProjectId project, TaskFilter filter, Task after, int limit, int offset, List<SortOrder<TaskSortableProperty>> sortOrders);
 }
@@ -25,6 +25,7 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.SortOrder;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.Route;
@@ -59,11 +60,15 @@ class ProjectDetailsView extends VerticalLayout {
         final ValueSignal<TaskFilter> filter = new ValueSignal<>(TaskFilter.empty());
         final ValueSignal<Project> project = new ValueSignal<>(Project.class);
         final DataProvider<Task, Void> tasks;
+        final EmployeeReferenceLoader assignees;
+        private final KeysetPager<Task> taskPager = new KeysetPager<>();
 
         ViewModel(Component owner, Supplier<ProjectListView.ViewModel> parentViewModel,
-                  TaskService taskService) {
+                  TaskService taskService, EmployeeService employeeService,
+                  DataChangeBroadcaster dataChangeBroadcaster) {
             this.taskService = taskService;
             this.parentViewModel = parentViewModel;
+            assignees = new EmployeeReferenceLoader(employeeService::findReferencesByIds);
             tasks = new CallbackDataProvider<>(
                     query -> {
                         // The data provider requires us to always call these methods, or it will throw an exception.
@@ -74,8 +79,15 @@ class ProjectDetailsView extends VerticalLayout {
                         if (projectId == null) {
                             return Stream.empty();
                         } else {
-                            return taskService.findTasks(projectId, filter.peek(), limit, offset,
-                                    SortOrderUtil.toSortOrderList(TaskSortableProperty::valueOf, query.getSortOrders()));
+                            var taskFilter = filter.peek();
+                            var sortOrders = SortOrderUtil.toSortOrderList(TaskSortableProperty::valueOf, query.getSortOrders());
+                            var page = taskPager.fetch(List.of(projectId, taskFilter, toKey(sortOrders)), offset, limit,
+                                    (o, l) -> taskService.findTasks(projectId, taskFilter, l, o, sortOrders).toList(),
+                                    (after, o, l) -> taskService.findTasksAfter(projectId, taskFilter, after, l, o, sortOrders).toList());
+                            // Load the assignees of the entire page in one go, so that the renderers don't have to
+                            // look them up row by row.
+                            assignees.prime(page.stream().flatMap(task -> task.data().assignees().stream()).toList());
+                            return page.stream();
                         }
                     },
                     query -> {
@@ -83,6 +95,8 @@ class ProjectDetailsView extends VerticalLayout {
                     },
                     Task::id
             );
+            tasks.addDataProviderListener(event -> assignees.clear());
+            dataChangeBroadcaster.subscribe(owner, TaskChangedEvent.class, this::onTasksChanged);
             owner.addAttachListener(event -> event.getUI().getPage()
                     // TODO Would be awesome if we could access the extendedClientDetails directly as a signal
                     .retrieveExtendedClientDetails(extendedClientDetails ->
@@ -103,6 +117,28 @@ class ProjectDetailsView extends VerticalLayout {
             });
         }
 
+        private void onTasksChanged(Set<TaskChangedEvent> events) {
+            var currentProject = project.peek();
+            if (currentProject == null) {
+                return;
+            }
+            var changes = events.stream().filter(event -> event.affects(currentProject.id())).toList();
+            if (changes.isEmpty()) {
+                return;
+            }
+            // New, deleted and moved tasks change the positions of the other tasks, so they can't be refreshed one by one
+            if (changes.size() > DataChangeBroadcaster.TARGETED_REFRESH_LIMIT
+                || changes.stream().anyMatch(event -> event.isInserted() || event.isDeleted() || event.isMoved())) {
+                tasks.refreshAll();
+            } else {
+                changes.forEach(event -> taskService.findTaskById(event.id()).ifPresent(tasks::refreshItem));
+            }
+        }
+
+        private static List<String> toKey(List<SortOrder<TaskSortableProperty>> sortOrders) {
+            return sortOrders.stream().map(sortOrder -> sortOrder.getSorted() + " " + sortOrder.getDirection()).toList();
+        }
+
         void addTask(TaskData newTaskData) {
             taskService.insertTask(newTaskData);
             tasks.refreshAll();
@@ -130,10 +166,10 @@ class ProjectDetailsView extends VerticalLayout {
     private final ViewModel viewModel;
     private final EmployeeService employeeService;
 
-    ProjectDetailsView(AuthenticationContext authenticationContext,
-                       TaskService taskService, EmployeeService employeeService) {
+    ProjectDetailsView(AuthenticationContext authenticationContext, TaskService taskService,
+                       EmployeeService employeeService, DataChangeBroadcaster dataChangeBroadcaster) {
         this.employeeService = employeeService;
-        this.viewModel = new ViewModel(this, this::getParentViewModel, taskService);
+        this.viewModel = new ViewModel(this, this::getParentViewModel, taskService, employeeService, dataChangeBroadcaster);
         var canCreate = authenticationContext.hasRole(AppRoles.TASK_CREATE);
         var canUpdate = authenticationContext.hasRole(AppRoles.TASK_UPDATE);
         var canDelete = authenticationContext.hasRole(AppRoles.TASK_DELETE);
@@ -295,7 +331,7 @@ class ProjectDetailsView extends VerticalLayout {
 
                 var assignees = new AvatarGroup();
                 var nameFormatter = PersonNameFormatter.firstLast();
-                employeeService.findReferencesByIds(task.data().assignees()).stream()
+                viewModel.assignees.get(task.data().assignees()).stream()
                         .map(assignee -> new AvatarGroup.AvatarGroupItem(nameFormatter.toFullName(assignee)))
                         .forEach(assignees::add);
                 return assignees;
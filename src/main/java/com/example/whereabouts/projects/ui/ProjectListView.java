@@ -2,6 +2,7 @@ package com.example.whereabouts.projects.ui;
 
 import com.example.whereabouts.MainLayout;
 import com.example.whereabouts.common.ui.AppIcon;
+import com.example.whereabouts.common.ui.DataChangeBroadcaster;
 import com.example.whereabouts.common.ui.SectionToolbar;
 import com.example.whereabouts.projects.*;
 import com.example.whereabouts.security.AppRoles;
@@ -35,6 +36,8 @@ import com.vaadin.signals.ValueSignal;
 import jakarta.annotation.security.RolesAllowed;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ParentLayout(MainLayout.class)
 @Route(value = "projects", layout = MainLayout.class)
@@ -51,7 +54,7 @@ class ProjectListView extends MasterDetailLayout implements AfterNavigationObser
         final ValueSignal<String> searchTerm = new ValueSignal<>("");
         final ValueSignal<ProjectId> selectedProjectId = new ValueSignal<>(ProjectId.class);
 
-        ViewModel(Component owner, ProjectService projectService) {
+        ViewModel(Component owner, ProjectService projectService, DataChangeBroadcaster dataChangeBroadcaster) {
             this.projectService = projectService;
             projects = new CallbackDataProvider<>(
                     query ->
@@ -65,6 +68,10 @@ class ProjectListView extends MasterDetailLayout implements AfterNavigationObser
                     },
                     ProjectListItem::projectId
             );
+            // Projects are only ever inserted, whereas task changes affect the task and assignee counts
+            dataChangeBroadcaster.subscribe(owner, ProjectChangedEvent.class, events -> projects.refreshAll());
+            dataChangeBroadcaster.subscribe(owner, TaskChangedEvent.class, events -> refreshProjects(
+                    events.stream().flatMap(TaskChangedEvent::affectedProjects).collect(Collectors.toSet())));
             ComponentEffect.effect(owner, () -> {
                 // TODO This is a workaround until we get better API support. The data provider is not an effect,
                 //  nor is it a component, so it can't refresh itself when the sortOrder or searchTerm changes,
@@ -83,6 +90,14 @@ class ProjectListView extends MasterDetailLayout implements AfterNavigationObser
             });
         }
 
+        private void refreshProjects(Set<ProjectId> projectIds) {
+            if (projectIds.size() > DataChangeBroadcaster.TARGETED_REFRESH_LIMIT) {
+                projects.refreshAll();
+            } else {
+                projectIds.forEach(projectId -> projectService.findProjectListItemById(projectId).ifPresent(projects::refreshItem));
+            }
+        }
+
         void addProject(ProjectData newProjectData) {
             var projectId = projectService.insert(newProjectData);
             projects.refreshAll();
@@ -93,9 +108,10 @@ class ProjectListView extends MasterDetailLayout implements AfterNavigationObser
     final ViewModel viewModel;
     private final ProjectService projectService;
 
-    ProjectListView(AuthenticationContext authenticationContext, ProjectService projectService) {
+    ProjectListView(AuthenticationContext authenticationContext, ProjectService projectService,
+                    DataChangeBroadcaster dataChangeBroadcaster) {
         this.projectService = projectService;
-        this.viewModel = new ViewModel(this, projectService);
+        this.viewModel = new ViewModel(this, projectService, dataChangeBroadcaster);
         var canCreate = authenticationContext.hasRole(AppRoles.PROJECT_CREATE);
 
         var projectList = createProjectList(canCreate);
@@ -1,5 +1,6 @@
 package com.example.whereabouts.security.repository;
 
+import com.example.whereabouts.jooq.support.SequenceIdAllocator;
 import com.example.whereabouts.jooq.tables.records.AppUserRoleRecord;
 import com.example.whereabouts.security.User;
 import com.example.whereabouts.security.UserId;
@@ -23,15 +24,17 @@ import static com.example.whereabouts.jooq.Tables.APP_USER_ROLE;
 class JooqUserRepository implements UserRepository {
 
     private final DSLContext dsl;
+    private final SequenceIdAllocator ids;
 
     JooqUserRepository(DSLContext dsl) {
         this.dsl = dsl;
+        this.ids = new SequenceIdAllocator(dsl, APP_USER_ID_SEQ);
     }
 
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public UserId insert(String username, @Nullable String password, String displayName, Set<String> roles) {
-        var id = new UserId(dsl.nextval(APP_USER_ID_SEQ));
+        var id = new UserId(ids.nextId());
         dsl.insertInto(APP_USER)
                 .set(APP_USER.USER_ID, id.value())
                 .set(APP_USER.VERSION, 1L)
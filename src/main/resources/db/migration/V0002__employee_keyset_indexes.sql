@@ -0,0 +1,9 @@
+-- The employee list is paged using keyset pagination (see JooqEmployeeReferenceQuery). These indexes match the sort
+-- orders of the list, with employee_id as tiebreaker. The same indexes are used when sorting in descending order.
+
+create index employee_last_name_first_name_idx on employee (last_name, first_name, employee_id);
+create index employee_first_name_last_name_idx on employee (first_name, last_name, employee_id);
+
+-- These are covered by the indexes above
+drop index employee_user_first_name_idx;
+drop index employee_user_last_name_idx;
@@ -0,0 +1,13 @@
+-- The task grid always shows the tasks of a single project, and is paged using keyset pagination (see
+-- JooqTaskRepository). These indexes match the sortable columns of the grid, with task_id as tiebreaker.
+
+create index task_project_id_task_id_idx on task (project_id, task_id);
+create index task_project_id_status_idx on task (project_id, task_status, task_id);
+create index task_project_id_description_idx on task (project_id, description, task_id);
+create index task_project_id_due_date_time_idx on task (project_id, due_date_time, task_id);
+create index task_project_id_priority_idx on task (project_id, task_priority, task_id);
+
+-- These are covered by the indexes above
+drop index task_project_id_idx;
+drop index task_status_idx;
+drop index task_priority_idx;
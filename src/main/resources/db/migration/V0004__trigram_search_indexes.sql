@@ -0,0 +1,12 @@
+-- Search boxes use case-insensitive substring matching (ILIKE '%term%'), which btree indexes cannot serve. Trigram
+-- indexes can. See SearchConditions.
+
+create extension if not exists pg_trgm;
+
+create index employee_first_name_trgm_idx on employee using gin (first_name gin_trgm_ops);
+create index employee_last_name_trgm_idx on employee using gin (last_name gin_trgm_ops);
+create index project_name_trgm_idx on project using gin (name gin_trgm_ops);
+create index location_name_trgm_idx on location using gin (name gin_trgm_ops);
+
+-- The middle name is neither searched nor sorted on
+drop index employee_user_middle_name_idx;
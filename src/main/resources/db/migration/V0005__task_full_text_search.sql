@@ -0,0 +1,10 @@
+-- Task descriptions are searched using full-text search (see JooqTaskRepository). The simple configuration is used
+-- because the descriptions can be written in any language. It must match the configuration used by SearchConditions.
+
+alter table task
+    add column description_tsv tsvector generated always as (to_tsvector('simple', description)) stored;
+
+create index task_description_tsv_idx on task using gin (description_tsv);
+
+-- This index was never used for searching. Sorting by description uses task_project_id_description_idx.
+drop index task_description_idx;
@@ -0,0 +1,17 @@
+-- Number of active employees per location, maintained by JooqEmploymentDetailsRepository whenever employment details
+-- are inserted or updated. This keeps the location tree from having to count all employees every time it is expanded.
+-- LocationHeadcountReconciler periodically repairs any drift.
+
+create table location_headcount
+(
+    location_id bigint not null,
+    employees   int    not null,
+    primary key (location_id),
+    foreign key (location_id) references location (location_id)
+);
+
+insert into location_headcount (location_id, employees)
+select location_id, count(*)
+from employment_details
+where employment_status = 'ACTIVE'
+group by location_id;
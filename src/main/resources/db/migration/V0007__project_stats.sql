@@ -0,0 +1,34 @@
+-- Task statistics per project, recomputed by TaskService whenever a task of the project is inserted, updated or
+-- deleted. The project list reads the statistics from here instead of counting the tasks and assignees of every
+-- project on every page.
+
+create table project_stats
+(
+    project_id        bigint not null,
+    tasks             int    not null,
+    assignees         int    not null,
+    pending_tasks     int    not null,
+    planned_tasks     int    not null,
+    in_progress_tasks int    not null,
+    paused_tasks      int    not null,
+    done_tasks        int    not null,
+    primary key (project_id),
+    foreign key (project_id) references project (project_id)
+);
+
+insert into project_stats (project_id, tasks, assignees, pending_tasks, planned_tasks, in_progress_tasks, paused_tasks,
+                           done_tasks)
+select p.project_id,
+       count(t.task_id),
+       (select count(distinct ta.employee_id)
+        from task_assignee ta
+                 join task at on at.task_id = ta.task_id
+        where at.project_id = p.project_id),
+       count(t.task_id) filter (where t.task_status = 'PENDING'),
+       count(t.task_id) filter (where t.task_status = 'PLANNED'),
+       count(t.task_id) filter (where t.task_status = 'IN_PROGRESS'),
+       count(t.task_id) filter (where t.task_status = 'PAUSED'),
+       count(t.task_id) filter (where t.task_status = 'DONE')
+from project p
+         left join task t on t.project_id = p.project_id
+group by p.project_id;
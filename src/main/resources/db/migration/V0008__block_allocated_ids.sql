@@ -0,0 +1,8 @@
+-- Every nextval reserves a block of 50 identifiers, which SequenceIdAllocator then hands out from memory. The increment
+-- must match SequenceIdAllocator.BLOCK_SIZE.
+
+alter sequence app_user_id_seq increment by 50;
+alter sequence location_id_seq increment by 50;
+alter sequence employee_id_seq increment by 50;
+alter sequence project_id_seq increment by 50;
+alter sequence task_id_seq increment by 50;
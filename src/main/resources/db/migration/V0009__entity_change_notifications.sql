@@ -0,0 +1,36 @@
+-- Every committed change to a cached entity is announced on the entity_change channel, so that all application nodes
+-- can evict their stale copies. The payload is "<table>:<id>:<new version>", see ChangeFeed. The notifications are
+-- sent by the write transaction itself, and are only delivered if it commits.
+
+create function notify_entity_change() returns trigger as
+$$
+begin
+    perform pg_notify('entity_change', tg_table_name || ':' || (to_jsonb(new) ->> tg_argv[0]) || ':' || new.version);
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger employee_entity_change
+    after update
+    on employee
+    for each row
+execute function notify_entity_change('employee_id');
+
+create trigger employment_details_entity_change
+    after update
+    on employment_details
+    for each row
+execute function notify_entity_change('employee_id');
+
+-- Location references are cached as a whole, so new locations must also be announced
+create trigger location_entity_change
+    after insert or update
+    on location
+    for each row
+execute function notify_entity_change('location_id');
+
+create trigger project_entity_change
+    after update
+    on project
+    for each row
+execute function notify_entity_change('project_id');
@@ -0,0 +1,17 @@
+-- Display names of all ISO countries in every supported locale, maintained by CountryDisplayNames when the application
+-- starts. This lets queries sort and filter by country name in the database, so that paging stays correct.
+--
+-- The rows are sorted by sort_order rather than by display_name, because the order comes from a java.text.Collator for
+-- the locale in question, and does not depend on the collations available in the database.
+
+create table country_display_name
+(
+    locale       varchar(35)  not null,
+    country      varchar(3)   not null,
+    display_name varchar(100) not null,
+    sort_order   int          not null,
+    primary key (locale, country)
+);
+
+create index country_display_name_sort_order_idx on country_display_name (locale, sort_order);
+create index country_display_name_display_name_idx on country_display_name (locale, display_name);
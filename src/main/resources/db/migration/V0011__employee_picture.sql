@@ -0,0 +1,9 @@
+-- The pictures of employees, stored in the PictureStore and referenced by the SHA-256 hash of their content.
+
+create table employee_picture
+(
+    employee_id  bigint   not null,
+    picture_hash char(64) not null,
+    primary key (employee_id),
+    foreign key (employee_id) references employee (employee_id)
+);
@@ -0,0 +1,37 @@
+-- Closure table of the reporting lines in employment_details.manager_employee_id: one row for every employee and every
+-- manager above them, at any depth (1 for the direct manager, 2 for the manager's manager, and so on). This turns
+-- "all reports under X" and "chain of command of X" into a single index lookup instead of a recursive query over the
+-- whole company. Maintained by JooqEmploymentDetailsRepository and EmployeeImporter, which also reject cycles.
+
+create table employee_hierarchy
+(
+    ancestor_employee_id   bigint not null,
+    descendant_employee_id bigint not null,
+    depth                  int    not null,
+    primary key (ancestor_employee_id, descendant_employee_id),
+    foreign key (ancestor_employee_id) references employee (employee_id),
+    foreign key (descendant_employee_id) references employee (employee_id),
+    constraint depth_is_positive check (depth > 0)
+);
+
+-- Reports of a manager by depth (the primary key covers all reports regardless of depth)
+create index employee_hierarchy_ancestor_depth_idx on employee_hierarchy (ancestor_employee_id, depth);
+-- Chain of command of an employee, nearest manager first
+create index employee_hierarchy_descendant_depth_idx on employee_hierarchy (descendant_employee_id, depth);
+
+-- Existing reporting lines should not contain cycles, but if they do, the cycles are left out instead of looping forever
+insert into employee_hierarchy (ancestor_employee_id, descendant_employee_id, depth)
+with recursive chain (descendant_employee_id, ancestor_employee_id, depth) as
+                   (select employee_id, manager_employee_id, 1
+                    from employment_details
+                    where manager_employee_id is not null
+                    union all
+                    select c.descendant_employee_id, d.manager_employee_id, c.depth + 1
+                    from chain c
+                             join employment_details d on d.employee_id = c.ancestor_employee_id
+                    where d.manager_employee_id is not null)
+                   cycle ancestor_employee_id set is_cycle using path
+select ancestor_employee_id, descendant_employee_id, depth
+from chain
+where not is_cycle
+  and ancestor_employee_id <> descendant_employee_id;
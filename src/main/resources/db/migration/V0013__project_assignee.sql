@@ -0,0 +1,20 @@
+-- Number of tasks of a project every employee is assigned to. The project statistics are no longer recomputed from all
+-- tasks on every change, but adjusted by JooqProjectStatsRepository with the difference the change makes. The number of
+-- distinct assignees cannot be adjusted without knowing whether the employee is still assigned to any other task of the
+-- project, which is what this table answers. A row is deleted when its count reaches zero.
+
+create table project_assignee
+(
+    project_id  bigint not null,
+    employee_id bigint not null,
+    tasks       int    not null,
+    primary key (project_id, employee_id),
+    foreign key (project_id) references project (project_id),
+    foreign key (employee_id) references employee (employee_id)
+);
+
+insert into project_assignee (project_id, employee_id, tasks)
+select t.project_id, ta.employee_id, count(*)
+from task_assignee ta
+         join task t on t.task_id = ta.task_id
+group by t.project_id, ta.employee_id;
@@ -0,0 +1,4 @@
+-- Locations are searched in the in-memory snapshot of SnapshotLocationReferenceQuery, so no query filters location
+-- names with ILIKE anymore. The trigram index added in V0004 only slowed down writes to the location table.
+
+drop index location_name_trgm_idx;
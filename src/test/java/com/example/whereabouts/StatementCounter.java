@@ -0,0 +1,40 @@
+package com.example.whereabouts;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the statements executed through jOOQ, so that tests can verify how many round trips an operation requires.
+ * Batches count as one statement.
+ */
+@Component
+@Profile("integration-test")
+@NullMarked
+public class StatementCounter implements ExecuteListenerProvider, ExecuteListener {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public ExecuteListener provide() {
+        return this;
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        count.incrementAndGet();
+    }
+
+    public void reset() {
+        count.set(0);
+    }
+
+    public int count() {
+        return count.get();
+    }
+}
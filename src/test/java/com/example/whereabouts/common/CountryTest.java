@@ -0,0 +1,58 @@
+package com.example.whereabouts.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountryTest {
+
+    @Test
+    void iso_countries_are_canonical() {
+        assertThat(Country.ofIsoCode("FI")).isSameAs(Country.ofIsoCode("FI"));
+        assertThat(Country.ofIsoCode("fi")).isSameAs(Country.ofIsoCode("FI"));
+        assertThat(Country.ofLocale(Locale.of("", "FI"))).isSameAs(Country.ofIsoCode("FI"));
+        assertThat(Country.isoCountries()).contains(Country.ofIsoCode("FI"));
+    }
+
+    @Test
+    void countries_with_a_language_are_not_canonical() {
+        var country = Country.ofLocale(Locale.of("sv", "FI"));
+        assertThat(country).isNotSameAs(Country.ofIsoCode("FI"));
+        assertThat(country.isoCode()).isEqualTo("FI");
+    }
+
+    @Test
+    void invalid_country_codes_are_rejected() {
+        assertThatThrownBy(() -> Country.ofIsoCode("XX")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Country.ofIsoCode("")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void display_names_and_flags_are_computed_once() {
+        var finland = Country.ofIsoCode("FI");
+        assertThat(finland.displayName(Locale.ENGLISH)).isEqualTo("Finland");
+        assertThat(finland.displayName(Locale.ENGLISH)).isSameAs(finland.displayName(Locale.ENGLISH));
+        assertThat(finland.displayName(Locale.of("fi"))).isEqualTo("Suomi");
+        assertThat(finland.flagUnicode()).isEqualTo("🇫🇮");
+        assertThat(finland.flagUnicode()).isSameAs(finland.flagUnicode());
+    }
+
+    @Test
+    void deserialized_countries_are_canonical() throws Exception {
+        var finland = Country.ofIsoCode("FI");
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(finland);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject()).isSameAs(finland);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.whereabouts.common;
+
+import java.util.regex.Pattern;
+
+/**
+ * The value object validators as they were before they were rewritten as single-pass scanners, kept verbatim as the
+ * reference for {@link ValidatorDifferentialTest}. Do not fix anything here, the point is to detect any change in
+ * behavior, including the quirks.
+ */
+final class LegacyValidators {
+
+    private static final Pattern US_ZIP_CODE = Pattern.compile("^[0-9]{5}(-[0-9]{4})?$");
+    private static final Pattern CANADIAN_POSTAL_CODE = Pattern.compile("^[A-CEG-HJ-NPR-TVXY][0-9][A-CEG-HJ-NPR-TVXY] [0-9][A-CEG-HJ-NPR-TVW-Z][0-9]$");
+
+    private LegacyValidators() {
+    }
+
+    static boolean isValidEmailAddress(String value) {
+        if (value.isEmpty() || value.length() > 320) {
+            return false;
+        }
+        var parts = value.split("@");
+        if (parts.length != 2) {
+            return false;
+        }
+        return isValidLocalPart(parts[0]) && isValidEmailDomainName(parts[1]);
+    }
+
+    private static boolean isValidLocalPart(String localPart) {
+        if (localPart.isEmpty() || localPart.length() > 64) {
+            return false;
+        }
+        if (!localPart.matches("[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~-]+")) {
+            return false;
+        }
+        if (localPart.contains("..")) {
+            return false;
+        }
+        return !localPart.startsWith(".") && !localPart.endsWith(".");
+    }
+
+    private static boolean isValidEmailDomainName(String domainName) {
+        if (domainName.isEmpty() || domainName.length() > 255) {
+            return false;
+        }
+        if (domainName.startsWith("[")) {
+            if (!domainName.endsWith("]")) {
+                return false;
+            }
+            if (domainName.startsWith("[IPv6:")) {
+                return isValidIpv6(domainName.substring(6, domainName.length() - 1));
+            } else {
+                return isValidIpv4(domainName.substring(1, domainName.length() - 1));
+            }
+        } else {
+            return isValidDomainName(domainName);
+        }
+    }
+
+    static boolean isValidDomainName(String value) {
+        if (value.isEmpty() || value.length() > 253) {
+            return false;
+        }
+        var labels = value.split("\\.", -1);
+        for (var label : labels) {
+            if (label.isEmpty() || label.length() > 63) {
+                return false;
+            }
+            for (var c : label.toCharArray()) {
+                if (!Character.isDigit(c) && (c < 'a' || c > 'z') && (c < 'A' || c > 'Z') && c != '-') {
+                    return false;
+                }
+            }
+            if (label.charAt(0) == '-' || label.charAt(label.length() - 1) == '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isValidIpv4(String value) {
+        if (value.length() < 7 || value.length() > 15) {
+            return false;
+        }
+        var octets = value.split("\\.");
+        if (octets.length != 4) {
+            return false;
+        }
+        for (var octet : octets) {
+            try {
+                var number = Integer.parseInt(octet);
+                if (number < 0 || number > 255) {
+                    return false;
+                }
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isValidIpv6(String value) {
+        if (value.length() < 2 || value.length() > 39) {
+            return false;
+        }
+        var quibbles = value.split(":", -1);
+        if (quibbles.length < 3 || quibbles.length > 8) {
+            return false;
+        }
+        for (var quibble : quibbles) {
+            if (quibble.isEmpty()) {
+                continue;
+            }
+            if (quibble.length() > 4) {
+                return false;
+            }
+            for (var c : quibble.toCharArray()) {
+                if (!Character.isDigit(c) && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) {
+                    return false;
+                }
+            }
+        }
+        var doubleColon = value.indexOf("::");
+        if (doubleColon == -1 && quibbles.length != 8) {
+            return false;
+        }
+        if (doubleColon > -1 && value.indexOf("::", doubleColon + 1) != -1) {
+            return false;
+        }
+        if (doubleColon > 0 && quibbles[0].isEmpty()) {
+            return false;
+        }
+        if (doubleColon < value.length() - 2 && quibbles[quibbles.length - 1].isEmpty()) {
+            return false;
+        }
+        return true;
+    }
+
+    static boolean isValidUSZipCode(String value) {
+        if (value.length() < 5 || value.length() > 10) {
+            return false;
+        }
+        if (!value.chars().allMatch(ch -> (ch >= '0' && ch <= '9') || (ch == '-'))) {
+            return false;
+        }
+        return US_ZIP_CODE.matcher(value).matches();
+    }
+
+    static boolean isValidCanadianPostalCode(String value) {
+        if (value.length() != 7) {
+            return false;
+        }
+        if (!value.chars().allMatch(ch -> (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || (ch == ' '))) {
+            return false;
+        }
+        return CANADIAN_POSTAL_CODE.matcher(value).matches();
+    }
+
+    static boolean isValidFinnishPostalCode(String value) {
+        if (value.length() != 5) {
+            return false;
+        }
+        return value.chars().allMatch(ch -> (ch >= '0' && ch <= '9'));
+    }
+
+    static boolean isValidGermanPostalCode(String value) {
+        if (value.length() != 5) {
+            return false;
+        }
+        return value.chars().allMatch(ch -> (ch >= '0' && ch <= '9'));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.whereabouts.common;
+
+import com.example.whereabouts.common.address.CanadianPostalCode;
+import com.example.whereabouts.common.address.FinnishPostalCode;
+import com.example.whereabouts.common.address.GermanPostalCode;
+import com.example.whereabouts.common.address.USZipCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the single-pass validators give exactly the same answers as the {@linkplain LegacyValidators original
+ * implementations}, both for hand-picked edge cases and for a large number of random mutations of them.
+ */
+class ValidatorDifferentialTest {
+
+    private static final long SEED = 20251101L;
+    private static final int MUTATIONS_PER_SEED = 2_000;
+
+    // Characters that have a special meaning to at least one of the validators, plus a few that should never pass:
+    // an Arabic-Indic digit, a fullwidth digit, a non-ASCII letter, whitespace and a surrogate pair.
+    private static final String ALPHABET = "09afAFzZ.@:[]-+!#$%&'*/=?^_`{|}~ IPv6٣１ä\n😀";
+
+    @Test
+    void email_address() {
+        assertSameAnswers(EmailAddress::isValid, LegacyValidators::isValidEmailAddress,
+                "joe.cool@example.com",
+                "first.last+tag@sub.domain.example.org",
+                "o'hara@example.ie",
+                "admin@[192.168.0.1]",
+                "admin@[IPv6:2001:db8::1]",
+                "admin@[IPv6:]",
+                "admin@[]",
+                "admin@[",
+                "joe@example.com@",
+                "joe@example.com@@@",
+                "joe@@example.com",
+                "@example.com",
+                "@",
+                "@@",
+                "joe@",
+                ".joe@example.com",
+                "joe.@example.com",
+                "jo..e@example.com",
+                "joe@example..com",
+                "joe@[1.2.3.4.]",
+                "joe@[IPv6:1:2:3:4:5:6:7:8]",
+                "joe@٣.com",
+                "jäger@example.com",
+                "a".repeat(64) + "@example.com",
+                "a".repeat(65) + "@example.com",
+                "joe@" + "a".repeat(63) + "." + "b".repeat(63) + "." + "c".repeat(63) + "." + "d".repeat(61),
+                "joe@" + "a".repeat(63) + "." + "b".repeat(63) + "." + "c".repeat(63) + "." + "d".repeat(62));
+    }
+
+    @Test
+    void domain_name() {
+        assertSameAnswers(DomainName::isValid, LegacyValidators::isValidDomainName,
+                "example.com",
+                "localhost",
+                "my-company.example.fi",
+                "",
+                ".",
+                "example.com.",
+                ".example.com",
+                "example..com",
+                "-example.com",
+                "example-.com",
+                "exa_mple.com",
+                "exämple.com",
+                "٣１.com",
+                "a".repeat(63) + ".com",
+                "a".repeat(64) + ".com");
+    }
+
+    @Test
+    void ipv4_address() {
+        assertSameAnswers(IpAddress.Ipv4::isValidIpv4, LegacyValidators::isValidIpv4,
+                "0.0.0.0",
+                "127.0.0.1",
+                "255.255.255.255",
+                "256.0.0.1",
+                "1.2.3",
+                "1.2.3.4.5",
+                "1.2.3.4.",
+                "1.2.3.4...",
+                ".1.2.3.4",
+                "1..2.3.4",
+                "+1.2.3.4",
+                "-0.2.3.4",
+                "-1.2.3.4",
+                "+-1.2.3.4",
+                "-.2.3.4",
+                "001.002.003.004",
+                "99999999999.0.0",
+                "٣.2.3.4",
+                ".......");
+    }
+
+    @Test
+    void ipv6_address() {
+        assertSameAnswers(IpAddress.Ipv6::isValidIpv6, LegacyValidators::isValidIpv6,
+                "::",
+                "::1",
+                "1::",
+                "2001:db8::1",
+                "2001:0db8:85a3:0000:0000:8a2e:0370:7334",
+                ":1:2:3:4:5:6:7",
+                "1:2:3:4:5:6:7:",
+                ":::",
+                "1:::2",
+                "1::2::3",
+                ":1::2",
+                "1::2:",
+                "1:2",
+                "1:2:3:4:5:6:7:8:9",
+                "12345::1",
+                "gggg::1",
+                "٣::1");
+    }
+
+    @Test
+    void postal_codes() {
+        assertSameAnswers(USZipCode::isValid, LegacyValidators::isValidUSZipCode,
+                "12345", "12345-6789", "1234", "123456", "12345-", "12345-67", "1234-56789", "123456789-", "-----");
+        assertSameAnswers(CanadianPostalCode::isValid, LegacyValidators::isValidCanadianPostalCode,
+                "K1A 0B1", "M5V 3L9", "H2X 1Y4", "D1A 0B1", "W1A 0B1", "K1W 0B1", "K1A 0W1", "K1A 0Z1", "k1a 0b1",
+                "K1A0B1", "K1A-0B1", "K1A 0B1 ");
+        assertSameAnswers(FinnishPostalCode::isValid, LegacyValidators::isValidFinnishPostalCode,
+                "00100", "0010", "001000", "00-10", "٣٣٣٣٣");
+        assertSameAnswers(GermanPostalCode::isValid, LegacyValidators::isValidGermanPostalCode,
+                "10115", "1011", "101150", "10 15");
+    }
+
+    private static void assertSameAnswers(Predicate<String> validator, Predicate<String> reference, String... seeds) {
+        var random = new Random(SEED);
+        var inputs = new ArrayList<>(List.of(seeds));
+        for (var seed : seeds) {
+            for (int i = 0; i < MUTATIONS_PER_SEED; ++i) {
+                inputs.add(mutate(seed, random));
+            }
+        }
+        for (var input : inputs) {
+            assertThat(validator.test(input))
+                    .as("Validating \"%s\"", input)
+                    .isEqualTo(reference.test(input));
+        }
+    }
+
+    private static String mutate(String seed, Random random) {
+        var sb = new StringBuilder(seed);
+        var mutations = 1 + random.nextInt(3);
+        for (int m = 0; m < mutations; ++m) {
+            var position = sb.isEmpty() ? 0 : random.nextInt(sb.length());
+            switch (random.nextInt(4)) {
+                case 0 -> sb.insert(position, randomChar(random));
+                case 1 -> {
+                    if (!sb.isEmpty()) {
+                        sb.deleteCharAt(position);
+                    }
+                }
+                case 2 -> {
+                    if (!sb.isEmpty()) {
+                        sb.setCharAt(position, randomChar(random));
+                    }
+                }
+                default -> {
+                    // Repeat a character, which is what produces most of the interesting double dots and colons
+                    if (!sb.isEmpty()) {
+                        sb.insert(position, sb.charAt(position));
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static char randomChar(Random random) {
+        return ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.whereabouts.common.cache;
+
+import com.example.whereabouts.common.Entity;
+import com.example.whereabouts.common.Identifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityCacheTest {
+
+    private static final TestId ID = new TestId(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EntityCache<TestId, TestEntity> cache = new EntityCache<>("test", TestEntity::version, 100,
+            Duration.ofMinutes(1), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void entities_are_loaded_once_and_then_served_from_the_cache() {
+        var loads = new AtomicInteger();
+        for (int i = 0; i < 3; ++i) {
+            assertThat(cache.get(ID, id -> {
+                loads.incrementAndGet();
+                return Optional.of(new TestEntity(id, 1));
+            })).hasValue(new TestEntity(ID, 1));
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void missing_entities_are_not_cached() {
+        var loads = new AtomicInteger();
+        for (int i = 0; i < 3; ++i) {
+            assertThat(cache.get(ID, id -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            })).isEmpty();
+        }
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void read_write_transactions_bypass_the_cache() {
+        cache.get(ID, id -> Optional.of(new TestEntity(id, 1)));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(cache.get(ID, id -> Optional.of(new TestEntity(id, 2)))).hasValue(new TestEntity(ID, 2));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(cache.get(ID, id -> Optional.of(new TestEntity(id, 2)))).hasValue(new TestEntity(ID, 1));
+    }
+
+    @Test
+    void updated_entity_is_cached_only_after_commit() {
+        cache.get(ID, id -> Optional.of(new TestEntity(id, 1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.updated(new TestEntity(ID, 2));
+        assertThat(cache.getIfPresent(ID)).isEmpty();
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(cache.getIfPresent(ID)).hasValue(new TestEntity(ID, 2));
+    }
+
+    @Test
+    void updated_entity_is_not_cached_after_rollback() {
+        cache.get(ID, id -> Optional.of(new TestEntity(id, 1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.updated(new TestEntity(ID, 2));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(cache.getIfPresent(ID)).isEmpty();
+    }
+
+    @Test
+    void a_slow_reader_does_not_replace_a_newer_version() throws Exception {
+        var loaded = new CountDownLatch(1);
+        var updated = new CountDownLatch(1);
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var reader = executor.submit(() -> cache.get(ID, id -> {
+                // The reader sees the old version, and is then overtaken by the update
+                var entity = new TestEntity(id, 1);
+                loaded.countDown();
+                await(updated);
+                return Optional.of(entity);
+            }));
+            await(loaded);
+            cache.updated(new TestEntity(ID, 2));
+            updated.countDown();
+            reader.get();
+        }
+        assertThat(cache.getIfPresent(ID)).hasValue(new TestEntity(ID, 2));
+    }
+
+    @Test
+    void concurrent_readers_and_writers_leave_the_latest_version_in_the_cache() throws Exception {
+        var database = new AtomicReference<>(new TestEntity(ID, 1));
+        var writes = 1_000;
+        var readers = 7;
+        try (var executor = Executors.newFixedThreadPool(readers + 1)) {
+            var futures = new ArrayList<Future<?>>();
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < writes; ++i) {
+                    var entity = database.updateAndGet(current -> new TestEntity(ID, current.version() + 1));
+                    cache.updated(entity);
+                }
+            }));
+            for (int r = 0; r < readers; ++r) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < writes; ++i) {
+                        var entity = cache.get(ID, id -> Optional.of(database.get())).orElseThrow();
+                        assertThat(entity.version()).isLessThanOrEqualTo(database.get().version());
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        assertThat(cache.get(ID, id -> Optional.of(database.get()))).hasValue(database.get());
+        assertThat(cache.getIfPresent(ID).map(TestEntity::version)).hasValue(writes + 1L);
+    }
+
+    private static void completeTransaction(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record TestId(long value) implements Identifier {
+    }
+
+    record TestEntity(TestId id, long version) implements Entity<TestId> {
+    }
+}
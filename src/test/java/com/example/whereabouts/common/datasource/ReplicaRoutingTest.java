@@ -0,0 +1,146 @@
+package com.example.whereabouts.common.datasource;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.common.Entity;
+import com.example.whereabouts.common.Identifier;
+import com.example.whereabouts.common.cache.EntityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jooq.impl.DSL.field;
+
+@IntegrationTest
+@Testcontainers
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY = "test";
+    private static final String REPLICA = "replica";
+    private static final TestId ID = new TestId(1);
+
+    // A second, independent database is enough to see where the statements go
+    @Container
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:17-alpine")
+            .withDatabaseName(REPLICA);
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("whereabouts.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("whereabouts.datasource.replica.username", replica::getUsername);
+        registry.add("whereabouts.datasource.replica.password", replica::getPassword);
+        registry.add("whereabouts.datasource.replica.read-your-writes-window", () -> "1h");
+    }
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    DSLContext dsl;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void read_only_transactions_go_to_the_replica_and_others_to_the_primary() {
+        assertThat(currentDatabase(true)).isEqualTo(REPLICA);
+        assertThat(currentDatabase(false)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void users_read_from_the_primary_after_writing() {
+        login("writer");
+        assertThat(currentDatabase(true)).isEqualTo(REPLICA);
+        assertThat(currentDatabase(false)).isEqualTo(PRIMARY);
+        assertThat(currentDatabase(true)).isEqualTo(PRIMARY);
+
+        login("reader");
+        assertThat(currentDatabase(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void replica_lag_is_published_as_a_metric() {
+        assertThat(meterRegistry.get("whereabouts.datasource.replica.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void caches_reload_invalidated_entities_from_the_primary_while_the_replica_is_behind() {
+        var cache = new EntityCache<TestId, TestEntity>("test", TestEntity::version, 100, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        // The primary has committed version 2 and announced it, but the replica still has version 1
+        cache.invalidate(ID, 2);
+
+        assertThat(inReadOnlyTransaction(() -> cache.get(ID, this::loadFromCurrentDatabase)))
+                .hasValue(new TestEntity(ID, 2));
+        assertThat(inReadOnlyTransaction(() -> cache.get(ID, id -> Optional.empty())))
+                .hasValue(new TestEntity(ID, 2));
+    }
+
+    @Test
+    void caches_do_not_keep_entities_read_from_the_replica() {
+        var cache = new EntityCache<TestId, TestEntity>("test", TestEntity::version, 100, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+
+        // The transaction already reads from the replica, and cannot switch to the primary for the cache lookup
+        assertThat(inReadOnlyTransaction(() -> {
+            assertThat(dsl.fetchValue(field("current_database()", String.class))).isEqualTo(REPLICA);
+            return cache.get(ID, this::loadFromCurrentDatabase);
+        })).hasValue(new TestEntity(ID, 1));
+        assertThat(inReadOnlyTransaction(() -> cache.get(ID, this::loadFromCurrentDatabase)))
+                .hasValue(new TestEntity(ID, 2));
+    }
+
+    /**
+     * Loads version 2 of the entity from the primary and the outdated version 1 from the replica.
+     */
+    private Optional<TestEntity> loadFromCurrentDatabase(TestId id) {
+        var database = dsl.fetchValue(field("current_database()", String.class));
+        return Optional.of(new TestEntity(id, PRIMARY.equals(database) ? 2 : 1));
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "USER"));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        return inTransaction(readOnly, () -> dsl.fetchValue(field("current_database()", String.class)));
+    }
+
+    private <T> T inReadOnlyTransaction(Supplier<T> action) {
+        return inTransaction(true, action);
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> action) {
+        // Outside the test transaction, as routing is decided per transaction
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    record TestId(long value) implements Identifier {
+    }
+
+    record TestEntity(TestId id, long version) implements Entity<TestId> {
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.whereabouts.common.picture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PictureStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void pictures_are_stored_by_content_with_thumbnails() throws IOException {
+        var store = new PictureStore(root);
+        var picture = createPicture(800, 600);
+
+        var hash = store.storeOriginal(new ByteArrayInputStream(picture));
+
+        assertThat(hash).hasSize(64);
+        assertThat(store.contains(hash)).isTrue();
+        assertThat(store.hasThumbnails(hash)).isFalse();
+        assertThat(Files.readAllBytes(store.originalPath(hash))).isEqualTo(picture);
+
+        store.generateThumbnails(hash);
+
+        assertThat(store.hasThumbnails(hash)).isTrue();
+        for (var size : PictureSize.values()) {
+            var thumbnail = ImageIO.read(store.thumbnailPath(hash, size).toFile());
+            assertThat(thumbnail.getWidth()).isEqualTo(size.pixels());
+            assertThat(thumbnail.getHeight()).isEqualTo(size.pixels());
+        }
+    }
+
+    @Test
+    void the_same_picture_is_stored_once() throws IOException {
+        var store = new PictureStore(root);
+        var picture = createPicture(100, 100);
+
+        var first = store.storeOriginal(new ByteArrayInputStream(picture));
+        var second = store.storeOriginal(new ByteArrayInputStream(picture));
+
+        assertThat(second).isEqualTo(first);
+        try (var files = Files.list(store.originalPath(first).getParent())) {
+            assertThat(files).hasSize(1);
+        }
+        assertThat(store.storeOriginal(new ByteArrayInputStream(createPicture(100, 101)))).isNotEqualTo(first);
+    }
+
+    @Test
+    void content_that_is_not_a_picture_is_rejected() throws IOException {
+        var store = new PictureStore(root);
+        assertThatThrownBy(() -> store.storeOriginal(new ByteArrayInputStream("Not a picture".getBytes())))
+                .isInstanceOf(IllegalArgumentException.class);
+        try (var files = Files.list(root.resolve("tmp"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void pictures_with_too_many_pixels_are_rejected_without_decoding_them() throws IOException {
+        var store = new PictureStore(root);
+        // Only the header of the picture, which would take 1.6 GB of memory to decode
+        assertThatThrownBy(() -> store.storeOriginal(new ByteArrayInputStream(createPictureHeader(20_000, 20_000))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The picture is too large");
+        try (var files = Files.list(root.resolve("tmp"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void invalid_hashes_are_not_found() {
+        var store = new PictureStore(root);
+        assertThat(store.contains("../../etc/passwd")).isFalse();
+        assertThat(store.contains("0".repeat(64))).isFalse();
+    }
+
+    private static byte[] createPicture(int width, int height) throws IOException {
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(width / 2, height / 2, 0xff0000);
+        var out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] createPictureHeader(int width, int height) {
+        // The IHDR chunk of a PNG file: 8-bit RGB, no interlacing
+        var chunk = ByteBuffer.allocate(17).put("IHDR".getBytes()).putInt(width).putInt(height)
+                .put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0).array();
+        var crc = new CRC32();
+        crc.update(chunk);
+        return ByteBuffer.allocate(8 + 4 + chunk.length + 4)
+                .put(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'})
+                .putInt(13).put(chunk).putInt((int) crc.getValue())
+                .array();
+    }
+}
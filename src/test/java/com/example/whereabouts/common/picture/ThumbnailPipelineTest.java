@@ -0,0 +1,141 @@
+package com.example.whereabouts.common.picture;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThumbnailPipelineTest {
+
+    @TempDir
+    Path root;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PictureStore store;
+    private ThumbnailPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.destroy();
+        }
+    }
+
+    @Test
+    void thumbnails_are_generated_in_the_background() throws Exception {
+        createPipeline(10);
+        var hash = store.storeOriginal(new ByteArrayInputStream(createPicture(640, 480)));
+
+        assertThat(pipeline.submit(hash).get(10, TimeUnit.SECONDS)).isEqualTo(hash);
+
+        assertThat(store.hasThumbnails(hash)).isTrue();
+        assertThat(meterRegistry.get("whereabouts.pictures.processing").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("whereabouts.pictures.queue").gauge().value()).isZero();
+    }
+
+    @Test
+    void pictures_with_thumbnails_are_not_processed_again() throws Exception {
+        createPipeline(10);
+        var hash = store.storeOriginal(new ByteArrayInputStream(createPicture(100, 100)));
+        pipeline.submit(hash).get(10, TimeUnit.SECONDS);
+
+        assertThat(pipeline.submit(hash)).isCompletedWithValue(hash);
+        assertThat(meterRegistry.get("whereabouts.pictures.processing").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void pictures_are_rejected_when_the_queue_is_full() throws Exception {
+        var processing = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        store = new PictureStore(root) {
+            @Override
+            void generateThumbnails(String hash) throws IOException {
+                processing.countDown();
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                super.generateThumbnails(hash);
+            }
+        };
+        pipeline = new ThumbnailPipeline(store, meterRegistry, 1, 1);
+        var first = store.storeOriginal(new ByteArrayInputStream(createPicture(100, 100)));
+        var second = store.storeOriginal(new ByteArrayInputStream(createPicture(100, 101)));
+
+        var future = pipeline.submit(first);
+        assertThat(processing.await(10, TimeUnit.SECONDS)).isTrue();
+        // Submitting a picture that is already being processed does not take up another slot
+        assertThat(pipeline.submit(first)).isSameAs(future);
+        assertThatThrownBy(() -> pipeline.submit(second)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("whereabouts.pictures.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("whereabouts.pictures.queue").gauge().value()).isEqualTo(1);
+
+        proceed.countDown();
+        future.get(10, TimeUnit.SECONDS);
+        assertThat(pipeline.submit(second).get(10, TimeUnit.SECONDS)).isEqualTo(second);
+    }
+
+    @Test
+    void failures_complete_the_future_exceptionally() throws Exception {
+        createPipeline(10);
+        var hash = store.storeOriginal(new ByteArrayInputStream(createPicture(100, 100)));
+        Files.write(store.originalPath(hash), "Corrupted".getBytes());
+
+        assertThat(pipeline.submit(hash)).failsWithin(10, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("whereabouts.pictures.queue").gauge().value()).isZero();
+    }
+
+    @Test
+    void errors_release_the_slot_and_complete_the_future_exceptionally() throws Exception {
+        var failing = new AtomicBoolean(true);
+        store = new PictureStore(root) {
+            @Override
+            void generateThumbnails(String hash) throws IOException {
+                if (failing.getAndSet(false)) {
+                    throw new OutOfMemoryError("Thrown by the test");
+                }
+                super.generateThumbnails(hash);
+            }
+        };
+        pipeline = new ThumbnailPipeline(store, meterRegistry, 1, 1);
+        var hash = store.storeOriginal(new ByteArrayInputStream(createPicture(100, 100)));
+
+        assertThat(pipeline.submit(hash)).failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(meterRegistry.get("whereabouts.pictures.queue").gauge().value()).isZero();
+        // The picture can be submitted again, as it no longer takes up the only slot
+        assertThat(pipeline.submit(hash).get(10, TimeUnit.SECONDS)).isEqualTo(hash);
+    }
+
+    private void createPipeline(int queueCapacity) {
+        store = new PictureStore(root);
+        pipeline = new ThumbnailPipeline(store, meterRegistry, queueCapacity, 1);
+    }
+
+    private static byte[] createPicture(int width, int height) throws IOException {
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(width / 2, height / 2, 0xff0000);
+        var out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
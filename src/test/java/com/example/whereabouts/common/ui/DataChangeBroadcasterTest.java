@@ -0,0 +1,119 @@
+package com.example.whereabouts.common.ui;
+
+import com.example.whereabouts.common.DomainEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.server.Command;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataChangeBroadcasterTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+    // Long enough for a pending batch to have been delivered, if there was one
+    private static final long QUIET_MILLIS = DataChangeBroadcaster.COALESCING_DELAY.toMillis() * 3;
+
+    private final DataChangeBroadcaster broadcaster = new DataChangeBroadcaster();
+
+    @AfterEach
+    void tearDown() {
+        UI.setCurrent(null);
+        broadcaster.destroy();
+    }
+
+    private BlockingQueue<Set<TestEvent>> subscribe(UI ui) {
+        var batches = new LinkedBlockingQueue<Set<TestEvent>>();
+        var component = new Div();
+        ui.add(component);
+        broadcaster.subscribe(component, TestEvent.class, batches::add);
+        return batches;
+    }
+
+    @Test
+    void events_arriving_during_the_delay_are_delivered_together_without_duplicates() throws InterruptedException {
+        var batches = subscribe(new TestUI());
+
+        broadcaster.onDomainEvent(new TestEvent(1));
+        broadcaster.onDomainEvent(new TestEvent(2));
+        broadcaster.onDomainEvent(new TestEvent(1));
+
+        assertThat(batches.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+                .containsExactly(new TestEvent(1), new TestEvent(2));
+        assertThat(batches.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void events_arriving_after_a_delivery_are_delivered_in_the_next_batch() throws InterruptedException {
+        var batches = subscribe(new TestUI());
+
+        broadcaster.onDomainEvent(new TestEvent(1));
+        assertThat(batches.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).containsExactly(new TestEvent(1));
+
+        broadcaster.onDomainEvent(new TestEvent(1));
+        assertThat(batches.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).containsExactly(new TestEvent(1));
+    }
+
+    @Test
+    void events_are_not_delivered_to_the_ui_that_published_them() throws InterruptedException {
+        var originatingUI = new TestUI();
+        var originatingBatches = subscribe(originatingUI);
+        var otherBatches = subscribe(new TestUI());
+
+        UI.setCurrent(originatingUI);
+        broadcaster.onDomainEvent(new TestEvent(1));
+        UI.setCurrent(null);
+
+        assertThat(otherBatches.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).containsExactly(new TestEvent(1));
+        assertThat(originatingBatches.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void events_of_other_types_are_not_delivered() throws InterruptedException {
+        var batches = subscribe(new TestUI());
+
+        broadcaster.onDomainEvent(new OtherEvent());
+
+        assertThat(batches.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void events_are_not_delivered_after_unsubscribing() throws InterruptedException {
+        var ui = new TestUI();
+        var batches = new LinkedBlockingQueue<Set<TestEvent>>();
+        var component = new Div();
+        ui.add(component);
+        var registration = broadcaster.subscribe(component, TestEvent.class, batches::add);
+
+        broadcaster.onDomainEvent(new TestEvent(1));
+        registration.remove();
+
+        assertThat(batches.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    record TestEvent(int value) implements DomainEvent {
+    }
+
+    record OtherEvent() implements DomainEvent {
+    }
+
+    /**
+     * A UI without a session, which runs the given commands right away instead of when the session is unlocked.
+     */
+    static class TestUI extends UI {
+
+        @Override
+        public Future<Void> access(Command command) {
+            command.execute();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.whereabouts.common.ui;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeZoneCatalogTest {
+
+    private static final PageRequest ALL = PageRequest.of(0, 10_000);
+
+    @Test
+    void without_a_search_term_all_zones_are_returned_sorted_by_id() {
+        var zones = TimeZoneCatalog.findBySearchTerm(ALL, null);
+        assertThat(zones).hasSize(ZoneId.getAvailableZoneIds().size());
+        assertThat(zones.stream().map(ZoneId::getId).toList()).isSorted();
+    }
+
+    @Test
+    void zones_can_be_found_by_id_offset_and_display_name() {
+        var helsinki = ZoneId.of("Europe/Helsinki");
+        assertThat(TimeZoneCatalog.findBySearchTerm(ALL, "HELSINKI")).containsExactly(helsinki);
+        assertThat(TimeZoneCatalog.findBySearchTerm(ALL, "+02:00")).contains(helsinki);
+        assertThat(TimeZoneCatalog.findBySearchTerm(ALL, "eastern european")).contains(helsinki);
+        assertThat(TimeZoneCatalog.findBySearchTerm(ALL, "new york")).containsExactly(ZoneId.of("America/New_York"));
+    }
+
+    @Test
+    void underscores_in_the_search_term_match_underscores_in_the_id() {
+        var newYork = ZoneId.of("America/New_York");
+        assertThat(TimeZoneCatalog.findBySearchTerm(ALL, "new_york")).containsExactly(newYork);
+        assertThat(TimeZoneCatalog.findBySearchTerm(ALL, "America/New_York")).containsExactly(newYork);
+    }
+
+    @Test
+    void results_are_paged() {
+        var all = TimeZoneCatalog.findBySearchTerm(ALL, "europe");
+        assertThat(TimeZoneCatalog.findBySearchTerm(PageRequest.of(1, 10), "europe")).isEqualTo(all.subList(10, 20));
+    }
+}
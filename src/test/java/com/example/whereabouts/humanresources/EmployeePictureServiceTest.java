@@ -0,0 +1,65 @@
+package com.example.whereabouts.humanresources;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.StatementCounter;
+import com.example.whereabouts.humanresources.repository.EmployeePictureRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@WithMockUser
+class EmployeePictureServiceTest {
+
+    @Autowired
+    private EmployeePictureService employeePictureService;
+    @Autowired
+    private EmployeePictureRepository employeePictureRepository;
+    @Autowired
+    private EmployeeTestDataService employeeTestDataService;
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void thumbnails_of_a_page_are_found_with_a_single_statement() {
+        var employees = new ArrayList<EmployeeId>();
+        for (int i = 0; i < 10; ++i) {
+            var employee = employeeTestDataService.createEmployee();
+            if (i % 2 == 0) {
+                employeePictureRepository.save(employee, hash(i));
+            }
+            employees.add(employee);
+        }
+        statementCounter.reset();
+
+        var thumbnails = employeePictureService.findThumbnails(employees);
+
+        assertThat(statementCounter.count()).isEqualTo(1);
+        assertThat(thumbnails).hasSize(5);
+        for (int i = 0; i < employees.size(); ++i) {
+            if (i % 2 == 0) {
+                // The URL of the handler changes whenever the picture changes
+                assertThat(thumbnails.get(employees.get(i)).getUrlPostfix()).isEqualTo(hash(i) + ".jpg");
+            } else {
+                assertThat(thumbnails).doesNotContainKey(employees.get(i));
+            }
+        }
+    }
+
+    @Test
+    void no_thumbnails_are_looked_up_for_an_empty_page() {
+        statementCounter.reset();
+
+        assertThat(employeePictureService.findThumbnails(List.of())).isEmpty();
+        assertThat(statementCounter.count()).isZero();
+    }
+
+    private static String hash(int i) {
+        return Integer.toHexString(i).repeat(64);
+    }
+}
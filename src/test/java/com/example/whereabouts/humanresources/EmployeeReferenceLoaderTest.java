@@ -0,0 +1,86 @@
+package com.example.whereabouts.humanresources;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.StatementCounter;
+import com.example.whereabouts.humanresources.query.EmployeeReferenceQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class EmployeeReferenceLoaderTest {
+
+    @Autowired
+    private EmployeeTestDataService employeeTestDataService;
+    @Autowired
+    private EmployeeReferenceQuery employeeReferenceQuery;
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private List<EmployeeId> employees;
+    private EmployeeReferenceLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        employees = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            employees.add(employeeTestDataService.createEmployee());
+        }
+        loader = new EmployeeReferenceLoader(employeeReferenceQuery::findByIds);
+    }
+
+    private List<Set<EmployeeId>> createPage(int rows) {
+        var page = new ArrayList<Set<EmployeeId>>();
+        for (int i = 0; i < rows; ++i) {
+            page.add(Set.of(employees.get(i % employees.size()), employees.get((i + 3) % employees.size())));
+        }
+        return page;
+    }
+
+    @Test
+    void primed_page_is_resolved_with_a_single_statement() {
+        var page = createPage(50);
+        statementCounter.reset();
+
+        loader.prime(page.stream().flatMap(Set::stream).toList());
+        for (var assignees : page) {
+            // Once for the grid column and once for the card column
+            assertThat(loader.get(assignees)).extracting(EmployeeReference::id).containsExactlyInAnyOrderElementsOf(assignees);
+            assertThat(loader.get(assignees)).extracting(EmployeeReference::id).containsExactlyInAnyOrderElementsOf(assignees);
+        }
+
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void only_missing_references_are_loaded() {
+        loader.prime(employees.subList(0, 5));
+        statementCounter.reset();
+
+        var all = new HashSet<>(employees);
+        assertThat(loader.get(all)).extracting(EmployeeReference::id).containsExactlyInAnyOrderElementsOf(all);
+        assertThat(loader.get(all)).hasSize(all.size());
+
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void clear_causes_references_to_be_reloaded() {
+        var page = createPage(10);
+        loader.prime(page.stream().flatMap(Set::stream).toList());
+        loader.clear();
+        statementCounter.reset();
+
+        loader.prime(page.stream().flatMap(Set::stream).toList());
+        page.forEach(loader::get);
+
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.whereabouts.humanresources.bulkimport;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.EmailAddress;
+import com.example.whereabouts.common.address.InternationalPostalAddress;
+import com.example.whereabouts.humanresources.*;
+import com.example.whereabouts.humanresources.query.ReportingLineQuery;
+import com.example.whereabouts.humanresources.repository.LocationRepository;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static com.example.whereabouts.jooq.Tables.EMPLOYEE;
+import static com.example.whereabouts.jooq.Tables.EMPLOYMENT_DETAILS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@IntegrationTest
+class EmployeeImporterTest {
+
+    private static final String CSV_HEADER = "firstName,lastName,birthDate,gender,timeZone,homeAddress,workEmail,jobTitle,type,status,workArrangement,location,manager,hireDate,terminationDate\n";
+    private static final String ADDRESS_JSON = "{\"streetAddress\":\"Street\",\"city\":\"City\",\"postalCode\":\"12345\",\"country\":\"SE\"}";
+
+    @Autowired
+    private EmployeeImporter importer;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private EmployeeTestDataService employeeTestDataService;
+    @Autowired
+    private ReportingLineQuery reportingLineQuery;
+    @Autowired
+    private DSLContext dsl;
+
+    private LocationId location;
+
+    @BeforeEach
+    void setUp() {
+        location = locationRepository.insert(new LocationData(
+                "Import",
+                LocationType.BRANCH_OFFICE,
+                new InternationalPostalAddress("Street", "City", null, "Postal", Country.ofIsoCode("SE")),
+                LocalDate.of(2020, 1, 1),
+                "About",
+                ZoneId.of("Europe/Stockholm"),
+                List.of()
+        ));
+    }
+
+    private String csvRow(String firstName, String email, long location, String manager) {
+        return "%s,Importer,1990-01-01,female,Europe/Stockholm,\"%s\",%s,Engineer,full_time,active,hybrid,%d,%s,2024-01-01,\n"
+                .formatted(firstName, ADDRESS_JSON.replace("\"", "\"\""), email, location, manager);
+    }
+
+    private EmployeeId findEmployeeId(String email) {
+        return dsl.select(EMPLOYEE.EMPLOYEE_ID).from(EMPLOYEE).where(EMPLOYEE.WORK_EMAIL.eq(EmailAddress.of(email))).fetchSingle().value1();
+    }
+
+    @Test
+    void csv_import_inserts_valid_rows_and_reports_invalid_ones() {
+        var csv = CSV_HEADER
+                  + csvRow("Employee", "employee@import.test", location.value(), "manager@import.test")
+                  + csvRow("Manager", "manager@import.test", location.value(), "")
+                  + csvRow("Invalid", "not an email", location.value(), "")
+                  + csvRow("Lost", "lost@import.test", -1, "")
+                  + csvRow("Orphan", "orphan@import.test", location.value(), "nobody@import.test")
+                  + csvRow("Duplicate", "manager@import.test", location.value(), "");
+
+        var result = importer.importEmployees(new StringReader(csv), EmployeeImportFormat.CSV);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.errors()).extracting(EmployeeImportError::line).containsExactly(4L, 5L, 6L, 7L);
+        assertThat(result.errors().getFirst().message()).startsWith("Invalid workEmail");
+
+        var employee = findEmployeeId("employee@import.test");
+        var manager = findEmployeeId("manager@import.test");
+        assertThat(dsl.select(EMPLOYMENT_DETAILS.MANAGER_EMPLOYEE_ID)
+                .from(EMPLOYMENT_DETAILS)
+                .where(EMPLOYMENT_DETAILS.EMPLOYEE_ID.eq(employee))
+                .fetchSingle().value1()).isEqualTo(manager);
+    }
+
+    @Test
+    void csv_import_rejects_manager_cycles_and_maintains_the_reporting_lines() {
+        var boss = dsl.select(EMPLOYEE.WORK_EMAIL)
+                .from(EMPLOYEE)
+                .where(EMPLOYEE.EMPLOYEE_ID.eq(employeeTestDataService.createEmployee()))
+                .fetchSingle().value1();
+        var csv = CSV_HEADER
+                  + csvRow("Worker", "worker@import.test", location.value(), "lead@import.test")
+                  + csvRow("Lead", "lead@import.test", location.value(), boss.toString())
+                  + csvRow("Chicken", "chicken@import.test", location.value(), "egg@import.test")
+                  + csvRow("Egg", "egg@import.test", location.value(), "chicken@import.test")
+                  + csvRow("Narcissus", "narcissus@import.test", location.value(), "narcissus@import.test")
+                  + csvRow("Hen", "hen@import.test", location.value(), "chicken@import.test");
+
+        var result = importer.importEmployees(new StringReader(csv), EmployeeImportFormat.CSV);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).extracting(EmployeeImportError::line, EmployeeImportError::message).containsExactly(
+                tuple(4L, "manager chain forms a cycle"),
+                tuple(5L, "manager chain forms a cycle"),
+                tuple(6L, "manager chain forms a cycle"),
+                tuple(7L, "manager does not exist"));
+        assertThat(reportingLineQuery.findChainOfCommand(findEmployeeId("worker@import.test")))
+                .extracting(member -> member.employee().id(), ReportingLineMember::depth)
+                .containsExactly(tuple(findEmployeeId("lead@import.test"), 1), tuple(findEmployeeId(boss.toString()), 2));
+    }
+
+    @Test
+    void ndjson_import_rejects_employees_that_already_exist() {
+        var existing = dsl.select(EMPLOYEE.WORK_EMAIL)
+                .from(EMPLOYEE)
+                .where(EMPLOYEE.EMPLOYEE_ID.eq(employeeTestDataService.createEmployee()))
+                .fetchSingle().value1();
+        var ndjson = """
+                {"firstName":"New","lastName":"Importer","birthDate":"1990-01-01","gender":"OTHER","timeZone":"UTC","homeAddress":%2$s,"workEmail":"new@import.test","jobTitle":"Engineer","type":"PART_TIME","status":"INACTIVE","workArrangement":"REMOTE","location":%1$d,"hireDate":"2024-01-01"}
+
+                {"firstName":"Existing","lastName":"Importer","birthDate":"1990-01-01","gender":"OTHER","timeZone":"UTC","homeAddress":%2$s,"workEmail":"%3$s","jobTitle":"Engineer","type":"PART_TIME","status":"INACTIVE","workArrangement":"REMOTE","location":%1$d,"hireDate":"2024-01-01"}
+                not json
+                """.formatted(location.value(), ADDRESS_JSON, existing);
+
+        var result = importer.importEmployees(new StringReader(ndjson), EmployeeImportFormat.NDJSON);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(EmployeeImportError::line).containsExactly(3L, 4L);
+        assertThat(result.errors().getFirst().message()).isEqualTo("workEmail is already used by another employee");
+        assertThat(findEmployeeId("new@import.test")).isNotNull();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.StatementCounter;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.address.InternationalPostalAddress;
+import com.example.whereabouts.humanresources.*;
+import com.example.whereabouts.humanresources.repository.EmployeeRepository;
+import com.example.whereabouts.humanresources.repository.EmploymentDetailsRepository;
+import com.example.whereabouts.humanresources.repository.LocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class EmployeeAggregateQueryTest {
+
+    @Autowired
+    EmployeeTestDataService employeeTestDataService;
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    LocationRepository locationRepository;
+    @Autowired
+    EmployeeAggregateQuery query;
+    @Autowired
+    StatementCounter statementCounter;
+
+    private LocationId insertLocation() {
+        return locationRepository.insert(new LocationData(
+                "Aggregate Office",
+                LocationType.BRANCH_OFFICE,
+                new InternationalPostalAddress("Street", "City", null, "Postal", Country.ofIsoCode("FI")),
+                LocalDate.of(2020, 1, 1),
+                "About",
+                ZoneId.of("Europe/Helsinki"),
+                List.of()
+        ));
+    }
+
+    private EmploymentDetailsData createDetailsData(String jobTitle, LocationId location, EmployeeId manager) {
+        return new EmploymentDetailsData(
+                jobTitle,
+                EmploymentType.FULL_TIME,
+                EmploymentStatus.ACTIVE,
+                WorkArrangement.HYBRID,
+                location,
+                manager,
+                LocalDate.of(2023, 5, 31),
+                null
+        );
+    }
+
+    @Test
+    void loads_employee_details_manager_and_location_in_one_statement() {
+        var locationId = insertLocation();
+        var managerId = employeeTestDataService.createEmployee();
+        employmentDetailsRepository.insert(managerId, createDetailsData("Manager", locationId, null));
+        var employeeId = employeeTestDataService.createEmployee();
+        var details = employmentDetailsRepository.insert(employeeId, createDetailsData("Developer", locationId, managerId));
+
+        var employee = employeeRepository.findById(employeeId).orElseThrow();
+        var manager = employeeRepository.findById(managerId).orElseThrow();
+
+        statementCounter.reset();
+        var aggregate = query.findById(employeeId).orElseThrow();
+        assertThat(statementCounter.count()).isEqualTo(1);
+
+        assertThat(aggregate.employee()).isEqualTo(employee);
+        assertThat(aggregate.employmentDetails()).isEqualTo(details);
+        assertThat(aggregate.location()).isEqualTo(new LocationReference(locationId, "Aggregate Office", Country.ofIsoCode("FI")));
+        assertThat(aggregate.manager()).isEqualTo(new EmployeeReference(managerId,
+                manager.data().firstName(),
+                manager.data().middleName(),
+                manager.data().lastName(),
+                manager.data().homeAddress().country(),
+                "Manager"));
+    }
+
+    @Test
+    void employee_without_details_has_no_references() {
+        var employeeId = employeeTestDataService.createEmployee();
+
+        var aggregate = query.findById(employeeId).orElseThrow();
+        assertThat(aggregate.employee().id()).isEqualTo(employeeId);
+        assertThat(aggregate.employmentDetails()).isNull();
+        assertThat(aggregate.manager()).isNull();
+        assertThat(aggregate.location()).isNull();
+    }
+
+    @Test
+    void employee_without_manager_has_no_manager_reference() {
+        var locationId = insertLocation();
+        var employeeId = employeeTestDataService.createEmployee();
+        employmentDetailsRepository.insert(employeeId, createDetailsData("Developer", locationId, null));
+
+        var aggregate = query.findById(employeeId).orElseThrow();
+        assertThat(aggregate.manager()).isNull();
+        assertThat(aggregate.location()).isNotNull();
+    }
+
+    @Test
+    void nonexistent_employee_is_not_found() {
+        assertThat(query.findById(new EmployeeId(-1L))).isEmpty();
+    }
+}
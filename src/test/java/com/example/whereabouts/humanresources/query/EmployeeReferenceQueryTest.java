@@ -0,0 +1,108 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.EmailAddress;
+import com.example.whereabouts.common.Gender;
+import com.example.whereabouts.common.address.InternationalPostalAddress;
+import com.example.whereabouts.humanresources.EmployeeData;
+import com.example.whereabouts.humanresources.EmployeeFilter;
+import com.example.whereabouts.humanresources.EmployeeReference;
+import com.example.whereabouts.humanresources.EmployeeSortableProperty;
+import com.example.whereabouts.humanresources.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class EmployeeReferenceQueryTest {
+
+    private static final int PAGE_SIZE = 7;
+    private static final EmployeeFilter FILTER = EmployeeFilter.empty().withSearchTerm("Keyset");
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    EmployeeReferenceQuery query;
+
+    @BeforeEach
+    void setUp() {
+        // Plenty of duplicate names, to make sure the tiebreaker works
+        for (int i = 0; i < 40; ++i) {
+            employeeRepository.insert(new EmployeeData("First" + (i % 3),
+                    null,
+                    "Keyset" + (i % 4),
+                    "Preferred" + i,
+                    LocalDate.of(1984, 2, 1),
+                    Gender.values()[i % Gender.values().length],
+                    null,
+                    ZoneId.of("Europe/Helsinki"),
+                    new InternationalPostalAddress("Street" + i, "City", "State", "Postal", Country.ofIsoCode("FI")),
+                    null,
+                    null,
+                    null,
+                    EmailAddress.of("keyset" + i + "@work.foo")
+            ));
+        }
+    }
+
+    @Test
+    void keyset_pagination_returns_same_result_as_offset_pagination() {
+        for (var direction : Sort.Direction.values()) {
+            var byLastName = Sort.by(direction, EmployeeSortableProperty.LAST_NAME.name(), EmployeeSortableProperty.FIRST_NAME.name());
+            var byFirstName = Sort.by(direction, EmployeeSortableProperty.FIRST_NAME.name(), EmployeeSortableProperty.LAST_NAME.name());
+            for (var sort : List.of(byLastName, byFirstName)) {
+                var usingOffset = fetchAllUsingOffset(sort);
+                assertThat(usingOffset).hasSize(40);
+                assertThat(fetchAllUsingKeyset(sort)).containsExactlyElementsOf(usingOffset);
+            }
+        }
+    }
+
+    @Test
+    void every_search_term_token_must_match_first_or_last_name() {
+        var result = query.findByFilter(PageRequest.ofSize(100), EmployeeFilter.empty().withSearchTerm(" first1  KEYSET2 "));
+        assertThat(result).hasSize(3).allSatisfy(employee -> {
+            assertThat(employee.firstName()).isEqualTo("First1");
+            assertThat(employee.lastName()).isEqualTo("Keyset2");
+        });
+    }
+
+    @Test
+    void search_term_wildcards_are_matched_literally() {
+        assertThat(query.findByFilter(PageRequest.ofSize(100), EmployeeFilter.empty().withSearchTerm("Keyset%"))).isEmpty();
+        assertThat(query.findByFilter(PageRequest.ofSize(100), EmployeeFilter.empty().withSearchTerm("Keyset_"))).isEmpty();
+    }
+
+    private List<EmployeeReference> fetchAllUsingOffset(Sort sort) {
+        var result = new ArrayList<EmployeeReference>();
+        var pageable = PageRequest.of(0, PAGE_SIZE, sort);
+        List<EmployeeReference> page;
+        do {
+            page = query.findByFilter(pageable, FILTER);
+            result.addAll(page);
+            pageable = pageable.next();
+        } while (page.size() == PAGE_SIZE);
+        return result;
+    }
+
+    private List<EmployeeReference> fetchAllUsingKeyset(Sort sort) {
+        var pageable = PageRequest.of(0, PAGE_SIZE, sort);
+        var result = new ArrayList<>(query.findByFilter(pageable, FILTER));
+        var page = result;
+        while (page.size() == PAGE_SIZE) {
+            page = new ArrayList<>(query.findByFilterAfter(pageable, page.getLast(), FILTER));
+            result.addAll(page);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.address.InternationalPostalAddress;
+import com.example.whereabouts.humanresources.LocationData;
+import com.example.whereabouts.humanresources.LocationId;
+import com.example.whereabouts.humanresources.LocationReference;
+import com.example.whereabouts.humanresources.LocationType;
+import com.example.whereabouts.humanresources.repository.LocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class LocationReferenceQueryTest {
+
+    @Autowired
+    LocationRepository locationRepository;
+    @Autowired
+    LocationReferenceQuery query;
+
+    private LocationId insertLocation(String name) {
+        return locationRepository.insert(new LocationData(
+                name,
+                LocationType.BRANCH_OFFICE,
+                new InternationalPostalAddress("Street", "City", null, "Postal", Country.ofIsoCode("SE")),
+                LocalDate.of(2020, 1, 1),
+                "About",
+                ZoneId.of("Europe/Stockholm"),
+                List.of()
+        ));
+    }
+
+    @Test
+    void search_is_case_insensitive_and_matches_all_tokens() {
+        insertLocation("Snapshot North Office");
+        insertLocation("Snapshot South Office");
+        insertLocation("Snapshot North Hub");
+
+        assertThat(query.findBySearchTerm(Pageable.unpaged(), "snapshot NORTH"))
+                .extracting(LocationReference::name)
+                .containsExactly("Snapshot North Hub", "Snapshot North Office");
+        assertThat(query.findBySearchTerm(Pageable.unpaged(), "office snap"))
+                .extracting(LocationReference::name)
+                .containsExactly("Snapshot North Office", "Snapshot South Office");
+    }
+
+    @Test
+    void paging_is_honored() {
+        for (int i = 0; i < 10; ++i) {
+            insertLocation("Snapshot " + i);
+        }
+
+        assertThat(query.findBySearchTerm(PageRequest.of(0, 4), "Snapshot"))
+                .extracting(LocationReference::name)
+                .containsExactly("Snapshot 0", "Snapshot 1", "Snapshot 2", "Snapshot 3");
+        assertThat(query.findBySearchTerm(PageRequest.of(2, 4), "Snapshot"))
+                .extracting(LocationReference::name)
+                .containsExactly("Snapshot 8", "Snapshot 9");
+    }
+
+    @Test
+    void find_by_ids_ignores_unknown_ids() {
+        var id = insertLocation("Snapshot");
+
+        assertThat(query.findByIds(Set.of(id, new LocationId(-1))))
+                .extracting(LocationReference::id)
+                .containsExactly(id);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.address.InternationalPostalAddress;
+import com.example.whereabouts.humanresources.LocationData;
+import com.example.whereabouts.humanresources.LocationSortableProperty;
+import com.example.whereabouts.humanresources.LocationTreeNode;
+import com.example.whereabouts.humanresources.LocationType;
+import com.example.whereabouts.humanresources.repository.LocationRepository;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+
+import static com.example.whereabouts.jooq.Tables.COUNTRY_DISPLAY_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class LocationTreeNodeQueryTest {
+
+    private static final List<Country> COUNTRIES = List.of(Country.ofIsoCode("AT"), Country.ofIsoCode("AX"),
+            Country.ofIsoCode("CH"), Country.ofIsoCode("SE"));
+
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private LocationTreeNodeQuery query;
+    @Autowired
+    private CountryDisplayNames countryDisplayNames;
+    @Autowired
+    private DSLContext dsl;
+
+    @BeforeEach
+    void setUp() {
+        for (var country : COUNTRIES) {
+            locationRepository.insert(new LocationData(
+                    "Name",
+                    LocationType.BRANCH_OFFICE,
+                    new InternationalPostalAddress("Street", "City", null, "12345", country),
+                    LocalDate.of(2020, 1, 1),
+                    "About",
+                    ZoneId.of("Europe/Stockholm"),
+                    List.of()));
+        }
+    }
+
+    @Test
+    void countries_are_sorted_by_display_name_in_the_given_locale() {
+        assertThat(findCountries(Locale.ENGLISH, Sort.Direction.ASC)).containsExactly("AX", "AT", "SE", "CH");
+        assertThat(findCountries(Locale.ENGLISH, Sort.Direction.DESC)).containsExactly("CH", "SE", "AT", "AX");
+        // In Swedish, Å and Ö come after Z
+        assertThat(findCountries(Locale.of("sv"), Sort.Direction.ASC)).containsExactly("CH", "SE", "AX", "AT");
+    }
+
+    @Test
+    void unsupported_locales_fall_back_to_the_same_language_and_then_to_the_default() {
+        assertThat(findCountries(Locale.of("sv", "FI"), Sort.Direction.ASC)).containsExactly("CH", "SE", "AX", "AT");
+        assertThat(findCountries(Locale.JAPANESE, Sort.Direction.ASC)).containsExactly("AX", "AT", "SE", "CH");
+    }
+
+    @Test
+    void countries_are_displayed_in_the_locale_they_are_sorted_by() {
+        assertThat(findDisplayNames(Locale.of("sv"))).containsExactly("Schweiz", "Sverige", "Åland", "Österrike");
+        // Japanese is not supported, so the names are in English, like the sort order
+        assertThat(findDisplayNames(Locale.JAPANESE))
+                .containsExactly("Åland Islands", "Austria", "Sweden", "Switzerland");
+    }
+
+    @Test
+    void refreshing_deletes_the_names_of_countries_and_locales_that_are_no_longer_supported() {
+        dsl.insertInto(COUNTRY_DISPLAY_NAME,
+                        COUNTRY_DISPLAY_NAME.LOCALE,
+                        COUNTRY_DISPLAY_NAME.COUNTRY,
+                        COUNTRY_DISPLAY_NAME.DISPLAY_NAME,
+                        COUNTRY_DISPLAY_NAME.SORT_ORDER)
+                .values("en", Country.ofIsoCode("XK"), "Kosovo", 0)
+                .values("ja", Country.ofIsoCode("SE"), "スウェーデン", 0)
+                .execute();
+
+        countryDisplayNames.run(new DefaultApplicationArguments());
+
+        assertThat(dsl.fetchExists(COUNTRY_DISPLAY_NAME, COUNTRY_DISPLAY_NAME.COUNTRY.eq(Country.ofIsoCode("XK"))))
+                .isFalse();
+        assertThat(dsl.fetchExists(COUNTRY_DISPLAY_NAME, COUNTRY_DISPLAY_NAME.LOCALE.eq("ja"))).isFalse();
+        assertThat(dsl.fetchExists(COUNTRY_DISPLAY_NAME, COUNTRY_DISPLAY_NAME.LOCALE.eq("en")
+                .and(COUNTRY_DISPLAY_NAME.COUNTRY.eq(Country.ofIsoCode("SE"))))).isTrue();
+    }
+
+    private List<String> findDisplayNames(Locale locale) {
+        var pageable = PageRequest.of(0, Country.isoCountries().size(),
+                Sort.by(Sort.Direction.ASC, LocationSortableProperty.NAME.name()));
+        return query.findCountries(locale, pageable).stream()
+                .map(LocationTreeNode.CountryNode.class::cast)
+                .filter(node -> COUNTRIES.contains(node.country()))
+                .map(LocationTreeNode.CountryNode::displayName)
+                .toList();
+    }
+
+    private List<String> findCountries(Locale locale, Sort.Direction direction) {
+        var pageable = PageRequest.of(0, Country.isoCountries().size(),
+                Sort.by(direction, LocationSortableProperty.NAME.name()));
+        return query.findCountries(locale, pageable).stream()
+                .map(node -> ((LocationTreeNode.CountryNode) node).country())
+                .filter(COUNTRIES::contains)
+                .map(Country::isoCode)
+                .toList();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.address.InternationalPostalAddress;
+import com.example.whereabouts.humanresources.*;
+import com.example.whereabouts.humanresources.repository.EmploymentDetailsRepository;
+import com.example.whereabouts.humanresources.repository.LocationRepository;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@IntegrationTest
+class ReportingLineQueryTest {
+
+    @Autowired
+    private EmployeeTestDataService employeeTestDataService;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    private ReportingLineQuery query;
+
+    private LocationId location;
+    // ceo
+    // ├── cto
+    // │   ├── developer1
+    // │   └── developer2
+    // └── cfo
+    private EmployeeId ceo;
+    private EmployeeId cto;
+    private EmployeeId cfo;
+    private EmployeeId developer1;
+    private EmployeeId developer2;
+
+    @BeforeEach
+    void setUp() {
+        location = locationRepository.insert(new LocationData(
+                "Headquarters",
+                LocationType.GLOBAL_HQ,
+                new InternationalPostalAddress("Street", "City", null, "12345", Country.ofIsoCode("FI")),
+                LocalDate.of(2020, 1, 1),
+                "About",
+                ZoneId.of("Europe/Helsinki"),
+                List.of()));
+        ceo = createEmployee(null);
+        cto = createEmployee(ceo);
+        cfo = createEmployee(ceo);
+        developer1 = createEmployee(cto);
+        developer2 = createEmployee(cto);
+    }
+
+    @Test
+    void reports_and_chain_of_command_are_found_at_all_depths() {
+        assertThat(ids(query.findDirectReports(ceo))).containsExactlyInAnyOrder(cto, cfo);
+        assertThat(query.findAllReports(ceo, PageRequest.ofSize(10)))
+                .extracting(member -> member.employee().id(), ReportingLineMember::depth)
+                .containsExactlyInAnyOrder(tuple(cto, 1), tuple(cfo, 1), tuple(developer1, 2), tuple(developer2, 2));
+        assertThat(query.findAllReports(ceo, PageRequest.ofSize(2))).extracting(ReportingLineMember::depth)
+                .containsOnly(1);
+        assertThat(query.countAllReports(ceo)).isEqualTo(4);
+        assertThat(query.countAllReports(developer1)).isZero();
+        assertThat(ids(query.findChainOfCommand(developer1))).containsExactly(cto, ceo);
+        assertThat(query.findChainOfCommand(ceo)).isEmpty();
+    }
+
+    @Test
+    void changing_the_manager_moves_all_reports_along() {
+        setManager(cto, cfo);
+
+        assertThat(ids(query.findDirectReports(ceo))).containsExactly(cfo);
+        assertThat(query.countAllReports(cfo)).isEqualTo(3);
+        assertThat(ids(query.findChainOfCommand(developer2))).containsExactly(cto, cfo, ceo);
+
+        setManager(cto, null);
+
+        assertThat(query.countAllReports(ceo)).isEqualTo(1);
+        assertThat(query.countAllReports(cfo)).isZero();
+        assertThat(ids(query.findChainOfCommand(developer2))).containsExactly(cto);
+    }
+
+    @Test
+    void employees_with_reports_can_be_given_a_manager_later() {
+        var newCeo = employeeTestDataService.createEmployee();
+        // The reports are inserted before the details of their manager
+        var report = employeeTestDataService.createEmployee();
+        employmentDetailsRepository.insert(report, createDetails(newCeo));
+        employmentDetailsRepository.insert(newCeo, createDetails(ceo));
+
+        assertThat(ids(query.findChainOfCommand(report))).containsExactly(newCeo, ceo);
+        assertThat(query.countAllReports(ceo)).isEqualTo(6);
+    }
+
+    @Test
+    void reporting_lines_cannot_form_cycles() {
+        assertThatThrownBy(() -> setManager(ceo, ceo)).isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> setManager(ceo, developer1)).isInstanceOf(DataIntegrityViolationException.class);
+        // Nothing was changed
+        assertThat(employmentDetailsRepository.findById(ceo).orElseThrow().data().manager()).isNull();
+        assertThat(query.countAllReports(ceo)).isEqualTo(4);
+        assertThat(query.findChainOfCommand(ceo)).isEmpty();
+    }
+
+    private EmployeeId createEmployee(@Nullable EmployeeId manager) {
+        var id = employeeTestDataService.createEmployee();
+        employmentDetailsRepository.insert(id, createDetails(manager));
+        return id;
+    }
+
+    private EmploymentDetailsData createDetails(@Nullable EmployeeId manager) {
+        return new EmploymentDetailsData("Title", EmploymentType.FULL_TIME, EmploymentStatus.ACTIVE,
+                WorkArrangement.ONSITE, location, manager, LocalDate.of(2020, 1, 1), null);
+    }
+
+    private void setManager(EmployeeId employee, @Nullable EmployeeId manager) {
+        var details = employmentDetailsRepository.findById(employee).orElseThrow();
+        var data = details.data();
+        employmentDetailsRepository.update(details.withData(new EmploymentDetailsData(data.jobTitle(), data.type(),
+                data.status(), data.workArrangement(), data.location(), manager, data.hireDate(),
+                data.terminationDate())));
+    }
+
+    private static List<EmployeeId> ids(List<ReportingLineMember> members) {
+        return members.stream().map(member -> member.employee().id()).toList();
+    }
+}
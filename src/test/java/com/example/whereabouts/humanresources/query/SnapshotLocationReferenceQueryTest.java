@@ -0,0 +1,119 @@
+package com.example.whereabouts.humanresources.query;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.StatementCounter;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.common.address.InternationalPostalAddress;
+import com.example.whereabouts.humanresources.LocationChangedEvent;
+import com.example.whereabouts.humanresources.LocationData;
+import com.example.whereabouts.humanresources.LocationId;
+import com.example.whereabouts.humanresources.LocationReference;
+import com.example.whereabouts.humanresources.LocationType;
+import com.example.whereabouts.humanresources.repository.LocationRepository;
+import com.example.whereabouts.jooq.changefeed.EntityChange;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.whereabouts.jooq.Tables.LOCATION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the snapshot handling of {@link SnapshotLocationReferenceQuery}. The snapshot is only used outside read-write
+ * transactions, so most of these tests do not run inside the test transaction.
+ */
+@IntegrationTest
+class SnapshotLocationReferenceQueryTest {
+
+    @Autowired
+    SnapshotLocationReferenceQuery query;
+    @Autowired
+    StatementCounter statementCounter;
+    @Autowired
+    LocationRepository locationRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    DSLContext dsl;
+
+    @BeforeEach
+    void setUp() {
+        // Start every test without a snapshot
+        query.onChangesMissed();
+        statementCounter.reset();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void snapshot_is_reused_until_a_location_changes() {
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        query.findBySearchTerm(Pageable.unpaged(), "office");
+        query.findByIds(Set.of());
+        assertThat(statementCounter.count()).isEqualTo(1);
+
+        query.onLocationChanged(new LocationChangedEvent(new LocationId(1), 2));
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        assertThat(statementCounter.count()).isEqualTo(2);
+
+        query.onEntityChanged(new EntityChange("location", 1, 3));
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        assertThat(statementCounter.count()).isEqualTo(3);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void changes_to_other_tables_do_not_rebuild_the_snapshot() {
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        query.onEntityChanged(new EntityChange("employee", 1, 2));
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void rebuilt_snapshot_contains_the_changed_locations() {
+        assertThat(findSnapshotLocations()).isEmpty();
+        var id = transactionTemplate.execute(status -> locationRepository.insert(new LocationData(
+                "Snapshot Rebuild",
+                LocationType.BRANCH_OFFICE,
+                new InternationalPostalAddress("Street", "City", null, "Postal", Country.ofIsoCode("SE")),
+                LocalDate.of(2020, 1, 1),
+                "About",
+                ZoneId.of("Europe/Stockholm"),
+                List.of()
+        )));
+        try {
+            query.onEntityChanged(new EntityChange("location", id.value(), 1));
+            assertThat(findSnapshotLocations()).containsExactly("Snapshot Rebuild");
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> dsl.deleteFrom(LOCATION)
+                    .where(LOCATION.LOCATION_ID.eq(id))
+                    .execute());
+            query.onChangesMissed();
+        }
+    }
+
+    @Test
+    void read_write_transactions_bypass_the_snapshot() {
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        query.findBySearchTerm(Pageable.unpaged(), null);
+        assertThat(statementCounter.count()).isEqualTo(2);
+    }
+
+    private List<String> findSnapshotLocations() {
+        return query.findBySearchTerm(Pageable.unpaged(), "snapshot rebuild").stream()
+                .map(LocationReference::name)
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.humanresources.EmployeeTestDataService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class EmployeePictureRepositoryTest {
+
+    private static final String HASH1 = "a".repeat(64);
+    private static final String HASH2 = "b".repeat(64);
+
+    @Autowired
+    EmployeePictureRepository repository;
+    @Autowired
+    EmployeeTestDataService employeeTestDataService;
+
+    @Test
+    void save_find_and_delete() {
+        var employee = employeeTestDataService.createEmployee();
+        assertThat(repository.findPictureHash(employee)).isEmpty();
+
+        repository.save(employee, HASH1);
+        assertThat(repository.findPictureHash(employee)).contains(HASH1);
+
+        repository.save(employee, HASH2);
+        assertThat(repository.findPictureHash(employee)).contains(HASH2);
+
+        repository.delete(employee);
+        assertThat(repository.findPictureHash(employee)).isEmpty();
+    }
+
+    @Test
+    void find_picture_hashes_leaves_out_employees_without_pictures() {
+        var employee1 = employeeTestDataService.createEmployee();
+        var employee2 = employeeTestDataService.createEmployee();
+        var withoutPicture = employeeTestDataService.createEmployee();
+        repository.save(employee1, HASH1);
+        repository.save(employee2, HASH2);
+
+        assertThat(repository.findPictureHashes(List.of(employee1, employee2, withoutPicture)))
+                .isEqualTo(Map.of(employee1, HASH1, employee2, HASH2));
+        assertThat(repository.findPictureHashes(List.of())).isEmpty();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.whereabouts.humanresources.repository;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.common.Country;
+import com.example.whereabouts.humanresources.*;
+import com.example.whereabouts.humanresources.query.LocationTreeNodeQuery;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import static com.example.whereabouts.jooq.Tables.LOCATION_HEADCOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class LocationHeadcountTest {
+
+    @Autowired
+    LocationRepository locationRepository;
+    @Autowired
+    EmployeeTestDataService employeeTestDataService;
+    @Autowired
+    EmploymentDetailsRepository employmentDetailsRepository;
+    @Autowired
+    LocationTreeNodeQuery locationTreeNodeQuery;
+    @Autowired
+    LocationHeadcountReconciler reconciler;
+    @Autowired
+    DSLContext dsl;
+
+    private EmploymentDetails insertEmployment(LocationId location, EmploymentStatus status) {
+        var employeeId = employeeTestDataService.createEmployee();
+        return employmentDetailsRepository.insert(employeeId, createEmploymentDetailsData(location, status));
+    }
+
+    private static EmploymentDetailsData createEmploymentDetailsData(LocationId location, EmploymentStatus status) {
+        return new EmploymentDetailsData(
+                "Title",
+                EmploymentType.FULL_TIME,
+                status,
+                WorkArrangement.HYBRID,
+                location,
+                null,
+                LocalDate.of(2023, 5, 31),
+                status == EmploymentStatus.TERMINATED ? LocalDate.of(2025, 10, 8) : null
+        );
+    }
+
+    private int employeesOf(LocationId location) {
+        return locationTreeNodeQuery.findLocationById(location).orElseThrow().employees();
+    }
+
+    private int employeesOf(Country country) {
+        return locationTreeNodeQuery.findCountries(Locale.ENGLISH, PageRequest.of(0, Country.isoCountries().size())).stream()
+                .map(LocationTreeNode.CountryNode.class::cast)
+                .filter(node -> node.country().equals(country))
+                .findFirst()
+                .orElseThrow()
+                .employees();
+    }
+
+    @Test
+    void locations_without_employees_have_zero_employees() {
+        var location = locationRepository.insert(LocationRepositoryTest.createLocationData());
+        assertThat(employeesOf(location)).isZero();
+    }
+
+    @Test
+    void headcounts_follow_employment_inserts_and_updates() {
+        var country = LocationRepositoryTest.createLocationData().address().country();
+        var employeesOfCountryBefore = employeesOf(country);
+        var first = locationRepository.insert(LocationRepositoryTest.createLocationData());
+        var second = locationRepository.insert(LocationRepositoryTest.createLocationData());
+
+        var employment = insertEmployment(first, EmploymentStatus.ACTIVE);
+        insertEmployment(first, EmploymentStatus.ACTIVE);
+        insertEmployment(first, EmploymentStatus.INACTIVE);
+        assertThat(employeesOf(first)).isEqualTo(2);
+        assertThat(employeesOf(second)).isZero();
+        assertThat(employeesOf(country)).isEqualTo(employeesOfCountryBefore + 2);
+
+        employment = employmentDetailsRepository.update(employment.withData(
+                createEmploymentDetailsData(second, EmploymentStatus.ACTIVE)));
+        assertThat(employeesOf(first)).isEqualTo(1);
+        assertThat(employeesOf(second)).isEqualTo(1);
+        assertThat(employeesOf(country)).isEqualTo(employeesOfCountryBefore + 2);
+
+        employmentDetailsRepository.update(employment.withData(
+                createEmploymentDetailsData(second, EmploymentStatus.TERMINATED)));
+        assertThat(employeesOf(first)).isEqualTo(1);
+        assertThat(employeesOf(second)).isZero();
+        assertThat(employeesOf(country)).isEqualTo(employeesOfCountryBefore + 1);
+    }
+
+    @Test
+    void reconciler_repairs_drifted_headcounts() {
+        var location = locationRepository.insert(LocationRepositoryTest.createLocationData());
+        insertEmployment(location, EmploymentStatus.ACTIVE);
+        reconciler.reconcile();
+        dsl.update(LOCATION_HEADCOUNT)
+                .set(LOCATION_HEADCOUNT.EMPLOYEES, 42)
+                .where(LOCATION_HEADCOUNT.LOCATION_ID.eq(location))
+                .execute();
+        assertThat(employeesOf(location)).isEqualTo(42);
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        assertThat(employeesOf(location)).isEqualTo(1);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    void reconciler_does_not_count_locations_without_employees_as_repaired() {
+        reconciler.reconcile();
+        var location = locationRepository.insert(LocationRepositoryTest.createLocationData());
+
+        assertThat(reconciler.reconcile()).isZero();
+        assertThat(dsl.fetchExists(LOCATION_HEADCOUNT, LOCATION_HEADCOUNT.LOCATION_ID.eq(location))).isFalse();
+        assertThat(employeesOf(location)).isZero();
+    }
+
+    @Test
+    void reconciler_inserts_missing_headcounts_of_locations_with_employees() {
+        var location = locationRepository.insert(LocationRepositoryTest.createLocationData());
+        insertEmployment(location, EmploymentStatus.ACTIVE);
+        reconciler.reconcile();
+        dsl.deleteFrom(LOCATION_HEADCOUNT).where(LOCATION_HEADCOUNT.LOCATION_ID.eq(location)).execute();
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        assertThat(employeesOf(location)).isEqualTo(1);
+    }
+}
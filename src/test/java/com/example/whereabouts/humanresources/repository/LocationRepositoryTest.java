@@ -1,6 +1,7 @@
 package com.example.whereabouts.humanresources.repository;
 
 import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.StatementCounter;
 import com.example.whereabouts.common.Country;
 import com.example.whereabouts.common.address.FinnishPostalAddress;
 import com.example.whereabouts.common.address.FinnishPostalCode;
@@ -22,6 +23,8 @@ class LocationRepositoryTest {
 
     @Autowired
     LocationRepository repository;
+    @Autowired
+    StatementCounter statementCounter;
 
     static LocationData createLocationData() {
         return new LocationData(
@@ -85,4 +88,35 @@ class LocationRepositoryTest {
         assertThat(retrieved.version()).isEqualTo(2);
         assertThat(retrieved.data()).isEqualTo(updatedData);
     }
+
+    @Test
+    void update_only_writes_changed_facilities() {
+        var originalData = createLocationData();
+        var location = repository.findById(repository.insert(originalData)).orElseThrow();
+
+        statementCounter.reset();
+        location = repository.update(location);
+        assertThat(statementCounter.count()).isEqualTo(1);
+
+        var updatedData = new LocationData(
+                originalData.name(),
+                originalData.locationType(),
+                originalData.address(),
+                originalData.established(),
+                originalData.about(),
+                originalData.timeZone(),
+                List.of(
+                        new LocationFacility.AccessibleOffice(),
+                        new LocationFacility.FloorSpace(300),
+                        new LocationFacility.HotDesks(5),
+                        new LocationFacility.ParkingSlots(10)
+                )
+        );
+        statementCounter.reset();
+        repository.update(location.withData(updatedData));
+        // One update of the location, one delete of the kitchen and one batch of upserts
+        assertThat(statementCounter.count()).isEqualTo(3);
+        assertThat(repository.findById(location.id()).orElseThrow().data().facilities())
+                .containsExactlyInAnyOrderElementsOf(updatedData.facilities());
+    }
 }
@@ -0,0 +1,113 @@
+package com.example.whereabouts.jooq.changefeed;
+
+import com.example.whereabouts.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+@Import(ChangeFeedTest.RecordingListener.class)
+class ChangeFeedTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    RecordingListener listener;
+
+    @Test
+    void committed_notifications_are_passed_on_to_listeners() throws Exception {
+        awaitListening();
+
+        notify("location:42:7");
+        assertThat(listener.awaitChange("location", 42)).isEqualTo(new EntityChange("location", 42, 7));
+    }
+
+    @Test
+    void malformed_notifications_are_ignored() throws Exception {
+        awaitListening();
+
+        notify("location:not-a-number:7");
+        notify("location:43:8");
+        assertThat(listener.awaitChange("location", 43)).isEqualTo(new EntityChange("location", 43, 8));
+    }
+
+    @Test
+    void listeners_are_told_about_missed_changes_after_reconnecting() throws Exception {
+        awaitListening();
+
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("select pg_terminate_backend(pid) from pg_stat_activity where application_name = '"
+                              + ChangeFeed.APPLICATION_NAME + "'");
+        }
+        assertThat(listener.changesMissed.poll(TIMEOUT_SECONDS * 2, TimeUnit.SECONDS)).isNotNull();
+
+        notify("project:44:9");
+        assertThat(listener.awaitChange("project", 44)).isEqualTo(new EntityChange("project", 44, 9));
+    }
+
+    @Test
+    void payload_is_parsed() {
+        assertThat(EntityChange.parse("employment_details:1:2")).isEqualTo(new EntityChange("employment_details", 1, 2));
+        assertThatThrownBy(() -> EntityChange.parse("employee:1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EntityChange.parse("employee:x:1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void awaitListening() throws InterruptedException {
+        // The feed reports missed changes every time it starts listening
+        if (!listener.listening) {
+            assertThat(listener.changesMissed.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isNotNull();
+        }
+        listener.changesMissed.clear();
+        listener.changes.clear();
+    }
+
+    private void notify(String payload) throws SQLException {
+        // Outside the test transaction, so that the notification is delivered right away
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, ChangeFeed.CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    static class RecordingListener implements EntityChangeListener {
+
+        final BlockingQueue<EntityChange> changes = new LinkedBlockingQueue<>();
+        final BlockingQueue<Boolean> changesMissed = new LinkedBlockingQueue<>();
+        volatile boolean listening;
+
+        @Override
+        public void onEntityChanged(EntityChange change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void onChangesMissed() {
+            listening = true;
+            changesMissed.add(true);
+        }
+
+        EntityChange awaitChange(String table, long id) throws InterruptedException {
+            // Other tests may commit real changes at the same time
+            while (true) {
+                var change = changes.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                assertThat(change).as("change to %s %d", table, id).isNotNull();
+                if (change.table().equals(table) && change.id() == id) {
+                    return change;
+                }
+            }
+        }
+    }
+}
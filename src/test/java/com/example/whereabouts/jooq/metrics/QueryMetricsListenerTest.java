@@ -0,0 +1,76 @@
+package com.example.whereabouts.jooq.metrics;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.projects.ProjectData;
+import com.example.whereabouts.projects.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static com.example.whereabouts.jooq.Tables.PROJECT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class QueryMetricsListenerTest {
+
+    @Autowired
+    private DSLContext dsl;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void statements_are_named_after_the_method_that_executed_them() {
+        projectRepository.insert(new ProjectData("Name", "Description"));
+
+        var timer = meterRegistry.find("jooq.query").tag("query", "JooqProjectRepository.insert").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        assertThat(timer.getId().getTag("outcome")).isEqualTo("success");
+    }
+
+    @Test
+    void lambdas_are_named_after_the_enclosing_method() {
+        Runnable runnable = () -> dsl.selectOne().fetch();
+        runnable.run();
+
+        assertThat(meterRegistry.find("jooq.query")
+                .tag("query", "QueryMetricsListenerTest.lambdas_are_named_after_the_enclosing_method")
+                .timer()).isNotNull();
+    }
+
+    @Test
+    void fetched_records_and_affected_rows_are_recorded() {
+        dsl.selectOne().unionAll(dsl.selectOne()).fetch();
+        var fetched = meterRegistry.find("jooq.query.fetched")
+                .tag("query", "QueryMetricsListenerTest.fetched_records_and_affected_rows_are_recorded")
+                .summary();
+        assertThat(fetched).isNotNull();
+        assertThat(fetched.totalAmount()).isEqualTo(2);
+
+        projectRepository.insert(new ProjectData("Name", "Description"));
+        dsl.update(PROJECT).set(PROJECT.DESCRIPTION, "Updated").execute();
+        var rows = meterRegistry.find("jooq.query.rows")
+                .tag("query", "QueryMetricsListenerTest.fetched_records_and_affected_rows_are_recorded")
+                .tag("type", "write")
+                .summary();
+        assertThat(rows).isNotNull();
+        assertThat(rows.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void failed_statements_are_tagged_as_errors() {
+        try {
+            dsl.execute("select * from no_such_table");
+        } catch (RuntimeException expected) {
+            // Only the metrics matter
+        }
+
+        assertThat(meterRegistry.find("jooq.query")
+                .tag("query", "QueryMetricsListenerTest.failed_statements_are_tagged_as_errors")
+                .tag("outcome", "error")
+                .timer()).isNotNull();
+    }
+}
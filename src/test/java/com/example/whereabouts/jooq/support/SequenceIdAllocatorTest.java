@@ -0,0 +1,66 @@
+package com.example.whereabouts.jooq.support;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.StatementCounter;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.whereabouts.jooq.Sequences.PROJECT_ID_SEQ;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class SequenceIdAllocatorTest {
+
+    @Autowired
+    private DSLContext dsl;
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void a_block_of_ids_costs_a_single_statement() {
+        var allocator = new SequenceIdAllocator(dsl, PROJECT_ID_SEQ);
+        statementCounter.reset();
+        var first = allocator.nextId();
+        for (int i = 1; i < SequenceIdAllocator.BLOCK_SIZE; ++i) {
+            assertThat(allocator.nextId()).isEqualTo(first + i);
+        }
+        assertThat(statementCounter.count()).isEqualTo(1);
+
+        allocator.nextId();
+        assertThat(statementCounter.count()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrent_allocators_never_hand_out_the_same_id() throws Exception {
+        // Two allocators on the same sequence behave like two application nodes
+        var allocators = new SequenceIdAllocator[]{
+                new SequenceIdAllocator(dsl, PROJECT_ID_SEQ),
+                new SequenceIdAllocator(dsl, PROJECT_ID_SEQ)
+        };
+        var ids = ConcurrentHashMap.<Long>newKeySet();
+        var idsPerThread = 1_000;
+        var threads = 8;
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; ++t) {
+                var allocator = allocators[t % allocators.length];
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < idsPerThread; ++i) {
+                        assertThat(ids.add(allocator.nextId())).isTrue();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        assertThat(ids).hasSize(threads * idsPerThread);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.whereabouts.projects.repository;
+
+import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.humanresources.EmployeeId;
+import com.example.whereabouts.humanresources.EmployeeTestDataService;
+import com.example.whereabouts.jooq.tables.records.ProjectStatsRecord;
+import com.example.whereabouts.projects.*;
+import com.example.whereabouts.projects.query.ProjectQuery;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.ZoneId;
+import java.util.Set;
+
+import static com.example.whereabouts.jooq.Tables.PROJECT_ASSIGNEE;
+import static com.example.whereabouts.jooq.Tables.PROJECT_STATS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class ProjectStatsRepositoryTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectStatsRepository repository;
+    @Autowired
+    private ProjectQuery projectQuery;
+    @Autowired
+    private EmployeeTestDataService employeeTestDataService;
+    @Autowired
+    private DSLContext dsl;
+
+    private static TaskData createTaskData(ProjectId project, TaskStatus status, Set<EmployeeId> assignees) {
+        return new TaskData(project,
+                "Description",
+                null,
+                null,
+                ZoneId.of("Europe/Helsinki"),
+                status,
+                TaskPriority.NORMAL,
+                assignees);
+    }
+
+    private Task insertTask(ProjectId project, TaskStatus status, Set<EmployeeId> assignees) {
+        var data = createTaskData(project, status, assignees);
+        var id = taskRepository.insert(data);
+        repository.adjust(null, data);
+        return new Task(id, 1L, data);
+    }
+
+    private Task updateTask(Task task, TaskData data) {
+        var updated = taskRepository.update(task.withData(data));
+        repository.adjust(task.data(), updated.data());
+        return updated;
+    }
+
+    private void deleteTask(Task task) {
+        taskRepository.deleteById(task.id());
+        repository.adjust(task.data(), null);
+    }
+
+    private ProjectStatsRecord fetchStats(ProjectId project) {
+        return dsl.selectFrom(PROJECT_STATS).where(PROJECT_STATS.PROJECT_ID.eq(project)).fetchSingle();
+    }
+
+    @Test
+    void projects_without_statistics_have_no_tasks_or_assignees() {
+        var project = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+
+        var item = projectQuery.findProjectListItemById(project).orElseThrow();
+        assertThat(item.tasks()).isZero();
+        assertThat(item.assignees()).isZero();
+    }
+
+    @Test
+    void adjust_counts_tasks_distinct_assignees_and_statuses() {
+        var employee1 = employeeTestDataService.createEmployee();
+        var employee2 = employeeTestDataService.createEmployee();
+        var project = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        var otherProject = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        insertTask(project, TaskStatus.PENDING, Set.of(employee1));
+        insertTask(project, TaskStatus.DONE, Set.of(employee1, employee2));
+        var deleted = insertTask(project, TaskStatus.DONE, Set.of());
+        insertTask(otherProject, TaskStatus.PENDING, Set.of(employee1));
+
+        var item = projectQuery.findProjectListItemById(project).orElseThrow();
+        assertThat(item.tasks()).isEqualTo(3);
+        assertThat(item.assignees()).isEqualTo(2);
+
+        deleteTask(deleted);
+
+        var stats = fetchStats(project);
+        assertThat(stats.getTasks()).isEqualTo(2);
+        assertThat(stats.getAssignees()).isEqualTo(2);
+        assertThat(stats.getPendingTasks()).isEqualTo(1);
+        assertThat(stats.getPlannedTasks()).isZero();
+        assertThat(stats.getInProgressTasks()).isZero();
+        assertThat(stats.getPausedTasks()).isZero();
+        assertThat(stats.getDoneTasks()).isEqualTo(1);
+        assertThat(fetchStats(otherProject).getAssignees()).isEqualTo(1);
+    }
+
+    @Test
+    void assignees_are_counted_until_their_last_task_of_the_project_is_unassigned() {
+        var employee = employeeTestDataService.createEmployee();
+        var project = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        var task1 = insertTask(project, TaskStatus.PENDING, Set.of(employee));
+        var task2 = insertTask(project, TaskStatus.PENDING, Set.of(employee));
+        assertThat(fetchStats(project).getAssignees()).isEqualTo(1);
+
+        updateTask(task1, createTaskData(project, TaskStatus.PENDING, Set.of()));
+        assertThat(fetchStats(project).getAssignees()).isEqualTo(1);
+
+        deleteTask(task2);
+        assertThat(fetchStats(project).getAssignees()).isZero();
+        assertThat(dsl.fetchCount(PROJECT_ASSIGNEE, PROJECT_ASSIGNEE.PROJECT_ID.eq(project))).isZero();
+    }
+
+    @Test
+    void changing_the_status_moves_the_task_between_status_counts() {
+        var project = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        var task = insertTask(project, TaskStatus.PENDING, Set.of());
+
+        updateTask(task, createTaskData(project, TaskStatus.IN_PROGRESS, Set.of()));
+
+        var stats = fetchStats(project);
+        assertThat(stats.getTasks()).isEqualTo(1);
+        assertThat(stats.getPendingTasks()).isZero();
+        assertThat(stats.getInProgressTasks()).isEqualTo(1);
+    }
+
+    @Test
+    void moving_a_task_to_another_project_adjusts_both_projects() {
+        var employee = employeeTestDataService.createEmployee();
+        var oldProject = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        var newProject = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        var task = insertTask(oldProject, TaskStatus.PLANNED, Set.of(employee));
+
+        updateTask(task, createTaskData(newProject, TaskStatus.PLANNED, Set.of(employee)));
+
+        var oldStats = fetchStats(oldProject);
+        assertThat(oldStats.getTasks()).isZero();
+        assertThat(oldStats.getAssignees()).isZero();
+        assertThat(oldStats.getPlannedTasks()).isZero();
+        var newStats = fetchStats(newProject);
+        assertThat(newStats.getTasks()).isEqualTo(1);
+        assertThat(newStats.getAssignees()).isEqualTo(1);
+        assertThat(newStats.getPlannedTasks()).isEqualTo(1);
+    }
+}
@@ -1,16 +1,19 @@
 package com.example.whereabouts.projects.repository;
 
 import com.example.whereabouts.IntegrationTest;
+import com.example.whereabouts.StatementCounter;
 import com.example.whereabouts.humanresources.EmployeeTestDataService;
-import com.example.whereabouts.projects.TaskData;
-import com.example.whereabouts.projects.TaskPriority;
-import com.example.whereabouts.projects.TaskStatus;
+import com.example.whereabouts.projects.*;
+import com.vaadin.flow.data.provider.SortDirection;
+import com.vaadin.flow.data.provider.SortOrder;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +27,8 @@ class TaskRepositoryTest {
     private EmployeeTestDataService employeeTestDataService;
     @Autowired
     private TaskRepository repository;
+    @Autowired
+    private StatementCounter statementCounter;
 
     @Test
     void insert_get_and_update_include_all_properties() {
@@ -65,4 +70,86 @@ class TaskRepositoryTest {
         assertThat(retrieved.version()).isEqualTo(2);
         assertThat(retrieved.data()).isEqualTo(updatedData);
     }
+
+    @Test
+    void keyset_pagination_returns_same_result_as_offset_pagination() {
+        var project = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        for (int i = 0; i < 30; ++i) {
+            // Every third task has no due date, to make sure nulls are handled
+            repository.insert(new TaskData(project,
+                    "Description" + (i % 4),
+                    i % 3 == 0 ? null : LocalDate.of(2025, 10, 1 + i % 5),
+                    null,
+                    ZoneId.of("Europe/Helsinki"),
+                    TaskStatus.values()[i % TaskStatus.values().length],
+                    TaskPriority.values()[i % TaskPriority.values().length],
+                    Set.of()));
+        }
+
+        var sortOrderLists = new ArrayList<List<SortOrder<TaskSortableProperty>>>();
+        sortOrderLists.add(List.of());
+        for (var property : TaskSortableProperty.values()) {
+            for (var direction : SortDirection.values()) {
+                sortOrderLists.add(List.of(new SortOrder<>(property, direction)));
+            }
+        }
+
+        for (var sortOrders : sortOrderLists) {
+            var usingOffset = repository.findByFilter(project, TaskFilter.empty(), 100, 0, sortOrders).toList();
+            assertThat(usingOffset).hasSize(30);
+
+            var usingKeyset = new ArrayList<>(repository.findByFilter(project, TaskFilter.empty(), 7, 0, sortOrders).toList());
+            List<Task> page = usingKeyset;
+            while (page.size() == 7) {
+                page = repository.findByFilterAfter(project, TaskFilter.empty(), page.getLast(), 7, usingKeyset.size(), sortOrders).toList();
+                usingKeyset.addAll(page);
+            }
+            assertThat(usingKeyset).as("Sort orders %s", sortOrders).containsExactlyElementsOf(usingOffset);
+        }
+    }
+
+    @Test
+    void search_matches_word_prefixes_and_sorts_by_relevance() {
+        var project = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        var releaseNotes = insertTask(project, "Write release notes for the release, then release");
+        var deploy = insertTask(project, "Deploy the new Release");
+        var review = insertTask(project, "Review the pull request (release-blocker)");
+        insertTask(project, "Order pizza");
+
+        var result = repository.findByFilter(project, TaskFilter.empty().withSearchTerm("releas"), 10, 0, List.of()).toList();
+        assertThat(result).containsExactlyInAnyOrder(releaseNotes, deploy, review);
+        assertThat(result.getFirst()).isEqualTo(releaseNotes);
+
+        result = repository.findByFilter(project, TaskFilter.empty().withSearchTerm("the RELEASE"), 10, 0,
+                List.of(new SortOrder<>(TaskSortableProperty.DESCRIPTION, SortDirection.ASCENDING))).toList();
+        assertThat(result).containsExactly(deploy, review, releaseNotes);
+    }
+
+    @Test
+    void update_only_writes_changed_assignees() {
+        var employee1 = employeeTestDataService.createEmployee();
+        var employee2 = employeeTestDataService.createEmployee();
+        var employee3 = employeeTestDataService.createEmployee();
+        var project = projectRepository.insert(ProjectRepositoryTest.createProjectData());
+        var id = repository.insert(new TaskData(project, "Description", null, null, ZoneId.of("Europe/Helsinki"),
+                TaskStatus.PENDING, TaskPriority.NORMAL, Set.of(employee1, employee2)));
+        var task = repository.findById(id).orElseThrow();
+
+        statementCounter.reset();
+        task = repository.update(task.withData(new TaskData(project, "Description2", null, null, ZoneId.of("Europe/Helsinki"),
+                TaskStatus.PENDING, TaskPriority.NORMAL, Set.of(employee1, employee2))));
+        assertThat(statementCounter.count()).isEqualTo(1);
+
+        statementCounter.reset();
+        repository.update(task.withData(new TaskData(project, "Description2", null, null, ZoneId.of("Europe/Helsinki"),
+                TaskStatus.PENDING, TaskPriority.NORMAL, Set.of(employee2, employee3))));
+        assertThat(statementCounter.count()).isEqualTo(3);
+        assertThat(repository.findById(id).orElseThrow().data().assignees()).containsExactlyInAnyOrder(employee2, employee3);
+    }
+
+    private Task insertTask(ProjectId project, String description) {
+        var id = repository.insert(new TaskData(project, description, null, null, ZoneId.of("Europe/Helsinki"),
+                TaskStatus.PENDING, TaskPriority.NORMAL, Set.of()));
+        return repository.findById(id).orElseThrow();
+    }
 }